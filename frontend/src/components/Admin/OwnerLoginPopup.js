@@ -11,6 +11,8 @@ const OwnerLoginPopup = ({ onClose }) => {
   try {
     const res = await API.post(`/login/owner?name=${username}&password=${password}`);
     if (res.status === 200) {
+      // signed session token + id; sent back as a Bearer header (see api.js)
+      localStorage.setItem("session", JSON.stringify(res.data));
       alert("Login successful!");
       nav("/ownerDashboard");
     }
@@ -13,6 +13,8 @@ const LoginPopup = ({ onClose }) => {
   try {
     const res = await API.post(`/login/user?name=${username}&password=${password}`);
     if (res.status === 200) {
+      // signed session token + id; sent back as a Bearer header (see api.js)
+      localStorage.setItem("session", JSON.stringify(res.data));
       alert("Login successful!");
       nav("/workerDashboard");
     }
@@ -4,4 +4,13 @@ const API = axios.create({
   baseURL: "http://localhost:8083/api/auth", 
 });
 
+// Attach the session token from login, if any
+API.interceptors.request.use((config) => {
+  const session = JSON.parse(localStorage.getItem("session") || "null");
+  if (session && session.token) {
+    config.headers.Authorization = `Bearer ${session.token}`;
+  }
+  return config;
+});
+
 export default API;
@@ -6,7 +6,11 @@ const API_BASE = "http://localhost:8083/api/chat";
 export const chatService = {
   sendMessage: async (messageData) => {
     // Transform to match backend format
+    // clientMessageId lets the backend store/broadcast once although we send over both WS and REST
     const message = {
+      clientMessageId: window.crypto?.randomUUID
+        ? window.crypto.randomUUID()
+        : `${Date.now()}-${Math.random().toString(36).slice(2)}`,
       applicationId: messageData.applicationId,
       senderId: messageData.senderId,
       receiverId: messageData.receiverId || null, // make receiverId optional
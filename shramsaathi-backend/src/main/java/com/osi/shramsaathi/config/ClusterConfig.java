@@ -0,0 +1,52 @@
+package com.osi.shramsaathi.config;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.osi.shramsaathi.service.ClusterBus;
+import com.osi.shramsaathi.service.NoopClusterBus;
+import com.osi.shramsaathi.service.TcpClusterBus;
+
+// Picks the node-to-node transport for STOMP broadcasts (cluster.mode=none|tcp); see ClusterRelay
+@Configuration
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cluster.mode", havingValue = "none", matchIfMissing = true)
+    public ClusterBus noopClusterBus() {
+        return new NoopClusterBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cluster.mode", havingValue = "tcp")
+    public ClusterBus tcpClusterBus(@Value("${cluster.node-id:}") String nodeId,
+                                    @Value("${cluster.tcp.bind:127.0.0.1}") String bind,
+                                    @Value("${cluster.tcp.port:7601}") int port,
+                                    @Value("${cluster.tcp.peers:}") String peers,
+                                    @Value("${cluster.tcp.reconnect-ms:1000}") long reconnectMs,
+                                    @Value("${cluster.tcp.send-queue:10000}") int sendQueue,
+                                    @Value("${cluster.tcp.secret:}") String secret) {
+        String id = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        return new TcpClusterBus(id, bind, port, parsePeers(peers), reconnectMs, sendQueue, secret);
+    }
+
+    // "host:port,host:port"
+    static List<InetSocketAddress> parsePeers(String peers) {
+        return Arrays.stream(peers.split(","))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .map(p -> {
+                    int colon = p.lastIndexOf(':');
+                    if (colon <= 0) throw new IllegalArgumentException("cluster.tcp.peers entry must be host:port: " + p);
+                    return new InetSocketAddress(p.substring(0, colon), Integer.parseInt(p.substring(colon + 1)));
+                })
+                .toList();
+    }
+}
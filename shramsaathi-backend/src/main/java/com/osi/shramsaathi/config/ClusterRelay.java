@@ -0,0 +1,144 @@
+package com.osi.shramsaathi.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import com.osi.shramsaathi.service.ClusterBus;
+import com.osi.shramsaathi.service.JobChangeSync;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bridges the local SimpleBroker and the {@link ClusterBus}.
+ * As a broker-channel interceptor it hands every message published here to a relayed destination
+ * (cluster.relay-prefixes, by default /topic/chat/ and /topic/location/) to the bus; messages
+ * arriving from peers are sent into the local broker channel, marked so they are not relayed again;
+ * job-change announcements go to {@link JobChangeSync}, and anything else is dropped, whatever the peer claims.
+ * It also tracks local STOMP subscriptions so the bus only announces destinations with subscribers.
+ */
+@Slf4j
+@Component
+public class ClusterRelay implements ChannelInterceptor {
+
+    static final String RELAYED_HEADER = "clusterRelayed";
+
+    private final ClusterBus bus;
+    private final JobChangeSync jobChanges;
+    private final MessageChannel brokerChannel;
+    private final List<String> prefixes;
+
+    // sessionId -> subscriptionId -> destination, and subscriber count per destination
+    private final Map<String, Map<String, String>> sessions = new HashMap<>();
+    private final Map<String, Integer> subscribers = new HashMap<>();
+
+    public ClusterRelay(ClusterBus bus,
+                        JobChangeSync jobChanges,
+                        @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+                        @Value("${cluster.relay-prefixes:/topic/chat/,/topic/location/}") List<String> prefixes) {
+        this.bus = bus;
+        this.jobChanges = jobChanges;
+        this.brokerChannel = brokerChannel;
+        this.prefixes = prefixes;
+    }
+
+    @PostConstruct
+    public void start() {
+        bus.start(this::deliver);
+    }
+
+    @PreDestroy
+    public void stop() {
+        bus.stop();
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) == SimpMessageType.MESSAGE
+                && !headers.containsKey(RELAYED_HEADER)
+                && message.getPayload() instanceof byte[] payload) {
+            String destination = SimpMessageHeaderAccessor.getDestination(headers);
+            if (relayed(destination)) {
+                MimeType contentType = headers.get(MessageHeaders.CONTENT_TYPE, MimeType.class);
+                bus.publish(new ClusterBus.Message(destination, contentType == null ? null : contentType.toString(), payload));
+            }
+        }
+        return message;
+    }
+
+    private void deliver(ClusterBus.Message relayed) {
+        if (jobChanges.handles(relayed.destination())) {
+            jobChanges.receive(relayed.payload());
+            return;
+        }
+        if (!relayed(relayed.destination())) {
+            log.warn("Dropped cluster message for non-relayed destination {}", relayed.destination());
+            return;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(relayed.destination());
+        if (relayed.contentType() != null) accessor.setContentType(MimeType.valueOf(relayed.contentType()));
+        accessor.setHeader(RELAYED_HEADER, Boolean.TRUE);
+        brokerChannel.send(MessageBuilder.createMessage(relayed.payload(), accessor.getMessageHeaders()));
+    }
+
+    private boolean relayed(String destination) {
+        if (destination == null) return false;
+        for (String prefix : prefixes) {
+            if (destination.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    @EventListener
+    public synchronized void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (!relayed(destination) || accessor.getSessionId() == null) return;
+        String previous = sessions.computeIfAbsent(accessor.getSessionId(), s -> new HashMap<>())
+                .put(accessor.getSubscriptionId(), destination);
+        if (previous != null) release(previous);
+        if (subscribers.merge(destination, 1, Integer::sum) == 1) bus.interestAdded(destination);
+    }
+
+    @EventListener
+    public synchronized void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subs = sessions.get(accessor.getSessionId());
+        if (subs == null) return;
+        String destination = subs.remove(accessor.getSubscriptionId());
+        if (destination != null) release(destination);
+        if (subs.isEmpty()) sessions.remove(accessor.getSessionId());
+    }
+
+    @EventListener
+    public synchronized void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subs = sessions.remove(event.getSessionId());
+        if (subs != null) subs.values().forEach(this::release);
+    }
+
+    private void release(String destination) {
+        Integer left = subscribers.computeIfPresent(destination, (d, n) -> n > 1 ? n - 1 : null);
+        if (left == null) bus.interestRemoved(destination);
+    }
+}
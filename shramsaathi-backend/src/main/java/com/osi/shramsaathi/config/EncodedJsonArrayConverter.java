@@ -0,0 +1,58 @@
+package com.osi.shramsaathi.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+
+import com.osi.shramsaathi.dto.EncodedJsonArray;
+
+/**
+ * Writes an EncodedJsonArray by copying its elements into the response stream between brackets and
+ * commas, with an exact Content-Length; nothing is serialized or buffered again. Write-only.
+ */
+public class EncodedJsonArrayConverter extends AbstractHttpMessageConverter<EncodedJsonArray> {
+
+    public EncodedJsonArrayConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return EncodedJsonArray.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @NonNull
+    protected EncodedJsonArray readInternal(@NonNull Class<? extends EncodedJsonArray> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("EncodedJsonArray is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(@NonNull EncodedJsonArray array, MediaType contentType) {
+        return array.contentLength();
+    }
+
+    @Override
+    protected void writeInternal(@NonNull EncodedJsonArray array, @NonNull HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        out.write('[');
+        boolean first = true;
+        for (byte[] element : array.elements()) {
+            if (!first) out.write(',');
+            out.write(element);
+            first = false;
+        }
+        out.write(']');
+    }
+}
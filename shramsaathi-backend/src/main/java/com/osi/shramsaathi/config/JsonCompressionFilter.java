@@ -0,0 +1,302 @@
+package com.osi.shramsaathi.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Gzips JSON responses of at least minSize bytes for clients that accept it, counting the bytes saved
+ * (http.server.compression.saved) and the responses compressed (http.server.compression.responses).
+ * Only the first minSize bytes are held back: once a JSON body grows past them it is gzipped straight to
+ * the client, and a body that ends smaller goes out as it is, where gzip would only add its header.
+ * Clients that do not accept gzip are not wrapped at all.
+ * A gzipped body is a different representation, so a strong ETag on it is sent weak; If-None-Match
+ * compares weakly, so revalidation still ends in a 304. Streamed NDJSON is left alone, it must not be
+ * held back. Registered by WebConfig, not a bean of its own.
+ */
+public class JsonCompressionFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final int minSize;
+    private final Counter saved;
+    private final Counter compressed;
+
+    public JsonCompressionFilter(int minSize, MeterRegistry registry) {
+        this.minSize = minSize;
+        this.saved = Counter.builder("http.server.compression.saved").baseUnit(BaseUnits.BYTES)
+                .description("Response bytes not sent thanks to gzip").register(registry);
+        this.compressed = Counter.builder("http.server.compression.responses")
+                .description("Responses sent gzipped").register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+
+    // Async handlers (the login endpoints) finish on the async dispatch; complete the body then
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpServletResponse target = response;
+        if (!isAsyncDispatch(request)) {
+            // whether a body is gzipped depends on the request, so caches must key on Accept-Encoding
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (!acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+                chain.doFilter(request, response);
+                return;
+            }
+            target = new GzipResponse(response);
+        }
+        chain.doFilter(request, target);
+        if (!isAsyncStarted(request)) {
+            GzipResponse gzip = WebUtils.getNativeResponse(target, GzipResponse.class);
+            if (gzip != null) gzip.complete();
+        }
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) return false;
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            return type.getSubtype().equals("json") || type.getSubtype().endsWith("+json");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // q-value of gzip, or of "*" when gzip is not listed; absent or q=0 means no
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Double gzip = null;
+        Double any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String p = params[i].trim().toLowerCase(Locale.ROOT);
+                if (!p.startsWith("q=")) continue;
+                try {
+                    q = Double.parseDouble(p.substring(2));
+                } catch (NumberFormatException e) {
+                    q = 0;
+                }
+            }
+            if (coding.equals(GZIP)) gzip = q;
+            else if (coding.equals("*")) any = q;
+        }
+        double q = gzip != null ? gzip : any != null ? any : 0;
+        return q > 0;
+    }
+
+    /**
+     * Holds the body until minSize bytes, then decides once: gzip from there on if it is JSON without a
+     * Content-Encoding of its own, else pass everything through. A body completed below minSize passes
+     * through with its Content-Length; a gzipped one is sent chunked, its length being unknown up front.
+     */
+    private final class GzipResponse extends HttpServletResponseWrapper {
+
+        private final ByteArrayOutputStream head = new ByteArrayOutputStream(Math.min(minSize, 8192));
+        private final ServletOutputStream stream = new Body();
+        private PrintWriter writer;
+        private long declaredLength = -1;
+        private long written;
+        // null until decided; then the raw stream, or a gzip stream over a counting one
+        private OutputStream sink;
+        private CountingOutputStream counted;
+        private GZIPOutputStream gzip;
+
+        GzipResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) throw new IllegalStateException("getWriter() has already been called");
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(stream, Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (sink == null) declaredLength = len;
+            else if (gzip == null) super.setContentLengthLong(len);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) setContentLengthLong(Long.parseLong(value));
+            else super.setHeader(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) setContentLengthLong(Long.parseLong(value));
+            else super.addHeader(name, value);
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) setContentLengthLong(value);
+            else super.setIntHeader(name, value);
+        }
+
+        // Undecided bytes are still ours to flush; holding them is what makes the decision possible
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) writer.flush();
+            if (sink != null) {
+                sink.flush();
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (sink == null) head.reset();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (sink == null) {
+                head.reset();
+                declaredLength = -1;
+            }
+        }
+
+        private void write(byte[] b, int off, int len) throws IOException {
+            written += len;
+            if (sink == null) {
+                if (head.size() + len < minSize) {
+                    head.write(b, off, len);
+                    return;
+                }
+                decide(true);
+            }
+            sink.write(b, off, len);
+        }
+
+        // large: minSize was reached, so the whole body is known to be at least that long
+        private void decide(boolean large) throws IOException {
+            HttpServletResponse raw = (HttpServletResponse) getResponse();
+            if (large && isJson(raw.getContentType()) && raw.getHeader(HttpHeaders.CONTENT_ENCODING) == null) {
+                String etag = raw.getHeader(HttpHeaders.ETAG);
+                if (etag != null && etag.startsWith("\"")) raw.setHeader(HttpHeaders.ETAG, "W/" + etag);
+                raw.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+                counted = new CountingOutputStream(raw.getOutputStream());
+                gzip = new GZIPOutputStream(counted, 8192);
+                sink = gzip;
+            } else {
+                if (declaredLength >= 0) raw.setContentLengthLong(declaredLength);
+                else if (!large) raw.setContentLength(head.size());
+                sink = raw.getOutputStream();
+            }
+            head.writeTo(sink);
+            head.reset();
+        }
+
+        void complete() throws IOException {
+            if (writer != null) writer.flush();
+            if (sink == null) decide(false);
+            if (gzip != null) {
+                gzip.finish();
+                saved.increment(written - counted.count);
+                compressed.increment();
+            }
+            super.flushBuffer();
+        }
+
+        private final class Body extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                GzipResponse.this.write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                GzipResponse.this.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (sink != null) sink.flush();
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                throw new UnsupportedOperationException("non-blocking writes are not supported");
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.osi.shramsaathi.config;
+
+import java.util.function.ToDoubleFunction;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import com.osi.shramsaathi.service.ChatIngestionService;
+import com.osi.shramsaathi.service.GeocodeCache;
+import com.osi.shramsaathi.service.JobJsonCache;
+import com.osi.shramsaathi.service.OpenJobFeed;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Meters Actuator does not bind by itself, scraped with the rest from /actuator/prometheus:
+ * JDBC statement timing and statements per request, the geocode and job JSON caches, the chat write-behind queue,
+ * the STOMP channel queues and open WebSocket sessions. (http.server.requests, Hikari, JVM and,
+ * with hibernate.generate_statistics, Hibernate's counters come from Boot.)
+ * Tags are kept low-cardinality: URI templates and fixed names, never ids, addresses or SQL.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+    private final boolean jdbcMetrics;
+
+    public MetricsConfig(MeterRegistry registry, @Value("${jdbc.metrics.enabled:true}") boolean jdbcMetrics) {
+        this.registry = registry;
+        this.jdbcMetrics = jdbcMetrics;
+    }
+
+    // Wrap the pool so JPA and JdbcTemplate statements alike are timed (jdbc.slow-query.* controls the SQL log)
+    @Bean
+    @ConditionalOnProperty(name = "jdbc.metrics.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor statementMetricsPostProcessor(
+            @Value("${jdbc.slow-query.threshold-ms:200}") long thresholdMs,
+            @Value("${jdbc.slow-query.sample-rate:1.0}") double sampleRate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementMetricsDataSource)) {
+                    return new StatementMetricsDataSource(dataSource, thresholdMs, sampleRate);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry interceptors) {
+        if (jdbcMetrics) interceptors.addInterceptor(new StatementCountInterceptor(registry)).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    public MeterBinder jdbcStatementMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof StatementMetricsDataSource statements) statements.bindTo(registry);
+        };
+    }
+
+    // Hit ratio = rate(hit) / rate(hit + miss); store hits are the subset served by the geocode_cache table
+    @Bean
+    public MeterBinder geocodeCacheMetrics(GeocodeCache cache) {
+        return registry -> {
+            FunctionCounter.builder("geocode.cache.requests", cache, c -> c.stats().get("hits"))
+                    .description("Geocode cache lookups").tag("result", "hit").register(registry);
+            FunctionCounter.builder("geocode.cache.requests", cache, c -> c.stats().get("misses"))
+                    .description("Geocode cache lookups").tag("result", "miss").register(registry);
+            FunctionCounter.builder("geocode.cache.store.hits", cache, c -> c.stats().get("storeHits"))
+                    .description("Geocode cache hits served from the table after a memory miss").register(registry);
+            FunctionCounter.builder("geocode.cache.evictions", cache, c -> c.stats().get("evictions"))
+                    .description("Geocode cache entries evicted for size").register(registry);
+            Gauge.builder("geocode.cache.size", cache, c -> c.stats().get("size"))
+                    .description("Geocode cache entries in memory").register(registry);
+        };
+    }
+
+    // Misses are jobs serialized for a list response; a miss right after a write is the eviction working
+    @Bean
+    public MeterBinder jobJsonCacheMetrics(JobJsonCache cache) {
+        return registry -> {
+            FunctionCounter.builder("job.json.cache.requests", cache, c -> c.stats().get("hits"))
+                    .description("Job JSON cache lookups").tag("result", "hit").register(registry);
+            FunctionCounter.builder("job.json.cache.requests", cache, c -> c.stats().get("misses"))
+                    .description("Job JSON cache lookups").tag("result", "miss").register(registry);
+            Gauge.builder("job.json.cache.size", cache, c -> c.stats().get("bytes")).baseUnit(BaseUnits.BYTES)
+                    .description("Encoded job JSON held in memory").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder openJobFeedMetrics(OpenJobFeed feed) {
+        return registry -> Gauge.builder("job.open.feed.size", feed, OpenJobFeed::size)
+                .description("Open jobs held in the in-memory feed").register(registry);
+    }
+
+    @Bean
+    public MeterBinder chatIngestionMetrics(ChatIngestionService chatIngestion) {
+        return registry -> Gauge.builder("chat.ingestion.queued", chatIngestion, c -> c.stats().get("queued"))
+                .description("Chat messages accepted but not yet written").register(registry);
+    }
+
+    // Queue depth only exists on the platform-thread pools; in virtual-thread mode the channels have no queue
+    @Bean
+    public MeterBinder stompMetrics(@Qualifier("clientInboundChannel") AbstractSubscribableChannel inbound,
+                                    @Qualifier("clientOutboundChannel") AbstractSubscribableChannel outbound,
+                                    @Qualifier("subProtocolWebSocketHandler") WebSocketHandler handler) {
+        return registry -> {
+            bindChannel(registry, "inbound", inbound);
+            bindChannel(registry, "outbound", outbound);
+            if (handler instanceof SubProtocolWebSocketHandler subProtocol) {
+                SubProtocolWebSocketHandler.Stats stats = subProtocol.getStats();
+                bindSessions(registry, "websocket", stats, SubProtocolWebSocketHandler.Stats::getWebSocketSessions);
+                bindSessions(registry, "http-streaming", stats, SubProtocolWebSocketHandler.Stats::getHttpStreamingSessions);
+                bindSessions(registry, "http-polling", stats, SubProtocolWebSocketHandler.Stats::getHttpPollingSessions);
+            }
+        };
+    }
+
+    private static void bindChannel(MeterRegistry registry, String channel, AbstractSubscribableChannel subscribable) {
+        if (!(subscribable instanceof ExecutorSubscribableChannel executorChannel)
+                || !(executorChannel.getExecutor() instanceof ThreadPoolTaskExecutor pool)) return;
+        Gauge.builder("stomp.channel.queued", pool, ThreadPoolTaskExecutor::getQueueSize)
+                .description("STOMP messages waiting for a channel thread").tag("channel", channel).register(registry);
+        Gauge.builder("stomp.channel.active", pool, ThreadPoolTaskExecutor::getActiveCount)
+                .description("STOMP channel threads busy").tag("channel", channel).register(registry);
+    }
+
+    private static void bindSessions(MeterRegistry registry, String transport, SubProtocolWebSocketHandler.Stats stats,
+                                     ToDoubleFunction<SubProtocolWebSocketHandler.Stats> count) {
+        Gauge.builder("websocket.sessions", stats, count)
+                .description("Open STOMP sessions").tag("transport", transport).register(registry);
+    }
+}
@@ -0,0 +1,81 @@
+package com.osi.shramsaathi.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level cache for Job, User and Owner, plus the query cache (used by the login
+ * findByName lookups), kept in bounded Caffeine regions through JCache.
+ * Entities are READ_WRITE: a save or delete through the EntityManager locks the cached entry for the
+ * transaction and replaces or drops it on commit, and bulk JPQL updates invalidate the whole region
+ * (so job writers avoid them: GeocodingWorker updates locked entities one by one), so readers never see
+ * a row older than the last commit. Writes that bypass Hibernate must only insert
+ * new rows (JobImporter); anything else has to evict the region itself.
+ * Per-region hit/miss counts are hibernate.second.level.cache.requests{region,result} in /actuator/prometheus.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jpa.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    public static final String JOB_REGION = "jobs";
+    public static final String USER_REGION = "users";
+    public static final String OWNER_REGION = "owners";
+
+    // Own manager per application context (the provider shares one per URI); Hibernate does not close a
+    // manager it was handed, so the bean's destroy method does
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${jpa.cache.entity-max-size:20000}") long entityMaxSize,
+                                              @Value("${jpa.cache.query-max-size:5000}") long queryMaxSize,
+                                              @Value("${jpa.cache.ttl:PT30M}") Duration ttl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager manager = provider.getCacheManager(
+                URI.create("shramsaathi-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : List.of(JOB_REGION, USER_REGION, OWNER_REGION)) {
+            manager.createCache(region, region(entityMaxSize, ttl));
+        }
+        manager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryMaxSize, ttl));
+        // One entry per table holding its last write time; evicting one would let a stale query result through
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+        return manager;
+    }
+
+    // Regions are created above, so a region nobody configured is a startup error rather than an unbounded cache
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(maxSize));
+        config.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Hibernate caches its own disassembled copies; no need for JCache to copy them again
+        config.setStoreByValue(false);
+        return config;
+    }
+}
@@ -3,13 +3,17 @@ package com.osi.shramsaathi.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.osi.shramsaathi.service.SessionTokenService;
 
 @Configuration
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, SessionTokenService tokenService) throws Exception {
         http
             // Disable CSRF (Cross-Site Request Forgery)
             .csrf(csrf -> csrf.disable())
@@ -17,9 +21,16 @@ public class SecurityConfig {
             // Disable CORS (Cross-Origin Resource Sharing) or configure separately in WebConfig
             .cors(cors -> cors.disable())
 
+            // Stateless: callers present the signed token from /api/auth/login/* on every request,
+            // verified by SessionTokenFilter without a session, a DB lookup or BCrypt
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new SessionTokenFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+
             // Configure request authorization
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/**").permitAll()  // Allow all API endpoints
+                .requestMatchers("/ws/**").permitAll()   // STOMP/SockJS endpoint
+                .requestMatchers("/actuator/**").permitAll()  // health and Prometheus scrape (exposure list in application.properties)
                 .anyRequest().authenticated()            // Everything else requires auth
             );
 
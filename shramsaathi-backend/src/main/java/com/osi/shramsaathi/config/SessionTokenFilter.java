@@ -0,0 +1,52 @@
+package com.osi.shramsaathi.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.osi.shramsaathi.service.SessionTokenService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates "Authorization: Bearer <token>" requests from the signed session token alone.
+ * The principal is the token's {@link SessionTokenService.Session}, with authority ROLE_WORKER or ROLE_OWNER.
+ * A missing or invalid token leaves the request anonymous; SecurityConfig decides what that may reach.
+ * Not a bean, so Boot does not also register it as a plain servlet filter; SecurityConfig adds it.
+ */
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final SessionTokenService tokenService;
+
+    public SessionTokenFilter(SessionTokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            SessionTokenService.Session session = tokenService.verify(header.substring(BEARER.length()).trim());
+            if (session != null) {
+                var authentication = new UsernamePasswordAuthenticationToken(session, null,
+                        List.of(new SimpleGrantedAuthority("ROLE_" + session.role().name())));
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
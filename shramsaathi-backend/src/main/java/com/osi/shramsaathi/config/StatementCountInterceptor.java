@@ -0,0 +1,52 @@
+package com.osi.shramsaathi.config;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many JDBC statements each request ran as jdbc.statements.per.request, tagged like
+ * http.server.requests by method and URI template. Only statements on the request thread count,
+ * so work handed to another executor (e.g. BCrypt during login) is not included.
+ */
+public class StatementCountInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry registry;
+
+    public StatementCountInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        StatementMetricsDataSource.startCounting();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        // the async dispatch calls preHandle again and is recorded then
+        StatementMetricsDataSource.stopCounting();
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        long statements = StatementMetricsDataSource.stopCounting();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("jdbc.statements.per.request")
+                .description("JDBC statements run by one HTTP request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                .register(registry)
+                .record(statements);
+    }
+}
@@ -0,0 +1,168 @@
+package com.osi.shramsaathi.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Times every JDBC statement, whether it comes from JPA or a JdbcTemplate, as jdbc.statements
+ * tagged by operation (select/insert/update/delete/other) and outcome. Statements run on a thread
+ * between {@link #startCounting()} and {@link #stopCounting()} are counted for the per-request summary.
+ * Statements at or above the slow-query threshold are counted and a sample of them is logged with
+ * their SQL, which replaces spring.jpa.show-sql: threshold 0 with a small sample rate logs a
+ * sample of all traffic, a negative threshold turns the log off.
+ * Meters are registered once {@link #bindTo} is called; statements before that are only counted.
+ */
+@Slf4j
+public class StatementMetricsDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private static final ThreadLocal<long[]> REQUEST_COUNT = new ThreadLocal<>();
+    private static final int MAX_LOGGED_SQL = 2000;
+
+    private final long slowThresholdNanos;
+    private final double slowLogSampleRate;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> slowCounters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public StatementMetricsDataSource(DataSource target, long slowThresholdMs, double slowLogSampleRate) {
+        super(target);
+        this.slowThresholdNanos = slowThresholdMs < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.slowLogSampleRate = slowLogSampleRate;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // Start counting statements issued on this thread (one request)
+    public static void startCounting() {
+        REQUEST_COUNT.set(new long[1]);
+    }
+
+    // Statements since startCounting, 0 if counting was not started; stops counting
+    public static long stopCounting() {
+        long[] count = REQUEST_COUNT.get();
+        REQUEST_COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection target) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) return proxy == args[0];
+                    if (method.getName().equals("hashCode")) return System.identityHashCode(proxy);
+                    Object result = invoke(target, method, args);
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                    if (result instanceof CallableStatement s) return wrap(s, CallableStatement.class, sql);
+                    if (result instanceof PreparedStatement s) return wrap(s, PreparedStatement.class, sql);
+                    if (result instanceof Statement s) return wrap(s, Statement.class, null);
+                    return result;
+                });
+    }
+
+    private Statement wrap(Statement target, Class<? extends Statement> type, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("equals")) return proxy == args[0];
+                    if (name.equals("hashCode")) return System.identityHashCode(proxy);
+                    if (!name.startsWith("execute")) return invoke(target, method, args);
+
+                    String sql = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                    long start = System.nanoTime();
+                    boolean ok = false;
+                    try {
+                        Object result = invoke(target, method, args);
+                        ok = true;
+                        return result;
+                    } finally {
+                        record(sql, System.nanoTime() - start, ok);
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void record(String sql, long nanos, boolean ok) {
+        long[] count = REQUEST_COUNT.get();
+        if (count != null) count[0]++;
+
+        String operation = operation(sql);
+        MeterRegistry meters = registry;
+        if (meters != null) {
+            timers.computeIfAbsent(operation + (ok ? ":success" : ":error"), k -> Timer.builder("jdbc.statements")
+                    .description("JDBC statement execution time")
+                    .tag("operation", operation)
+                    .tag("outcome", ok ? "success" : "error")
+                    .register(meters))
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if (slowThresholdNanos < 0 || nanos < slowThresholdNanos) return;
+
+        if (meters != null && slowThresholdNanos > 0) {
+            slowCounters.computeIfAbsent(operation, k -> Counter.builder("jdbc.statements.slow")
+                    .description("JDBC statements at or above jdbc.slow-query.threshold-ms")
+                    .tag("operation", operation)
+                    .register(meters))
+                    .increment();
+        }
+        if (slowLogSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < slowLogSampleRate) {
+            String text = sql == null ? "(batch)"
+                    : sql.length() > MAX_LOGGED_SQL ? sql.substring(0, MAX_LOGGED_SQL) + "..." : sql;
+            log.info("SQL {} ms{}: {}", nanos / 1_000_000, ok ? "" : " (failed)", text);
+        }
+    }
+
+    static String operation(String sql) {
+        if (sql == null) return "other";
+        String head = sql.stripLeading();
+        int end = 0;
+        while (end < head.length() && Character.isLetter(head.charAt(end))) end++;
+        return switch (head.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "select" -> "select";
+            case "insert" -> "insert";
+            case "update" -> "update";
+            case "delete" -> "delete";
+            default -> "other";
+        };
+    }
+}
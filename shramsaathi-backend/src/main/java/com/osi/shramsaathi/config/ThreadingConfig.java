@@ -0,0 +1,38 @@
+package com.osi.shramsaathi.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Virtual-thread mode (spring.threads.virtual.enabled=true, needs a Java 21+ runtime).
+ * Spring Boot itself moves the Tomcat request executor, the STOMP clientInbound/clientOutbound
+ * channels (via applicationTaskExecutor) and @Scheduled tasks onto virtual threads; this adds an
+ * executor for blocking client I/O it does not reach, currently the geocoder's HttpClient.
+ * On Java 17 Boot silently ignores the flag, so say so at startup instead.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    public ThreadingConfig(Environment environment) {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Virtual-thread mode on: Tomcat, STOMP channels, scheduler and geocoder use virtual threads");
+        } else if (requested) {
+            log.warn("spring.threads.virtual.enabled=true needs Java 21+, running on {}; staying on platform threads",
+                    System.getProperty("java.version"));
+        }
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public VirtualThreadTaskExecutor blockingIoExecutor() {
+        return new VirtualThreadTaskExecutor("blocking-io-");
+    }
+}
@@ -1,10 +1,20 @@
 package com.osi.shramsaathi.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
@@ -15,4 +25,22 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE")
                 .allowedHeaders("*");
     }
+
+    // Ahead of Jackson, which would otherwise try to serialize the record itself
+    @Override
+    public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new EncodedJsonArrayConverter());
+    }
+
+    // Outside Spring Security and after the request observation, so http.server.requests still times the gzip work
+    @Bean
+    @ConditionalOnProperty(name = "http.compression.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<JsonCompressionFilter> jsonCompressionFilter(
+            @Value("${http.compression.min-size:1024}") int minSize, MeterRegistry registry) {
+        FilterRegistrationBean<JsonCompressionFilter> registration =
+                new FilterRegistrationBean<>(new JsonCompressionFilter(minSize, registry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
 }
@@ -10,9 +10,17 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final ClusterRelay clusterRelay;
+
+    public WebSocketConfig(ClusterRelay clusterRelay) {
+        this.clusterRelay = clusterRelay;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
+        // chat/location broadcasts also go to other backend nodes with subscribers (cluster.mode)
+        config.configureBrokerChannel().interceptors(clusterRelay);
         config.setApplicationDestinationPrefixes("/app");
     }
 
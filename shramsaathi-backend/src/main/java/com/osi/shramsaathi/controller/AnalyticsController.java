@@ -1,13 +1,13 @@
 package com.osi.shramsaathi.controller;
 
-import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.model.WorkerStats;
 import com.osi.shramsaathi.repository.JobApplicationRepository;
-import com.osi.shramsaathi.repository.JobRepository;
+import com.osi.shramsaathi.service.JobApplicationService;
+import com.osi.shramsaathi.service.JobService;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -15,36 +15,37 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000")
 public class AnalyticsController {
 
-    private final JobRepository jobRepo;
+    private final JobService jobService;
     private final JobApplicationRepository appRepo;
+    private final JobApplicationService applicationService;
 
-    public AnalyticsController(JobRepository jobRepo, JobApplicationRepository appRepo) {
-        this.jobRepo = jobRepo;
+    public AnalyticsController(JobService jobService, JobApplicationRepository appRepo,
+                               JobApplicationService applicationService) {
+        this.jobService = jobService;
         this.appRepo = appRepo;
+        this.applicationService = applicationService;
     }
 
     // Owner: counts of applications per job (ownerId -> map jobId -> count)
     @GetMapping("/owner/{ownerId}/application-counts")
     public ResponseEntity<Map<Long, Long>> getApplicationCountsForOwner(@PathVariable Long ownerId) {
-        List<Job> jobs = jobRepo.findByOwnerId(ownerId);
         Map<Long, Long> counts = new HashMap<>();
-        for (Job job : jobs) {
-            counts.put(job.getId(), appRepo.countByJobId(job.getId()));
+        for (JobApplicationRepository.JobApplicationCount c : appRepo.countApplicationsForOwner(ownerId)) {
+            counts.put(c.getJobId(), c.getApplications());
         }
         return ResponseEntity.ok(counts);
     }
 
-    // Worker summary: total jobs available, applied count, accepted count
+    // Worker summary: total jobs available plus the worker's application counters (all O(1) reads)
     @GetMapping("/worker/{workerId}/summary")
     public ResponseEntity<Map<String, Long>> getWorkerSummary(@PathVariable Long workerId) {
-        long totalJobs = jobRepo.count();
-        long applied = appRepo.findByWorkerId(workerId).size();
-        long accepted = appRepo.findByWorkerId(workerId).stream()
-                .filter(a -> "accepted".equalsIgnoreCase(a.getStatus())).count();
+        WorkerStats stats = applicationService.getWorkerStats(workerId);
         Map<String, Long> out = new HashMap<>();
-        out.put("totalJobs", totalJobs);
-        out.put("applied", applied);
-        out.put("accepted", accepted);
+        out.put("totalJobs", jobService.countJobs());
+        out.put("applied", stats.getApplied());
+        out.put("accepted", stats.getAccepted());
+        out.put("rejected", stats.getRejected());
+        out.put("pending", stats.getPending());
         return ResponseEntity.ok(out);
     }
 }
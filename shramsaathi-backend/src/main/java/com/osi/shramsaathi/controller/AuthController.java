@@ -1,13 +1,18 @@
 package com.osi.shramsaathi.controller;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import com.osi.shramsaathi.repository.OwnerRepository;
-import com.osi.shramsaathi.repository.UserRepository;
+import com.osi.shramsaathi.dto.LoginResponse;
 import com.osi.shramsaathi.model.Owner;
 import com.osi.shramsaathi.model.User;
 import com.osi.shramsaathi.service.AuthService;
+import com.osi.shramsaathi.service.PhoneRegistry;
+import com.osi.shramsaathi.service.SessionTokenService;
 @CrossOrigin(origins = "http://localhost:3000") 
 @RestController
 @RequestMapping("/api/auth")
@@ -16,28 +21,15 @@ public class AuthController {
 
     @Autowired
     private AuthService authService;
-     @Autowired
-    private UserRepository userRepository;
 
     @Autowired
-    private OwnerRepository ownerRepository;
+    private PhoneRegistry phoneRegistry;
 
     // Register Worker
+    // A phone number registers once, as worker or owner: a taken phone gets 409 with the existing
+    // role (DuplicateRegistrationException), an unusable one 400 (GlobalExceptionHandler)
     @PostMapping("/register/user")
     public ResponseEntity<?> registerUser(@RequestBody User user) {
-        //  Check if owner already registered as Worker
-        boolean existsAsWorker = userRepository.findByName(user.getName()).isPresent() && userRepository.findByPhone(user.getPhone()).isPresent();
-        boolean existsAsOwner = ownerRepository.findByName(user.getName()).isPresent() && ownerRepository.findByPhone(user.getPhone()).isPresent();
-        if (existsAsOwner) {
-            return ResponseEntity.badRequest()
-                    .body("You are already registered as an Owner. You cannot register as a Worker again.");
-        }
-
-        if (existsAsWorker) {
-            return ResponseEntity.badRequest()
-                    .body("Worker already registered with this name.");
-        }
-
         String password = authService.registerUser(user);
         return ResponseEntity.ok("Registration successful! Your generated password: " + password);
     }
@@ -45,52 +37,49 @@ public class AuthController {
     // Register Owner
     @PostMapping("/register/owner")
     public ResponseEntity<?> registerOwner(@RequestBody Owner owner) {
-        // Check if owner already registered as Worker
-        boolean existsAsWorker = userRepository.findByName(owner.getName()).isPresent() && userRepository.findByPhone(owner.getPhone()).isPresent();
-        boolean existsAsOwner = ownerRepository.findByName(owner.getName()).isPresent() && ownerRepository.findByPhone(owner.getPhone()).isPresent();
-         if (existsAsWorker) {
-            return ResponseEntity.badRequest()
-                    .body(" You are already registered as a Worker. You cannot register as an Owner again.");
-        }
-
-        if (existsAsOwner) {
-            return ResponseEntity.badRequest()
-                    .body("Owner already registered with this name.");
-        }
         String password = authService.registerOwner(owner);
         return ResponseEntity.ok("Registration successful! Your generated password: " + password);
     }
 
-    // Login for Worker
+    // Login for Worker: returns a signed session token (LoginResponse); the password check runs
+    // off the request thread, which is released until it completes
     @PostMapping("/login/user")
-    public ResponseEntity<?> loginUser(@RequestParam String name, @RequestParam String password) {
-        boolean success = authService.loginUser(name, password);
-        return success ? ResponseEntity.ok("Login successful!") : ResponseEntity.status(401).body("Invalid credentials");
+    public CompletableFuture<ResponseEntity<?>> loginUser(@RequestParam String name, @RequestParam String password) {
+        return authService.loginUser(name, password).thenApply(AuthController::loginResult);
     }
 
     // Login for Owner
     @PostMapping("/login/owner")
-    public ResponseEntity<?> loginOwner(@RequestParam String name, @RequestParam String password) {
-        boolean success = authService.loginOwner(name, password);
-        return success ? ResponseEntity.ok("Login successful!") : ResponseEntity.status(401).body(" Invalid credentials");
+    public CompletableFuture<ResponseEntity<?>> loginOwner(@RequestParam String name, @RequestParam String password) {
+        return authService.loginOwner(name, password).thenApply(AuthController::loginResult);
     }
-     @PostMapping("/worker")
-    public String workerLogin(@RequestParam String name, @RequestParam String password) {
-        return userRepository.findByName(name)
-                .map(user -> user.getPassword().equals(password)
-                        ? "Worker login successful "
-                        : "Invalid password ")
-                .orElse("User not found ");
+
+    // Legacy aliases; they compared the request against the stored BCrypt hash as plaintext
+    @PostMapping("/worker")
+    public CompletableFuture<ResponseEntity<?>> workerLogin(@RequestParam String name, @RequestParam String password) {
+        return loginUser(name, password);
     }
 
     // Owner Login
     @PostMapping("/owner")
-    public String ownerLogin(@RequestParam String name, @RequestParam String password) {
-        return ownerRepository.findByName(name)
-                .map(owner -> owner.getPassword().equals(password)
-                        ? "Owner login successful "
-                        : "Invalid password ")
-                .orElse("Owner not found ");
+    public CompletableFuture<ResponseEntity<?>> ownerLogin(@RequestParam String name, @RequestParam String password) {
+        return loginOwner(name, password);
+    }
+
+    // ✅ GET duplicate-check counters: checks, probes (DB lookups the Bloom filter could not skip), claims, rejected
+    @GetMapping("/registration/stats")
+    public ResponseEntity<Map<String, Long>> registrationStats() {
+        return ResponseEntity.ok(phoneRegistry.stats());
+    }
+
+    // ✅ GET who the bearer token belongs to (verified from the token alone)
+    @GetMapping("/me")
+    public ResponseEntity<?> me(@AuthenticationPrincipal SessionTokenService.Session session) {
+        return session != null ? ResponseEntity.ok(session) : ResponseEntity.status(401).body("Not logged in");
+    }
+
+    private static ResponseEntity<?> loginResult(LoginResponse login) {
+        return login != null ? ResponseEntity.ok(login) : ResponseEntity.status(401).body("Invalid credentials");
     }
 
 }
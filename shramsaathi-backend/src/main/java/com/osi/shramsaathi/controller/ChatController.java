@@ -1,32 +1,76 @@
 package com.osi.shramsaathi.controller;
 
 import com.osi.shramsaathi.model.ChatMessage;
-import com.osi.shramsaathi.repository.ChatRepository;
+import com.osi.shramsaathi.service.ChatIngestionService;
+import com.osi.shramsaathi.service.ChatService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/chat")
 @CrossOrigin(origins = "http://localhost:3000")
 public class ChatController {
 
-    private final ChatRepository chatRepo;
+    private final ChatService chatService;
+    private final ChatIngestionService chatIngestion;
 
-    public ChatController(ChatRepository chatRepo) {
-        this.chatRepo = chatRepo;
+    public ChatController(ChatService chatService, ChatIngestionService chatIngestion) {
+        this.chatService = chatService;
+        this.chatIngestion = chatIngestion;
     }
 
-    // ✅ Send a message
+    // ✅ Send a message (broadcast right away, stored by the batched chat writer)
     @PostMapping
     public ResponseEntity<ChatMessage> sendMessage(@RequestBody ChatMessage message) {
-        return ResponseEntity.ok(chatRepo.save(message));
+        return ResponseEntity.ok(chatIngestion.accept(message));
     }
 
-    // ✅ Fetch all messages for an application (both worker & owner)
+    // ✅ Fetch a page of messages for an application (both worker & owner), oldest first
+    //    no cursor: latest page | before=<id>: older page | after=<id>: newer page
+    //    since=<id>: everything accepted after that id (reconnect delta); ids are those broadcast live
     @GetMapping("/{applicationId}")
-    public ResponseEntity<List<ChatMessage>> getMessagesByApplication(@PathVariable Long applicationId) {
-        return ResponseEntity.ok(chatRepo.findByApplicationIdOrderBySentAtAsc(applicationId));
+    public ResponseEntity<List<ChatMessage>> getMessagesByApplication(
+            @PathVariable Long applicationId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "50") int limit) {
+        int cursors = (before != null ? 1 : 0) + (after != null ? 1 : 0) + (since != null ? 1 : 0);
+        if (cursors > 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (since != null) {
+            return ResponseEntity.ok(chatService.getMessagesSince(applicationId, since,
+                    Math.min(Math.max(limit, 1), ChatService.MAX_DELTA_SIZE)));
+        }
+        int size = Math.min(Math.max(limit, 1), ChatService.MAX_PAGE_SIZE);
+        return ResponseEntity.ok(chatService.getMessagesByApplicationId(applicationId, before, after, size));
+    }
+
+    // ✅ Mark everything userId received in this chat up to message upTo as read (single UPDATE)
+    @PostMapping("/{applicationId}/read")
+    public ResponseEntity<Map<String, Long>> markRead(
+            @PathVariable Long applicationId,
+            @RequestParam Long userId,
+            @RequestParam Long upTo) {
+        int marked = chatService.markReadUpTo(applicationId, userId, upTo);
+        return ResponseEntity.ok(Map.of(
+                "marked", (long) marked,
+                "unread", chatService.getUnreadCount(userId, applicationId)));
+    }
+
+    // ✅ Unread badge counts for a user: { applicationId: unread } (only chats with unread messages)
+    @GetMapping("/unread/{userId}")
+    public ResponseEntity<Map<Long, Long>> getUnreadCounts(@PathVariable Long userId) {
+        return ResponseEntity.ok(chatService.getUnreadCounts(userId));
+    }
+
+    // ✅ Chat writer counters: accepted, duplicates, persisted, batches, spilled, replayed, deadLettered, queued
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Long>> getStats() {
+        return ResponseEntity.ok(chatIngestion.stats());
     }
 }
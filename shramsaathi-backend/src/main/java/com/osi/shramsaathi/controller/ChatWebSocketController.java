@@ -1,10 +1,10 @@
 package com.osi.shramsaathi.controller;
 
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
 import com.osi.shramsaathi.model.ChatMessage;
+import com.osi.shramsaathi.service.ChatIngestionService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -12,17 +12,15 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ChatWebSocketController {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatIngestionService chatIngestion;
 
-    // Receives messages sent to /app/chat and broadcasts to /topic/chat/{applicationId}
+    // Receives messages sent to /app/chat; broadcast to /topic/chat/{applicationId} and stored by the chat writer.
+    // Clients without clientMessageId also POST every message to /api/chat, which is authoritative for them:
+    // their WebSocket copy is ignored, as the two copies cannot be told apart from a repeated message
     @MessageMapping("/chat")
     public void handleChatMessage(ChatMessage message) {
         if (message == null || message.getApplicationId() == null) return;
-        try {
-            messagingTemplate.convertAndSend("/topic/chat/" + message.getApplicationId(), message);
-        } catch (Exception e) {
-            // log and ignore
-            System.err.println("Failed to broadcast chat message: " + e.getMessage());
-        }
+        if (!ChatIngestionService.hasClientMessageId(message)) return;
+        chatIngestion.accept(message);
     }
 }
@@ -0,0 +1,24 @@
+package com.osi.shramsaathi.controller;
+
+import com.osi.shramsaathi.service.GeocodeCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/geocoding")
+public class GeocodingController {
+
+    private final GeocodeCache geocodeCache;
+
+    public GeocodingController(GeocodeCache geocodeCache) {
+        this.geocodeCache = geocodeCache;
+    }
+
+    // Geocode cache counters: hits (incl. storeHits served from the table), misses, evictions, size
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Long>> getCacheStats() {
+        return ResponseEntity.ok(geocodeCache.stats());
+    }
+}
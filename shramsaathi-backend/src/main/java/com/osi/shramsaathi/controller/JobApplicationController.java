@@ -1,9 +1,9 @@
 package com.osi.shramsaathi.controller;
 
-import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.dto.WorkerApplicationView;
 import com.osi.shramsaathi.model.JobApplication;
-import com.osi.shramsaathi.repository.JobRepository;
 import com.osi.shramsaathi.repository.JobApplicationRepository;
+import com.osi.shramsaathi.service.JobApplicationService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,11 +16,11 @@ import java.util.*;
 public class JobApplicationController {
 
     private final JobApplicationRepository appRepo;
-    private final JobRepository jobRepo;
+    private final JobApplicationService applicationService;
 
-    public JobApplicationController(JobApplicationRepository appRepo, JobRepository jobRepo) {
+    public JobApplicationController(JobApplicationRepository appRepo, JobApplicationService applicationService) {
         this.appRepo = appRepo;
-        this.jobRepo = jobRepo;
+        this.applicationService = applicationService;
     }
 
     // ✅ Worker applies for a job (Prevent duplicate applications)
@@ -37,7 +37,7 @@ public class JobApplicationController {
         }
 
         // ✅ Save new application
-        JobApplication saved = appRepo.save(application);
+        JobApplication saved = applicationService.apply(application);
         Map<String, Object> response = new HashMap<>();
         response.put("message", "✅ Job application submitted successfully!");
         response.put("application", saved);
@@ -52,36 +52,8 @@ public class JobApplicationController {
 
     // ✅ Get all applications made by a specific worker (Worker View)
     @GetMapping("/worker/{workerId}")
-    public ResponseEntity<List<Map<String, Object>>> getApplicationsByWorker(@PathVariable Long workerId) {
-        List<JobApplication> apps = appRepo.findByWorkerId(workerId);
-        List<Map<String, Object>> response = new ArrayList<>();
-
-        for (JobApplication app : apps) {
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", app.getId());
-            map.put("workerId", app.getWorkerId());
-            map.put("workerName", app.getWorkerName());
-            map.put("workerSkill", app.getWorkerSkill());
-            map.put("status", app.getStatus());
-            map.put("appliedAt", app.getAppliedAt());
-            map.put("jobId", app.getJobId());
-
-            // ✅ Fetch job details
-            jobRepo.findById(app.getJobId()).ifPresentOrElse(job -> {
-                map.put("jobTitle", job.getTitle());
-                map.put("location", job.getLocation());
-                map.put("pay", job.getPay());
-                map.put("duration", job.getDuration());
-            }, () -> {
-                map.put("jobTitle", "Job not found");
-                map.put("location", "-");
-                map.put("pay", "-");
-            });
-
-            response.add(map);
-        }
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<WorkerApplicationView>> getApplicationsByWorker(@PathVariable Long workerId) {
+        return ResponseEntity.ok(appRepo.findWorkerApplicationViews(workerId));
     }
 
     // ✅ Update application status (Owner Action)
@@ -90,9 +62,6 @@ public class JobApplicationController {
             @PathVariable Long id,
             @RequestParam String status
     ) {
-        JobApplication app = appRepo.findById(id)
-                .orElseThrow(() -> new RuntimeException("Application not found"));
-        app.setStatus(status);
-        return ResponseEntity.ok(appRepo.save(app));
+        return ResponseEntity.ok(applicationService.updateStatus(id, status));
     }
 }
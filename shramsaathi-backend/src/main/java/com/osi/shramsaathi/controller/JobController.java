@@ -1,36 +1,111 @@
 package com.osi.shramsaathi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.dto.CursorPage;
+import com.osi.shramsaathi.dto.EncodedJsonArray;
+import com.osi.shramsaathi.dto.JobImportReport;
 import com.osi.shramsaathi.dto.JobRequest;
 import com.osi.shramsaathi.dto.JobResponse;
+import com.osi.shramsaathi.model.JobStatus;
+import com.osi.shramsaathi.service.JobCatalogVersion;
+import com.osi.shramsaathi.service.JobImporter;
 import com.osi.shramsaathi.service.JobService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/jobs")
 @CrossOrigin(origins = "http://localhost:3000")
 public class JobController {
 
+    private static final double MAX_NEARBY_RADIUS_KM = 200;
+    private static final int MAX_NEARBY_LIMIT = 500;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_SEARCH_LIMIT = 200;
+
+    // Polled lists: clients may keep them but must revalidate (If-None-Match) before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
     private final JobService jobService;
+    private final ObjectMapper objectMapper;
+    private final JobCatalogVersion catalogVersion;
 
-    public JobController(JobService jobService) {
+    public JobController(JobService jobService, ObjectMapper objectMapper, JobCatalogVersion catalogVersion) {
         this.jobService = jobService;
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
     }
 
-    // ✅ GET all jobs (used by Analytics / Worker dashboard)
+    // ✅ GET all jobs (used by Analytics / Worker dashboard); 304 without a query while no job changed.
+    // List bodies are assembled from each job's cached JSON (JobJsonCache)
     @GetMapping
-    public ResponseEntity<List<JobResponse>> getAllJobs() {
-        List<JobResponse> jobs = jobService.getAllJobs();
-        return ResponseEntity.ok(jobs);
+    public ResponseEntity<EncodedJsonArray> getAllJobs(WebRequest request) {
+        return conditional(request, jobService::getAllJobsJson);
+    }
+
+    // ✅ GET /api/jobs?after=<id>&limit=<n> — keyset page ordered by id
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<JobResponse>> getJobsPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam int limit) {
+        return ResponseEntity.ok(jobService.getJobsPage(after, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)));
+    }
+
+    // ✅ GET /api/jobs/open?after=<id>&limit=<n> — latest open jobs, newest first, from the in-memory
+    // feed (no query); conditional like GET /api/jobs
+    @GetMapping("/open")
+    public ResponseEntity<CursorPage<JobResponse>> getOpenJobs(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return conditional(request, () -> jobService.getOpenJobsPage(after, size));
+    }
+
+    // ✅ GET /api/jobs with Accept: application/x-ndjson — one job per line, streamed from a DB cursor
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllJobs() {
+        return NdjsonResponses.stream(objectMapper, jobService::streamAllJobs);
     }
 
-    // ✅ NEW: Get jobs by owner ID (used in Owner Dashboard)
+    // ✅ NEW: Get jobs by owner ID (used in Owner Dashboard); conditional like GET /api/jobs
     @GetMapping("/owner/{ownerId}")
-    public ResponseEntity<List<JobResponse>> getJobsByOwner(@PathVariable Long ownerId) {
-        List<JobResponse> jobs = jobService.getJobsByOwner(ownerId);
-        return ResponseEntity.ok(jobs);
+    public ResponseEntity<EncodedJsonArray> getJobsByOwner(@PathVariable Long ownerId, WebRequest request) {
+        return conditional(request, () -> jobService.getJobsByOwnerJson(ownerId));
+    }
+
+    // ✅ GET jobs near a point, nearest first (served from the in-memory spatial index)
+    @GetMapping("/nearby")
+    public ResponseEntity<EncodedJsonArray> getNearbyJobs(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) String status) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            return ResponseEntity.badRequest().build();
+        }
+        double radius = Math.min(Math.max(radiusKm, 0), MAX_NEARBY_RADIUS_KM);
+        int size = Math.min(Math.max(limit, 1), MAX_NEARBY_LIMIT);
+        return ResponseEntity.ok(jobService.findNearbyJson(lat, lon, radius, size, skill, status));
+    }
+
+    // ✅ GET /api/jobs/search?q=mistri — ranked, typo-tolerant skill/title search (in-memory index)
+    @GetMapping("/search")
+    public ResponseEntity<EncodedJsonArray> searchJobs(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(jobService.searchBySkillJson(query, Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT)));
     }
 
     // ✅ POST: Create new job
@@ -40,10 +115,37 @@ public class JobController {
         return ResponseEntity.ok(job);
     }
 
+    // ✅ POST /api/jobs/import — bulk create from CSV (header row + one job per line); returns a per-row report
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<JobImportReport> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(jobService.importJobs(body, JobImporter.Format.CSV));
+    }
+
+    // ✅ POST /api/jobs/import with Content-Type: application/x-ndjson — one JobRequest object per line
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<JobImportReport> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(jobService.importJobs(body, JobImporter.Format.NDJSON));
+    }
+
+    // ✅ PUT /api/jobs/{id}/status?status=closed — open, filled or closed
+    @PutMapping("/{id}/status")
+    public ResponseEntity<JobResponse> updateStatus(@PathVariable Long id, @RequestParam String status) {
+        return ResponseEntity.ok(jobService.updateStatus(id, JobStatus.from(status)));
+    }
+
     // ✅ DELETE: Delete job by ID
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteJob(@PathVariable Long id) {
         jobService.deleteJob(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Tagged with the catalog version taken before the query; checkNotModified also sets ETag/Last-Modified
+    private <T> ResponseEntity<T> conditional(WebRequest request, Supplier<T> body) {
+        JobCatalogVersion.Tag tag = catalogVersion.current();
+        if (request.checkNotModified(tag.etag(), tag.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+    }
 }
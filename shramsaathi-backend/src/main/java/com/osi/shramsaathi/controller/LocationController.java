@@ -1,40 +1,49 @@
 package com.osi.shramsaathi.controller;
 
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import com.osi.shramsaathi.dto.LocationMessage;
+import com.osi.shramsaathi.exception.ResourceNotFoundException;
+import com.osi.shramsaathi.service.LocationTracker;
 
 import lombok.RequiredArgsConstructor;
 
 @Controller
 @RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
 public class LocationController {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final LocationTracker locationTracker;
 
     // Worker sends location updates to /app/location/{workerId}
     @MessageMapping("/location/{workerId}")
     public void receiveLocation(@DestinationVariable String workerId, LocationMessage msg) {
-        // Broadcast to subscribers on /topic/location/{workerId}
-        messagingTemplate.convertAndSend("/topic/location/" + workerId, msg);
+        // Stored as the worker's latest position; LocationTracker broadcasts to /topic/location/{workerId}
+        // on its next tick, rate-limited and without superseded or jitter-only fixes
+        locationTracker.update(workerId, msg);
     }
 
-    public static class LocationMessage {
-        public Long workerId;
-        public Double lat;
-        public Double lon;
-        public Long timestamp;
-
-        public LocationMessage() {}
-
-        public LocationMessage(Long workerId, Double lat, Double lon, Long timestamp) {
-            this.workerId = workerId;
-            this.lat = lat;
-            this.lon = lon;
-            this.timestamp = timestamp;
+    // ✅ GET last known position, so a new subscriber need not wait for the next broadcast
+    @GetMapping("/api/location/{workerId}")
+    public ResponseEntity<LocationMessage> getLastLocation(@PathVariable String workerId) {
+        LocationMessage latest = locationTracker.latest(workerId);
+        if (latest == null) {
+            throw new ResourceNotFoundException("No location for worker: " + workerId);
         }
+        return ResponseEntity.ok(latest);
+    }
 
-        // getters/setters if needed
+    // ✅ GET fan-out counters: received, sent, superseded, jitter, outOfOrder, workers
+    @GetMapping("/api/location/stats")
+    public ResponseEntity<Map<String, Long>> getStats() {
+        return ResponseEntity.ok(locationTracker.stats());
     }
 }
@@ -1,13 +1,17 @@
 
 package com.osi.shramsaathi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.dto.CursorPage;
 import com.osi.shramsaathi.dto.OwnerRequest;
 import com.osi.shramsaathi.dto.OwnerResponse;
 import com.osi.shramsaathi.service.OwnerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,7 +20,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OwnerController  {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final OwnerService ownerService;
+    private final ObjectMapper objectMapper;
 
     /** Register a new user */
     @PostMapping
@@ -31,6 +38,20 @@ public class OwnerController  {
         return ResponseEntity.ok(ownerService.getAllOwnerResponses());
     }
 
+    /** Keyset page: ?after=<id>&limit=<n> */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<OwnerResponse>> page(
+            @RequestParam(required = false) Long after,
+            @RequestParam int limit) {
+        return ResponseEntity.ok(ownerService.getOwnersPage(after, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)));
+    }
+
+    /** Stream all owners as NDJSON (Accept: application/x-ndjson) */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return NdjsonResponses.stream(objectMapper, ownerService::streamAllOwners);
+    }
+
     /** Search users by work type and district */
     // @GetMapping("/search")
     // public ResponseEntity<List<OwnerResponse>> search(
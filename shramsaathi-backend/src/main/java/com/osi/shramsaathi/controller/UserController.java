@@ -1,13 +1,17 @@
 
 package com.osi.shramsaathi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.dto.CursorPage;
 import com.osi.shramsaathi.dto.UserRequest;
 import com.osi.shramsaathi.dto.UserResponse;
 import com.osi.shramsaathi.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,7 +20,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     /** Register a new user */
     @PostMapping
@@ -31,6 +38,20 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    /** Keyset page: ?after=<id>&limit=<n> */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<UserResponse>> page(
+            @RequestParam(required = false) Long after,
+            @RequestParam int limit) {
+        return ResponseEntity.ok(userService.getUsersPage(after, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)));
+    }
+
+    /** Stream all users as NDJSON (Accept: application/x-ndjson) */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return NdjsonResponses.stream(objectMapper, userService::streamAllUsers);
+    }
+
     /** ⭐ FIX ADDED — Get user by ID */
     @GetMapping("/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
@@ -0,0 +1,18 @@
+package com.osi.shramsaathi.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Keyset-paginated slice of a list endpoint, ordered by id; the open-jobs feed is ordered by createdAt,
+// newest first, with nextAfter still a job id
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    // Pass back as ?after= to get the next page; null when this was the last page
+    private Long nextAfter;
+}
@@ -0,0 +1,13 @@
+package com.osi.shramsaathi.dto;
+
+import java.util.List;
+
+// A JSON array whose elements are already UTF-8 JSON; written as [e1,e2,...] by EncodedJsonArrayConverter
+public record EncodedJsonArray(List<byte[]> elements) {
+
+    public long contentLength() {
+        long length = 2 + Math.max(elements.size() - 1, 0);
+        for (byte[] element : elements) length += element.length;
+        return length;
+    }
+}
@@ -0,0 +1,24 @@
+package com.osi.shramsaathi.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of POST /api/jobs/import, one row per job line in upload order
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobImportReport {
+
+    /** line is 1-based in the upload; id is set for a created job, error for a rejected one. */
+    public record Row(int line, Long id, String error) {}
+
+    private int received;
+    private int created;
+    private int rejected;
+    // true when the upload had more than jobs.import.max-rows jobs; the rest was not read
+    private boolean truncated;
+    private List<Row> rows;
+}
@@ -2,6 +2,9 @@ package com.osi.shramsaathi.dto;
 
 import java.time.LocalDateTime;
 
+import com.osi.shramsaathi.model.GeocodeStatus;
+import com.osi.shramsaathi.model.JobStatus;
+
 public class JobResponse {
     private Long id;
     private Long ownerId;
@@ -10,7 +13,7 @@ public class JobResponse {
     private String location;
     private Double pay;
     private String duration;
-    private String status;
+    private JobStatus status;
     private LocalDateTime createdAt;
     private Integer pincode;
     private String area;
@@ -18,6 +21,32 @@ public class JobResponse {
     private String state;
     private Double latitude;
     private Double longitude;
+    private GeocodeStatus geocodeStatus;
+
+    public JobResponse() {
+    }
+
+    // JPQL constructor expression (JobRepository's list queries); same order as the fields
+    public JobResponse(Long id, Long ownerId, String title, String skillNeeded, String location, Double pay,
+                       String duration, JobStatus status, LocalDateTime createdAt, Integer pincode, String area,
+                       String colony, String state, Double latitude, Double longitude, GeocodeStatus geocodeStatus) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.title = title;
+        this.skillNeeded = skillNeeded;
+        this.location = location;
+        this.pay = pay;
+        this.duration = duration;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.pincode = pincode;
+        this.area = area;
+        this.colony = colony;
+        this.state = state;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.geocodeStatus = geocodeStatus;
+    }
 
     // getters and setters
     public Long getId() { return id; }
@@ -41,8 +70,8 @@ public class JobResponse {
     public String getDuration() { return duration; }
     public void setDuration(String duration) { this.duration = duration; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
@@ -64,4 +93,7 @@ public class JobResponse {
 
     public Double getLongitude() { return longitude; }
     public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public GeocodeStatus getGeocodeStatus() { return geocodeStatus; }
+    public void setGeocodeStatus(GeocodeStatus geocodeStatus) { this.geocodeStatus = geocodeStatus; }
 }
@@ -0,0 +1,20 @@
+package com.osi.shramsaathi.dto;
+
+// A worker GPS fix, as sent to /app/location/{workerId} and broadcast on /topic/location/{workerId}
+public class LocationMessage {
+    public Long workerId;
+    public Double lat;
+    public Double lon;
+    public Long timestamp;
+
+    public LocationMessage() {}
+
+    public LocationMessage(Long workerId, Double lat, Double lon, Long timestamp) {
+        this.workerId = workerId;
+        this.lat = lat;
+        this.lon = lon;
+        this.timestamp = timestamp;
+    }
+
+    // getters/setters if needed
+}
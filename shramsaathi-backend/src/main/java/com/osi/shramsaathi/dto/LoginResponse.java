@@ -0,0 +1,21 @@
+package com.osi.shramsaathi.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Returned by the login endpoints; send token back as "Authorization: Bearer <token>"
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoginResponse {
+    private String token;
+    private String role;
+    private Long id;
+    private String name;
+    private Instant expiresAt;
+}
@@ -0,0 +1,35 @@
+package com.osi.shramsaathi.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row of the worker's "My Applications" view: the application joined with its job. When the job is
+// gone its title reads "Job not found" and location, pay and duration are null (the dashboard shows its
+// own placeholders for those).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerApplicationView {
+    private Long id;
+    private Long workerId;
+    private String workerName;
+    private String workerSkill;
+    private String status;
+    private LocalDateTime appliedAt;
+    private Long jobId;
+    private String jobTitle;
+    private String location;
+    private Double pay;
+    private String duration;
+
+    // JPQL constructor expression; matchedJobId is null when the job row no longer exists
+    public WorkerApplicationView(Long id, Long workerId, String workerName, String workerSkill, String status,
+                                 LocalDateTime appliedAt, Long jobId, Long matchedJobId,
+                                 String jobTitle, String location, Double pay, String duration) {
+        this(id, workerId, workerName, workerSkill, status, appliedAt, jobId,
+                matchedJobId != null ? jobTitle : "Job not found", location, pay, duration);
+    }
+}
@@ -0,0 +1,27 @@
+package com.osi.shramsaathi.exception;
+
+import com.osi.shramsaathi.service.SessionTokenService.Role;
+
+// A phone number is already registered; the message tells the caller under which role
+public class DuplicateRegistrationException extends RuntimeException {
+
+    private final Role existing;
+
+    public DuplicateRegistrationException(Role existing, Role attempted) {
+        super(message(existing, attempted));
+        this.existing = existing;
+    }
+
+    public Role getExisting() {
+        return existing;
+    }
+
+    private static String message(Role existing, Role attempted) {
+        if (existing == attempted) {
+            return (existing == Role.WORKER ? "Worker" : "Owner") + " already registered with this phone number.";
+        }
+        return existing == Role.OWNER
+                ? "You are already registered as an Owner. You cannot register as a Worker again."
+                : "You are already registered as a Worker. You cannot register as an Owner again.";
+    }
+}
@@ -0,0 +1,7 @@
+package com.osi.shramsaathi.exception;
+
+// Transient geocoder failure (timeout, 5xx, rate limit) - the lookup should be retried later
+public class GeocodingException extends RuntimeException {
+    public GeocodingException(String msg) { super(msg); }
+    public GeocodingException(String msg, Throwable cause) { super(msg, cause); }
+}
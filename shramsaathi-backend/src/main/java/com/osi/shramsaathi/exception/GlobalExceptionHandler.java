@@ -1,5 +1,8 @@
 package com.osi.shramsaathi.exception;
 
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -11,6 +14,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(404).body(ex.getMessage());
     }
 
+    @ExceptionHandler(DuplicateRegistrationException.class)
+    public ResponseEntity<?> handleDuplicateRegistration(DuplicateRegistrationException ex) {
+        return ResponseEntity.status(409).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadRequest(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    // A bounded worker pool (e.g. login verification) is full; the client should back off and retry
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<?> handleOverloaded(RejectedExecutionException ex) {
+        return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1").body("Server busy, please retry");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleGeneral(Exception ex) {
         return ResponseEntity.status(500).body(ex.getMessage());
@@ -7,14 +7,26 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        // history pages: newest/older/newer than a message, in display order
+        @Index(name = "idx_chat_messages_app_created", columnList = "applicationId, createdAt"),
+        // reconnect delta: everything accepted after the last id a client has seen
+        @Index(name = "idx_chat_messages_app_id", columnList = "applicationId, id")
+})
 public class ChatMessage {
 
+    public static final int ALLOCATION_SIZE = 50;
+    public static final int CLIENT_MESSAGE_ID_LENGTH = 64;
+
+    // Pooled sequence; ChatMessageIdAllocator assigns ids on accept, before the message is broadcast
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_messages_seq")
+    @SequenceGenerator(name = "chat_messages_seq", sequenceName = "chat_messages_seq", allocationSize = ChatMessage.ALLOCATION_SIZE)
     private Long id;
 
     private Long senderId;    // user id who sent (worker or owner)
@@ -28,6 +40,10 @@ public class ChatMessage {
     @Column(name = "is_read")
     private Boolean read = false;
 
+    // Sender-generated id, used to drop the duplicate when a client sends over both WebSocket and REST
+    @Column(length = CLIENT_MESSAGE_ID_LENGTH)
+    private String clientMessageId;
+
     // Getters & setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -52,4 +68,7 @@ public class ChatMessage {
 
     public Boolean getRead() { return read; }
     public void setRead(Boolean read) { this.read = read; }
+
+    public String getClientMessageId() { return clientMessageId; }
+    public void setClientMessageId(String clientMessageId) { this.clientMessageId = clientMessageId; }
 }
@@ -0,0 +1,37 @@
+package com.osi.shramsaathi.model;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Unread chat messages per receiver and application, kept in step with chat_messages by ChatUnreadCounter
+@Entity
+@Table(name = "chat_unread_counts")
+@IdClass(ChatUnreadCount.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatUnreadCount {
+
+    @Id
+    private Long userId;
+
+    @Id
+    private Long applicationId;
+
+    private long unread;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long applicationId;
+    }
+}
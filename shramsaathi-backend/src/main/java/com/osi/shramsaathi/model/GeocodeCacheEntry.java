@@ -0,0 +1,32 @@
+package com.osi.shramsaathi.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Persistent copy of the geocode cache so restarts do not re-geocode known addresses
+@Entity
+@Table(name = "geocode_cache", indexes = @Index(name = "idx_geocode_cache_expires_at", columnList = "expiresAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeocodeCacheEntry {
+
+    // Normalized address key, see GeocodeAddress.cacheKey
+    @Id
+    @Column(length = 512)
+    private String cacheKey;
+
+    // Both null for a negative entry (the geocoder had no match)
+    private Double latitude;
+    private Double longitude;
+
+    private LocalDateTime expiresAt;
+}
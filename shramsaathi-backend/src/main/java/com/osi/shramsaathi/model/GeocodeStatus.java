@@ -0,0 +1,9 @@
+package com.osi.shramsaathi.model;
+
+// Where a job's coordinates stand in the background geocoding pipeline
+public enum GeocodeStatus {
+    PENDING,    // waiting for (or retrying) a geocoder lookup
+    RESOLVED,   // latitude/longitude are set
+    NOT_FOUND,  // geocoder had no match for the address; retried only if the address changes
+    FAILED      // gave up after repeated upstream errors; picked up again by the backfill sweep
+}
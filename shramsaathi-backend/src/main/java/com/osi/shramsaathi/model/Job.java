@@ -1,19 +1,41 @@
 package com.osi.shramsaathi.model;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "jobs")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "jobs")
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_owner_id", columnList = "ownerId"),
+        // "latest jobs with status X": equality on the code, then already in createdAt order
+        @Index(name = "idx_jobs_status_created", columnList = "status_code, createdAt")
+})
 public class Job {
 
+    public static final int ALLOCATION_SIZE = 50;
+
+    // Pooled sequence: one round trip reserves ALLOCATION_SIZE ids, so inserts can be batched
+    // (JobIdAllocator hands the same blocks to bulk import)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jobs_seq")
+    @SequenceGenerator(name = "jobs_seq", sequenceName = "jobs_seq", allocationSize = Job.ALLOCATION_SIZE)
     private Long id;
 
     private Long ownerId;
@@ -22,7 +44,10 @@ public class Job {
     private String location;
     private Double pay;
     private String duration;
-    private String status = "open";
+    // One byte per row; a new column, so the old varchar status is left unmapped (see JobStatus)
+    @Convert(converter = JobStatus.Codec.class)
+    @Column(name = "status_code", nullable = false)
+    private JobStatus status = JobStatus.OPEN;
     private Integer pincode;
     private String area;
     private String colony;
@@ -30,7 +55,14 @@ public class Job {
     private Double latitude;
     private Double longitude;
 
-    private LocalDateTime createdAt = LocalDateTime.now();
+    // Background geocoding state (see GeocodingWorker)
+    @Enumerated(EnumType.STRING)
+    private GeocodeStatus geocodeStatus;
+    private Integer geocodeAttempts = 0;
+    private LocalDateTime geocodeNextAttemptAt;
+
+    // Truncated to what the column stores, so a cached copy reads the same as the row
+    private LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
     // Getters and Setters
     public Long getId() {
@@ -130,10 +162,34 @@ public class Job {
         this.longitude = longitude;
     }
 
-    public String getStatus() {
+    public GeocodeStatus getGeocodeStatus() {
+        return geocodeStatus;
+    }
+
+    public void setGeocodeStatus(GeocodeStatus geocodeStatus) {
+        this.geocodeStatus = geocodeStatus;
+    }
+
+    public Integer getGeocodeAttempts() {
+        return geocodeAttempts;
+    }
+
+    public void setGeocodeAttempts(Integer geocodeAttempts) {
+        this.geocodeAttempts = geocodeAttempts;
+    }
+
+    public LocalDateTime getGeocodeNextAttemptAt() {
+        return geocodeNextAttemptAt;
+    }
+
+    public void setGeocodeNextAttemptAt(LocalDateTime geocodeNextAttemptAt) {
+        this.geocodeNextAttemptAt = geocodeNextAttemptAt;
+    }
+
+    public JobStatus getStatus() {
         return status;
     }
-    public void setStatus(String status) {
+    public void setStatus(JobStatus status) {
         this.status = status;
     }
 
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "job_applications")
+@Table(name = "job_applications", indexes = {
+        @Index(name = "idx_job_applications_job_worker", columnList = "jobId, workerId"),
+        @Index(name = "idx_job_applications_worker", columnList = "workerId")
+})
 public class JobApplication {
 
     @Id
@@ -0,0 +1,64 @@
+package com.osi.shramsaathi.model;
+
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Where a job stands for workers. Stored as a one-byte code (column status_code) and written to JSON in
+ * lower case ("open"), as the old free-text column was. Codes are part of the schema: never reuse or
+ * renumber one. OPEN is 0, so rows that predate the column read as open.
+ */
+public enum JobStatus {
+    OPEN(0),    // taking applications; listed in OpenJobFeed
+    FILLED(1),  // the owner took on a worker
+    CLOSED(2);  // withdrawn or expired
+
+    private final byte code;
+
+    JobStatus(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    @JsonValue
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    // Case-insensitive name, as sent by clients (?status=closed); unknown names are a bad request
+    @JsonCreator
+    public static JobStatus from(String value) {
+        for (JobStatus status : values()) {
+            if (status.name().equalsIgnoreCase(value == null ? "" : value.trim())) return status;
+        }
+        throw new IllegalArgumentException("Unknown job status: " + value);
+    }
+
+    public static JobStatus fromCode(byte code) {
+        for (JobStatus status : values()) {
+            if (status.code == code) return status;
+        }
+        throw new IllegalStateException("Unknown job status code: " + code);
+    }
+
+    @Converter
+    public static class Codec implements AttributeConverter<JobStatus, Byte> {
+        @Override
+        public Byte convertToDatabaseColumn(JobStatus status) {
+            return status == null ? null : status.code;
+        }
+
+        @Override
+        public JobStatus convertToEntityAttribute(Byte code) {
+            return code == null ? null : fromCode(code);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.osi.shramsaathi.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row per normalized phone number across workers and owners; the primary key is the uniqueness guard
+// that makes a phone registrable once, as either role (see PhoneRegistry)
+@Entity
+@Table(name = "registered_phones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegisteredPhone {
+
+    @Id
+    @Column(length = 15)
+    private String phone;
+
+    // WORKER or OWNER
+    @Column(nullable = false, length = 8)
+    private String role;
+
+    private Long accountId;
+}
@@ -0,0 +1,31 @@
+package com.osi.shramsaathi.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-worker application counters, kept in step with job_applications by JobApplicationService
+@Entity
+@Table(name = "worker_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkerStats {
+
+    @Id
+    private Long workerId;
+
+    @Builder.Default
+    private long applied = 0;
+    @Builder.Default
+    private long pending = 0;
+    @Builder.Default
+    private long accepted = 0;
+    @Builder.Default
+    private long rejected = 0;
+}
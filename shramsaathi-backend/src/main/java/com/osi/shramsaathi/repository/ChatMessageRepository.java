@@ -1,9 +1,48 @@
 package com.osi.shramsaathi.repository;
 
 import com.osi.shramsaathi.model.ChatMessage;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
     List<ChatMessage> findByApplicationIdOrderByCreatedAtAsc(Long applicationId);
-}
\ No newline at end of file
+
+    // Keyset pages over (createdAt, id); all served by idx_chat_messages_app_created
+
+    @Query("select m from ChatMessage m where m.applicationId = :app order by m.createdAt desc, m.id desc")
+    List<ChatMessage> findLatest(@Param("app") Long applicationId, Limit limit);
+
+    @Query("select m from ChatMessage m where m.applicationId = :app "
+            + "and (m.createdAt < :createdAt or (m.createdAt = :createdAt and m.id < :id)) "
+            + "order by m.createdAt desc, m.id desc")
+    List<ChatMessage> findBefore(@Param("app") Long applicationId,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Limit limit);
+
+    @Query("select m from ChatMessage m where m.applicationId = :app "
+            + "and (m.createdAt > :createdAt or (m.createdAt = :createdAt and m.id > :id)) "
+            + "order by m.createdAt asc, m.id asc")
+    List<ChatMessage> findAfter(@Param("app") Long applicationId,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Limit limit);
+
+    // Delta by id, assigned on accept; rows stored late (replayed from the chat spill file) keep theirs
+    List<ChatMessage> findByApplicationIdAndIdGreaterThanOrderByIdAsc(Long applicationId, Long id, Limit limit);
+
+    // Read receipts: one UPDATE for everything the user received in the chat up to a message id
+    @Modifying(clearAutomatically = true)
+    @Query("update ChatMessage m set m.read = true where m.applicationId = :app and m.receiverId = :user "
+            + "and m.id <= :upTo and m.read = false")
+    int markReadUpTo(@Param("app") Long applicationId, @Param("user") Long userId, @Param("upTo") Long upToId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update ChatMessage m set m.read = true where m.id = :id and m.read = false")
+    int markRead(@Param("id") Long id);
+}
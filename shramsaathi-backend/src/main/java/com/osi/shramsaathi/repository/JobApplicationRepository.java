@@ -1,7 +1,10 @@
 package com.osi.shramsaathi.repository;
 
+import com.osi.shramsaathi.dto.WorkerApplicationView;
 import com.osi.shramsaathi.model.JobApplication;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,6 +22,35 @@ public interface JobApplicationRepository extends JpaRepository<JobApplication,
     // ✅ Get all applications submitted by a specific worker
     List<JobApplication> findByWorkerId(Long workerId);
 
+    // ✅ Worker view: applications joined with their job in a single query
+    @Query("select new com.osi.shramsaathi.dto.WorkerApplicationView("
+            + "a.id, a.workerId, a.workerName, a.workerSkill, a.status, a.appliedAt, a.jobId, "
+            + "j.id, j.title, j.location, j.pay, j.duration) "
+            + "from JobApplication a left join Job j on j.id = a.jobId "
+            + "where a.workerId = :workerId order by a.id")
+    List<WorkerApplicationView> findWorkerApplicationViews(@Param("workerId") Long workerId);
+
     // 🚫 Prevent duplicate applications: find one if the same worker already applied to a job
     Optional<JobApplication> findByJobIdAndWorkerId(Long jobId, Long workerId);
+
+    // ✅ Application count for every job of an owner in one grouped query (jobs with none report 0)
+    @Query("select j.id as jobId, count(a.id) as applications from Job j "
+            + "left join JobApplication a on a.jobId = j.id "
+            + "where j.ownerId = :ownerId group by j.id")
+    List<JobApplicationCount> countApplicationsForOwner(@Param("ownerId") Long ownerId);
+
+    // ✅ Per-status totals for one worker (used once to seed worker_stats for existing workers)
+    @Query("select lower(a.status) as status, count(a.id) as total from JobApplication a "
+            + "where a.workerId = :workerId group by lower(a.status)")
+    List<StatusCount> countByStatusForWorker(@Param("workerId") Long workerId);
+
+    interface StatusCount {
+        String getStatus();
+        Long getTotal();
+    }
+
+    interface JobApplicationCount {
+        Long getJobId();
+        Long getApplications();
+    }
 }
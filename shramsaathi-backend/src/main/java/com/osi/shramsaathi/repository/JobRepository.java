@@ -1,17 +1,96 @@
 package com.osi.shramsaathi.repository;
 
+import com.osi.shramsaathi.dto.JobResponse;
+import com.osi.shramsaathi.model.GeocodeStatus;
 import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.model.JobStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
 
+    // List endpoints read only the response columns, straight into DTOs: no entities, no persistence context
+    String RESPONSE = "select new com.osi.shramsaathi.dto.JobResponse(j.id, j.ownerId, j.title, j.skillNeeded, "
+            + "j.location, j.pay, j.duration, j.status, j.createdAt, j.pincode, j.area, j.colony, j.state, "
+            + "j.latitude, j.longitude, j.geocodeStatus) from Job j ";
+
+    @Query(RESPONSE + "order by j.id")
+    List<JobResponse> findAllResponses();
+
+    @Query(RESPONSE + "where j.ownerId = :ownerId order by j.id")
+    List<JobResponse> findResponsesByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query(RESPONSE + "where j.id > :after order by j.id")
+    List<JobResponse> findResponsesAfter(@Param("after") Long after, Limit limit);
+
+    // Loads OpenJobFeed at startup; walks idx_jobs_status_created
+    @Query(RESPONSE + "where j.status = :status order by j.createdAt desc, j.id desc")
+    List<JobResponse> findResponsesByStatus(@Param("status") JobStatus status);
+
     // Custom finder methods
     List<Job> findByOwnerId(Long ownerId);
 
-    List<Job> findBySkillNeededContainingIgnoreCase(String skillNeeded);
+    List<Job> findByStatus(JobStatus status);
+
+    // Used to warm the in-memory spatial index at startup; kept out of the entity cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Job> findByLatitudeIsNotNullAndLongitudeIsNotNull();
+
+    // Newest jobs with the given status (second-level cache warm-up)
+    List<Job> findByStatusOrderByIdDesc(JobStatus status, Limit limit);
+
+    // Server-side cursor over all jobs; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            // full export: keep it from flushing the entity cache
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query(RESPONSE + "order by j.id")
+    Stream<JobResponse> streamAllResponses();
+
+    // Text fields fed to the in-memory skill search index at startup
+    interface SearchFields {
+        Long getId();
+        String getSkillNeeded();
+        String getTitle();
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select j.id as id, j.skillNeeded as skillNeeded, j.title as title from Job j")
+    Stream<SearchFields> streamSearchFields();
+
+    // Geocoding work queue: jobs whose next attempt is due, oldest first
+    @Query("select j from Job j where j.geocodeStatus = :status and j.geocodeNextAttemptAt <= :now order by j.geocodeNextAttemptAt")
+    List<Job> findGeocodingDue(@Param("status") GeocodeStatus status, @Param("now") LocalDateTime now, Limit limit);
+
+    // Row-locked reads for GeocodingWorker's guarded updates. The change then goes through the entities, so
+    // only these jobs' second-level cache entries are replaced; a bulk update would clear the whole region
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select j from Job j where j.id = :id")
+    Optional<Job> findForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select j from Job j where j.id in :ids")
+    List<Job> findAllForUpdate(@Param("ids") Collection<Long> ids);
 
-    List<Job> findByStatus(String status);
+    // Backfill candidates: no coordinates, and never geocoded or out of retries (re-checked under the row lock)
+    @Query("select j.id from Job j where j.id > :after and (j.latitude is null or j.longitude is null) "
+            + "and (j.geocodeStatus is null or j.geocodeStatus = com.osi.shramsaathi.model.GeocodeStatus.FAILED) "
+            + "order by j.id")
+    List<Long> findIdsMissingCoordinates(@Param("after") Long after, Limit limit);
 }
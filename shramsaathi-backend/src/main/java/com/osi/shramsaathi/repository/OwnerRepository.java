@@ -1,12 +1,42 @@
 package com.osi.shramsaathi.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import com.osi.shramsaathi.dto.OwnerResponse;
 import com.osi.shramsaathi.model.Owner;
 import com.osi.shramsaathi.model.User;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OwnerRepository extends JpaRepository<Owner, Long> {
+    // Login lookup: result ids in the query cache, rows in the entity cache; any write to the table invalidates it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Owner> findByName(String name);
     Optional<User> findByPhone(String name);
+
+    // List endpoints: the response columns only, so password hashes never leave the table
+    String RESPONSE = "select new com.osi.shramsaathi.dto.OwnerResponse(o.id, o.name, o.phone, o.address, "
+            + "o.businessName, o.district, o.mandal, o.pincode, o.registered) from Owner o ";
+
+    @Query(RESPONSE + "order by o.id")
+    List<OwnerResponse> findAllResponses();
+
+    @Query(RESPONSE + "where o.id > :after order by o.id")
+    List<OwnerResponse> findResponsesAfter(@Param("after") Long after, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            // full export: keep it from flushing the entity cache
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query(RESPONSE + "order by o.id")
+    Stream<OwnerResponse> streamAllResponses();
 }
@@ -1,10 +1,41 @@
 package com.osi.shramsaathi.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import com.osi.shramsaathi.dto.UserResponse;
 import com.osi.shramsaathi.model.User;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Login lookup: result ids in the query cache, rows in the entity cache; any write to the table invalidates it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByName(String name);
     Optional<User> findByPhone(String name);
+
+    // List endpoints: the response columns only, so password hashes never leave the table
+    String RESPONSE = "select new com.osi.shramsaathi.dto.UserResponse(u.id, u.name, u.phone, u.address, "
+            + "u.workType, u.district, u.mandal, u.pincode, u.registered, u.area, u.colony, u.state, u.age, "
+            + "u.experienceYears) from User u ";
+
+    @Query(RESPONSE + "order by u.id")
+    List<UserResponse> findAllResponses();
+
+    @Query(RESPONSE + "where u.id > :after order by u.id")
+    List<UserResponse> findResponsesAfter(@Param("after") Long after, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            // full export: keep it from flushing the entity cache
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query(RESPONSE + "order by u.id")
+    Stream<UserResponse> streamAllResponses();
 }
@@ -0,0 +1,18 @@
+package com.osi.shramsaathi.repository;
+
+import com.osi.shramsaathi.model.WorkerStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface WorkerStatsRepository extends JpaRepository<WorkerStats, Long> {
+
+    // Row lock so concurrent applications/status changes for one worker serialize their increments
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from WorkerStats s where s.workerId = :workerId")
+    Optional<WorkerStats> findForUpdate(@Param("workerId") Long workerId);
+}
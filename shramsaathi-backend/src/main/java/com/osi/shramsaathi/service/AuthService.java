@@ -1,15 +1,26 @@
 package com.osi.shramsaathi.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.osi.shramsaathi.dto.LoginResponse;
 import com.osi.shramsaathi.model.Owner;
 import com.osi.shramsaathi.model.User;
 import com.osi.shramsaathi.repository.OwnerRepository;
 import com.osi.shramsaathi.repository.UserRepository;
 
+import jakarta.annotation.PreDestroy;
+
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Service
 public class AuthService {
@@ -20,67 +31,125 @@ public class AuthService {
     @Autowired
     private OwnerRepository ownerRepository;
 
+    @Autowired
+    private SessionTokenService tokenService;
+
+    @Autowired
+    private PhoneRegistry phoneRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
-    // Register Worker (User)
+    // Password checks (lookup + BCrypt) run here, not on request threads. Pool and queue are bounded,
+    // so a login storm gets 503s (RejectedExecutionException) instead of tying up Tomcat's threads.
+    private final ThreadPoolExecutor verifyExecutor;
+
+    public AuthService(@Value("${auth.bcrypt.threads:0}") int threads,
+                       @Value("${auth.bcrypt.queue:64}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        this.verifyExecutor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "bcrypt-verify-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        verifyExecutor.shutdownNow();
+    }
+
+    // Register Worker (User); throws DuplicateRegistrationException if the phone is taken by a worker or owner
     public String registerUser(User user) {
+        String phone = requirePhone(user.getPhone());
+        phoneRegistry.requireFree(phone, SessionTokenService.Role.WORKER);
         String randomPassword = PasswordGenerator.generate();
         String encodedPassword = passwordEncoder.encode(randomPassword);
 
-        userRepository.save(
-                User.builder()
-                        .name(user.getName())
-                        .phone(user.getPhone())
-                        .address(user.getAddress())
-                        .workType(user.getWorkType())
-                        .district(user.getDistrict())
-                        .mandal(user.getMandal())
-                        .pincode(user.getPincode())
-                        .password(encodedPassword) 
-                        .registered(true)
-                        .build()
-        );
+        // account and phone claim commit together; a concurrent sign-up with the same phone rolls back here
+        transactionTemplate.executeWithoutResult(tx -> {
+            User saved = userRepository.save(
+                    User.builder()
+                            .name(user.getName())
+                            .phone(user.getPhone())
+                            .address(user.getAddress())
+                            .workType(user.getWorkType())
+                            .district(user.getDistrict())
+                            .mandal(user.getMandal())
+                            .pincode(user.getPincode())
+                            .password(encodedPassword) 
+                            .registered(true)
+                            .build()
+            );
+            phoneRegistry.claim(phone, SessionTokenService.Role.WORKER, saved.getId());
+        });
 
         return randomPassword;
     }
 
     // Register Owner
     public String registerOwner(Owner owner) {
+        String phone = requirePhone(owner.getPhone());
+        phoneRegistry.requireFree(phone, SessionTokenService.Role.OWNER);
         String randomPassword = PasswordGenerator.generate();
         String encodedPassword = passwordEncoder.encode(randomPassword);
 
-        ownerRepository.save(
-                Owner.builder()
-                        .name(owner.getName())
-                        .phone(owner.getPhone())
-                        .address(owner.getAddress())
-                        .businessName(owner.getBusinessName())
-                        .district(owner.getDistrict())
-                        .mandal(owner.getMandal())
-                        .pincode(owner.getPincode())
-                        .password(encodedPassword)  
-                        .registered(true)
-                        .build()
-        );
+        transactionTemplate.executeWithoutResult(tx -> {
+            Owner saved = ownerRepository.save(
+                    Owner.builder()
+                            .name(owner.getName())
+                            .phone(owner.getPhone())
+                            .address(owner.getAddress())
+                            .businessName(owner.getBusinessName())
+                            .district(owner.getDistrict())
+                            .mandal(owner.getMandal())
+                            .pincode(owner.getPincode())
+                            .password(encodedPassword)  
+                            .registered(true)
+                            .build()
+            );
+            phoneRegistry.claim(phone, SessionTokenService.Role.OWNER, saved.getId());
+        });
 
         return randomPassword;
     }
 
-    // Worker Login
-    public boolean loginUser(String name, String password) {
-        Optional<User> userOpt = userRepository.findByName(name);
-        if (userOpt.isEmpty()) return false;
+    private static String requirePhone(String phone) {
+        String normalized = PhoneRegistry.normalize(phone);
+        if (normalized == null) throw new IllegalArgumentException("Invalid phone number: " + phone);
+        return normalized;
+    }
 
-        User user = userOpt.get();
-        return passwordEncoder.matches(password, user.getPassword());
+    // Worker Login: completes with a signed session token, or null for bad credentials
+    public CompletableFuture<LoginResponse> loginUser(String name, String password) {
+        return verify(() -> userRepository.findByName(name)
+                .filter(user -> passwordEncoder.matches(password, user.getPassword()))
+                .map(user -> session(SessionTokenService.Role.WORKER, user.getId(), user.getName())));
     }
 
-    // Owner Login
-    public boolean loginOwner(String name, String password) {
-        Optional<Owner> ownerOpt = ownerRepository.findByName(name);
-        if (ownerOpt.isEmpty()) return false;
+    // Owner Login: completes with a signed session token, or null for bad credentials
+    public CompletableFuture<LoginResponse> loginOwner(String name, String password) {
+        return verify(() -> ownerRepository.findByName(name)
+                .filter(owner -> passwordEncoder.matches(password, owner.getPassword()))
+                .map(owner -> session(SessionTokenService.Role.OWNER, owner.getId(), owner.getName())));
+    }
+
+    private CompletableFuture<LoginResponse> verify(Supplier<Optional<LoginResponse>> check) {
+        return CompletableFuture.supplyAsync(() -> check.get().orElse(null), verifyExecutor);
+    }
 
-        Owner owner = ownerOpt.get();
-        return passwordEncoder.matches(password, owner.getPassword());
+    private LoginResponse session(SessionTokenService.Role role, Long id, String name) {
+        String token = tokenService.issue(role, id);
+        return LoginResponse.builder()
+                .token(token)
+                .role(role.name())
+                .id(id)
+                .name(name)
+                .expiresAt(tokenService.verify(token).expiresAt())
+                .build();
     }
 }
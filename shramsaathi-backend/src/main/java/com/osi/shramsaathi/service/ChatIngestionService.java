@@ -0,0 +1,492 @@
+package com.osi.shramsaathi.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.osi.shramsaathi.model.ChatMessage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single entry point for chat messages from /app/chat (STOMP) and POST /api/chat.
+ * A message gets its id (ChatMessageIdAllocator) and is broadcast to /topic/chat/{applicationId} as soon
+ * as it is accepted, then queued;
+ * a writer thread persists the queue as JDBC batch inserts (every {@code flush-ms} or
+ * {@code batch-size} messages). When the queue is full or an insert fails, messages are appended to
+ * a local NDJSON spill file, which the writer replays once the database keeps up again.
+ * The queue is drained on shutdown. Until its row is committed a message is listed by {@link #unpersisted},
+ * spilled ones included, so readers see every accepted message.
+ * Clients that send the same message over both paths with a clientMessageId get it broadcast and stored
+ * once; messages without one are never deduplicated (ChatWebSocketController leaves those to REST).
+ */
+@Slf4j
+@Service
+public class ChatIngestionService {
+
+    static final String TOPIC_PREFIX = "/topic/chat/";
+    private static final String INSERT_SQL = "insert into chat_messages "
+            + "(id, sender_id, receiver_id, application_id, message, sent_at, created_at, is_read, client_message_id) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final long REPLAY_CHECK_MS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ChatMessageIdAllocator idAllocator;
+    private final ChatUnreadCounter unreadCounter;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long flushMs;
+    private final BlockingQueue<ChatMessage> queue;
+    // recently accepted messages by clientMessageId key; the value is what the first copy was answered with
+    private final Cache<String, ChatMessage> recent;
+    private final Path spillFile;
+    private final Path replayFile;
+    // rows the database refused on replay; kept for an operator, never retried
+    private final Path deadLetterFile;
+    // not synchronized: spill() runs on request threads and does synced file I/O, which would pin a virtual thread
+    private final ReentrantLock spillLock = new ReentrantLock();
+    // an id is handed out and its message listed as unwritten (and as recent) in one step, so a reader that
+    // has seen an id can also see every lower id of this node, and a retry never sees a message without its id
+    private final ReentrantLock acceptLock = new ReentrantLock();
+    // read receipts for unwritten messages vs. their insert (see insert)
+    private final ReentrantLock receiptLock = new ReentrantLock();
+
+    private volatile boolean running;
+    // accepted but not yet committed to the table (queued, batching, being inserted or spilled), by id
+    private final Map<Long, ChatMessage> unwritten = new ConcurrentHashMap<>();
+    private Thread writer;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    public ChatIngestionService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ChatMessageIdAllocator idAllocator,
+                                ChatUnreadCounter unreadCounter,
+                                SimpMessagingTemplate messagingTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${chat.persist.queue-capacity:10000}") int queueCapacity,
+                                @Value("${chat.persist.batch-size:200}") int batchSize,
+                                @Value("${chat.persist.flush-ms:20}") long flushMs,
+                                @Value("${chat.dedup.window-ms:10000}") long dedupWindowMs,
+                                @Value("${chat.persist.spill-dir:./data/chat-spill}") String spillDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.idAllocator = idAllocator;
+        this.unreadCounter = unreadCounter;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.flushMs = flushMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.recent = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(dedupWindowMs))
+                .maximumSize(Math.max(queueCapacity, 10_000))
+                .build();
+        this.spillFile = Path.of(spillDir, "chat-messages.ndjson");
+        this.replayFile = Path.of(spillDir, "chat-messages.replaying.ndjson");
+        this.deadLetterFile = Path.of(spillDir, "chat-messages.dead.ndjson");
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(spillFile.getParent());
+        // spilled before a restart: listed again until replayed
+        for (Path file : List.of(replayFile, spillFile)) {
+            for (ChatMessage m : readSpill(file)) {
+                if (m.getId() != null) unwritten.put(m.getId(), m);
+            }
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "chat-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Accepts a message: stamps server-side fields, broadcasts it and queues it for persistence.
+     * Returns the message as broadcast; for a repeated clientMessageId, the copy accepted first (nothing is re-sent).
+     * A clientMessageId longer than its column is a bad request: the row could never be stored.
+     */
+    public ChatMessage accept(ChatMessage message) {
+        if (message.getClientMessageId() != null
+                && message.getClientMessageId().length() > ChatMessage.CLIENT_MESSAGE_ID_LENGTH) {
+            throw new IllegalArgumentException(
+                    "clientMessageId longer than " + ChatMessage.CLIENT_MESSAGE_ID_LENGTH + " characters");
+        }
+        // millisecond precision, so a queued copy compares equal to the row read back from the table
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        message.setSentAt(message.getSentAt() == null ? now : message.getSentAt().truncatedTo(ChronoUnit.MILLIS));
+        message.setCreatedAt(now);
+        message.setRead(false);
+
+        String key = dedupKey(message);
+        acceptLock.lock();
+        try {
+            ChatMessage first = key == null ? null : recent.getIfPresent(key);
+            if (first != null) {
+                duplicates.incrementAndGet();
+                return first;
+            }
+            // the id is set before a retry can find the message in recent
+            message.setId(idAllocator.next());
+            if (key != null) recent.put(key, message);
+            unwritten.put(message.getId(), message);
+        } finally {
+            acceptLock.unlock();
+        }
+        accepted.incrementAndGet();
+        try {
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + message.getApplicationId(), message);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast chat message: {}", e.getMessage());
+        }
+        if (!running || !queue.offer(message)) {
+            // database is not keeping up (or we are shutting down): keep it on disk instead of dropping it
+            spill(List.of(message));
+        }
+        return message;
+    }
+
+    /**
+     * Accepted messages for the application that may not be in the table yet.
+     * Read this before querying the table: a message leaves this set only once its batch has committed,
+     * so it is always in one or the other.
+     */
+    public List<ChatMessage> unpersisted(Long applicationId) {
+        List<ChatMessage> out = new ArrayList<>();
+        for (ChatMessage m : unwritten.values()) {
+            if (Objects.equals(m.getApplicationId(), applicationId)) out.add(m);
+        }
+        return out;
+    }
+
+    // Null without a clientMessageId: the same text sent twice ("ok", "ok") is two messages
+    private static String dedupKey(ChatMessage m) {
+        if (!hasClientMessageId(m)) return null;
+        return m.getApplicationId() + "|" + m.getSenderId() + "|" + m.getClientMessageId();
+    }
+
+    public static boolean hasClientMessageId(ChatMessage m) {
+        return m.getClientMessageId() != null && !m.getClientMessageId().isBlank();
+    }
+
+    private void runWriter() {
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        long nextReplayCheck = 0;
+        while (running) {
+            try {
+                if (System.currentTimeMillis() >= nextReplayCheck) {
+                    replaySpill();
+                    nextReplayCheck = System.currentTimeMillis() + REPLAY_CHECK_MS;
+                }
+                ChatMessage head = queue.poll(flushMs, TimeUnit.MILLISECONDS);
+                if (head == null) continue;
+                batch.add(head);
+                // gather until the batch is full or flush-ms has passed since its first message
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || wait <= 0) break;
+                    ChatMessage next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Chat writer failed; {} messages spilled", batch.size(), e);
+                spill(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) spill(batch);
+    }
+
+    private void write(List<ChatMessage> batch) {
+        try {
+            insert(batch);
+            persisted.addAndGet(batch.size());
+        } catch (DataAccessException e) {
+            log.warn("Chat batch insert of {} messages failed, spilling to {}: {}", batch.size(), spillFile, e.getMessage());
+            spill(batch);
+        }
+    }
+
+    // Rows and unread counters commit together. Holds receiptLock until the rows have left unwritten, so a
+    // read receipt finds each message either still unwritten or committed, never in between
+    private void insert(List<ChatMessage> batch) {
+        receiptLock.lock();
+        try {
+            insertLocked(batch);
+        } finally {
+            receiptLock.unlock();
+        }
+    }
+
+    private void insertLocked(List<ChatMessage> batch) {
+        for (ChatMessage m : batch) {
+            // a replayed copy takes the read flag its accepted original got meanwhile
+            ChatMessage live = unwritten.get(m.getId());
+            if (live != null && Boolean.TRUE.equals(live.getRead())) m.setRead(true);
+        }
+        transaction.executeWithoutResult(tx -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, m) -> {
+                ps.setLong(1, m.getId());
+                setLong(ps, 2, m.getSenderId());
+                setLong(ps, 3, m.getReceiverId());
+                setLong(ps, 4, m.getApplicationId());
+                ps.setString(5, m.getMessage());
+                ps.setTimestamp(6, m.getSentAt() == null ? null : Timestamp.valueOf(m.getSentAt()));
+                ps.setTimestamp(7, m.getCreatedAt() == null ? null : Timestamp.valueOf(m.getCreatedAt()));
+                ps.setBoolean(8, Boolean.TRUE.equals(m.getRead()));
+                ps.setString(9, m.getClientMessageId());
+            });
+            unreadCounter.messagesStored(batch);
+        });
+        batches.incrementAndGet();
+        batch.forEach(m -> unwritten.remove(m.getId()));
+    }
+
+    /**
+     * Read receipt for the messages {@code receiverId} got in the application up to {@code upToId} that are
+     * not written yet: they are stored as read, so they never count as unread. Returns how many were marked.
+     */
+    public int markUnwrittenRead(Long applicationId, Long receiverId, long upToId) {
+        return markUnwrittenRead(m -> Objects.equals(m.getApplicationId(), applicationId)
+                && Objects.equals(m.getReceiverId(), receiverId) && m.getId() <= upToId);
+    }
+
+    // Same for one message; false if it is not waiting to be written
+    public boolean markUnwrittenRead(Long messageId) {
+        return markUnwrittenRead(m -> m.getId().equals(messageId)) > 0;
+    }
+
+    private int markUnwrittenRead(Predicate<ChatMessage> which) {
+        receiptLock.lock();
+        try {
+            int marked = 0;
+            for (ChatMessage m : unwritten.values()) {
+                if (which.test(m) && !Boolean.TRUE.equals(m.getRead())) {
+                    m.setRead(true);
+                    marked++;
+                }
+            }
+            return marked;
+        } finally {
+            receiptLock.unlock();
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) ps.setNull(index, Types.BIGINT);
+        else ps.setLong(index, value);
+    }
+
+    // Appends messages to the spill file, synced to disk before returning; they stay listed as unwritten
+    private void spill(List<ChatMessage> messages) {
+        if (messages.isEmpty()) return;
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (ChatMessage m : messages) lines.append(objectMapper.writeValueAsString(m)).append('\n');
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Chat message not serializable", e);
+        }
+        spillLock.lock();
+        try {
+            Files.writeString(spillFile, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spill chat messages to " + spillFile, e);
+        } finally {
+            spillLock.unlock();
+        }
+        spilled.addAndGet(messages.size());
+    }
+
+    private List<ChatMessage> readSpill(Path file) throws IOException {
+        List<ChatMessage> out = new ArrayList<>();
+        if (!Files.exists(file)) return out;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) out.add(objectMapper.readValue(line, ChatMessage.class));
+        }
+        return out;
+    }
+
+    /**
+     * Moves the spill file aside and inserts it in batches. A batch that fails is retried one row at a
+     * time: a row the database rejects is moved to the dead-letter file, and on any other failure the
+     * rows not yet written are left in the replay file for the next attempt, so nothing is inserted twice
+     * and one bad row cannot hold up the rest.
+     */
+    void replaySpill() {
+        spillLock.lock();
+        try {
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(spillFile)) return;
+                try {
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.warn("Could not move chat spill file aside: {}", e.getMessage());
+                    return;
+                }
+            }
+        } finally {
+            spillLock.unlock();
+        }
+        List<String> lines = new ArrayList<>(batchSize);
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                lines.add(line);
+                ChatMessage m = objectMapper.readValue(line, ChatMessage.class);
+                // spilled before messages got their id on accept
+                if (m.getId() == null) m.setId(idAllocator.next());
+                batch.add(m);
+                if (batch.size() == batchSize) {
+                    if (!replayBatch(batch, lines, reader)) return;
+                }
+            }
+            if (!batch.isEmpty() && !replayBatch(batch, lines, reader)) return;
+        } catch (IOException e) {
+            log.warn("Could not read chat spill file {}: {}", replayFile, e.getMessage());
+            return;
+        }
+        try {
+            Files.deleteIfExists(replayFile);
+        } catch (IOException e) {
+            log.warn("Could not delete replayed chat spill file: {}", e.getMessage());
+        }
+    }
+
+    private boolean replayBatch(List<ChatMessage> batch, List<String> lines, BufferedReader rest) throws IOException {
+        try {
+            insert(batch);
+            persisted.addAndGet(batch.size());
+            replayed.addAndGet(batch.size());
+            batch.clear();
+            lines.clear();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Replaying a chat spill batch of {} failed, retrying row by row: {}", batch.size(), e.getMessage());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            ChatMessage m = batch.get(i);
+            try {
+                insert(List.of(m));
+                persisted.incrementAndGet();
+                replayed.incrementAndGet();
+            } catch (DuplicateKeyException e) {
+                // stored by an earlier attempt whose progress was not saved
+                unwritten.remove(m.getId());
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Chat message {} rejected by the database, moved to {}: {}", m.getId(), deadLetterFile, e.getMessage());
+                deadLetter(lines.get(i));
+                unwritten.remove(m.getId());
+            } catch (RuntimeException e) {
+                log.warn("Replaying chat spill failed, will retry: {}", e.getMessage());
+                keepForRetry(lines.subList(i, lines.size()), rest);
+                return false;
+            }
+        }
+        batch.clear();
+        lines.clear();
+        return true;
+    }
+
+    // Rewrites the replay file as the given lines plus everything not read yet
+    private void keepForRetry(List<String> lines, BufferedReader rest) throws IOException {
+        Path tmp = replayFile.resolveSibling(replayFile.getFileName() + ".tmp");
+        try (var out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (String l : lines) out.write(l + "\n");
+            String l;
+            while ((l = rest.readLine()) != null) out.write(l + "\n");
+        }
+        Files.move(tmp, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deadLetter(String line) throws IOException {
+        Files.writeString(deadLetterFile, line + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        deadLettered.incrementAndGet();
+    }
+
+    /** Stops the writer and writes out whatever is still queued (to the table, or the spill file). */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) writer.join(TimeUnit.SECONDS.toMillis(10));
+        List<ChatMessage> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += batchSize) {
+            write(rest.subList(i, Math.min(i + batchSize, rest.size())));
+        }
+        log.info("Chat writer stopped: {} messages written on shutdown", rest.size());
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> out = new LinkedHashMap<>();
+        out.put("accepted", accepted.get());
+        out.put("duplicates", duplicates.get());
+        out.put("persisted", persisted.get());
+        out.put("batches", batches.get());
+        out.put("spilled", spilled.get());
+        out.put("replayed", replayed.get());
+        out.put("deadLettered", deadLettered.get());
+        out.put("queued", (long) queue.size());
+        return out;
+    }
+}
@@ -0,0 +1,46 @@
+package com.osi.shramsaathi.service;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.osi.shramsaathi.model.ChatMessage;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Chat message ids, handed out when a message is accepted so its broadcast already carries the id it is
+ * stored under. Drawn from the pooled chat_messages_seq generator Hibernate uses for ChatMessage, so one
+ * sequence call covers {@link ChatMessage#ALLOCATION_SIZE} messages. Chat messages used to have IDENTITY
+ * ids; at startup the sequence is moved past max(id) (SequenceFloor).
+ */
+@Component
+public class ChatMessageIdAllocator implements SmartInitializingSingleton {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChatMessageIdAllocator(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // The sequence is read on a connection of its own, once per block
+    public long next() {
+        IdentifierGenerator generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(ChatMessage.class).getGenerator();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+        }
+    }
+
+    // Runs before the web server starts, so before any message is accepted
+    @Override
+    public void afterSingletonsInstantiated() {
+        SequenceFloor.raise(jdbcTemplate, "chat_messages", "chat_messages_seq", ChatMessage.ALLOCATION_SIZE);
+    }
+}
@@ -1,32 +1,138 @@
 package com.osi.shramsaathi.service;
 
+import com.osi.shramsaathi.exception.ResourceNotFoundException;
 import com.osi.shramsaathi.model.ChatMessage;
 import com.osi.shramsaathi.repository.ChatMessageRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
 public class ChatService {
-    
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_DELTA_SIZE = 1000;
+
     private final ChatMessageRepository chatMessageRepository;
+    private final ChatIngestionService chatIngestion;
+    private final ChatUnreadCounter unreadCounter;
 
     public ChatMessage saveMessage(ChatMessage message) {
-        message.setCreatedAt(LocalDateTime.now());
-        message.setRead(false);
-        return chatMessageRepository.save(message);
+        return chatIngestion.accept(message);
+    }
+
+    // Display order: (createdAt, id), as the keyset queries
+    private static final Comparator<ChatMessage> OLDEST_FIRST = Comparator
+            .comparing(ChatMessage::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(ChatMessage::getId);
+
+    /**
+     * One page of a conversation, oldest first.
+     * With neither cursor: the newest {@code limit} messages.
+     * {@code before}/{@code after} are message ids; the page holds the messages just older/newer than it.
+     * Every page includes accepted messages not yet written, and a cursor may be one of them (broadcasts
+     * carry the id the message is stored under).
+     */
+    @Transactional(readOnly = true)
+    public List<ChatMessage> getMessagesByApplicationId(Long applicationId, Long before, Long after, int limit) {
+        // snapshot unwritten messages first, so one committed in between shows up in the table read
+        List<ChatMessage> pending = chatIngestion.unpersisted(applicationId);
+        if (before != null) {
+            ChatMessage cursor = cursor(applicationId, before, pending);
+            List<ChatMessage> page = merge(chatMessageRepository.findBefore(
+                    applicationId, cursor.getCreatedAt(), cursor.getId(), Limit.of(limit)),
+                    pending, m -> OLDEST_FIRST.compare(m, cursor) < 0, OLDEST_FIRST.reversed(), limit);
+            Collections.reverse(page);
+            return page;
+        }
+        if (after != null) {
+            ChatMessage cursor = cursor(applicationId, after, pending);
+            return merge(chatMessageRepository.findAfter(applicationId, cursor.getCreatedAt(), cursor.getId(), Limit.of(limit)),
+                    pending, m -> OLDEST_FIRST.compare(m, cursor) > 0, OLDEST_FIRST, limit);
+        }
+        List<ChatMessage> page = merge(chatMessageRepository.findLatest(applicationId, Limit.of(limit)),
+                pending, m -> true, OLDEST_FIRST.reversed(), limit);
+        Collections.reverse(page);
+        return page;
+    }
+
+    /**
+     * Reconnect delta: messages accepted after the given id, in id order, unwritten ones included.
+     * Ids come in per-node blocks, so the delta is exact for messages accepted by this node; live
+     * messages from other nodes arrive through the cluster relay.
+     */
+    @Transactional(readOnly = true)
+    public List<ChatMessage> getMessagesSince(Long applicationId, Long sinceId, int limit) {
+        List<ChatMessage> pending = chatIngestion.unpersisted(applicationId);
+        return merge(chatMessageRepository.findByApplicationIdAndIdGreaterThanOrderByIdAsc(applicationId, sinceId, Limit.of(limit)),
+                pending, m -> m.getId() > sinceId, Comparator.comparing(ChatMessage::getId), limit);
     }
 
-    public List<ChatMessage> getMessagesByApplicationId(Long applicationId) {
-        return chatMessageRepository.findByApplicationIdOrderByCreatedAtAsc(applicationId);
+    // Table rows plus the wanted unwritten messages not among them, sorted, cut to limit
+    private static List<ChatMessage> merge(List<ChatMessage> rows, List<ChatMessage> pending,
+                                           Predicate<ChatMessage> wanted, Comparator<ChatMessage> order, int limit) {
+        if (pending.isEmpty()) return new ArrayList<>(rows);
+        Map<Long, ChatMessage> byId = new HashMap<>();
+        for (ChatMessage m : rows) byId.put(m.getId(), m);
+        for (ChatMessage p : pending) {
+            if (wanted.test(p)) byId.putIfAbsent(p.getId(), p);
+        }
+        List<ChatMessage> merged = new ArrayList<>(byId.values());
+        merged.sort(order);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
     }
 
+    private ChatMessage cursor(Long applicationId, Long messageId, List<ChatMessage> pending) {
+        for (ChatMessage p : pending) {
+            if (p.getId().equals(messageId)) return p;
+        }
+        return chatMessageRepository.findById(messageId)
+                .filter(m -> Objects.equals(m.getApplicationId(), applicationId))
+                .orElseThrow(() -> new ResourceNotFoundException("Message not found: " + messageId));
+    }
+
+    // A message not written yet is flagged instead: it is stored as read and never counted unread
+    @Transactional
     public void markAsRead(Long messageId) {
+        if (chatIngestion.markUnwrittenRead(messageId)) return;
         chatMessageRepository.findById(messageId).ifPresent(message -> {
-            message.setRead(true);
-            chatMessageRepository.save(message);
+            if (chatMessageRepository.markRead(messageId) == 1 && message.getReceiverId() != null) {
+                unreadCounter.messagesRead(message.getReceiverId(), message.getApplicationId(), 1);
+            }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Marks every message the user received in the application up to (and including) the id as read,
+     * accepted messages not written yet included. Those are flagged first: each is then either stored as
+     * read or already committed, where the UPDATE finds it.
+     */
+    @Transactional
+    public int markReadUpTo(Long applicationId, Long userId, Long upToId) {
+        int unwritten = chatIngestion.markUnwrittenRead(applicationId, userId, upToId);
+        int marked = chatMessageRepository.markReadUpTo(applicationId, userId, upToId);
+        unreadCounter.messagesRead(userId, applicationId, marked);
+        return unwritten + marked;
+    }
+
+    public long getUnreadCount(Long userId, Long applicationId) {
+        return unreadCounter.unread(userId, applicationId);
+    }
+
+    public Map<Long, Long> getUnreadCounts(Long userId) {
+        return unreadCounter.unreadByApplication(userId);
+    }
+}
@@ -0,0 +1,122 @@
+package com.osi.shramsaathi.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.osi.shramsaathi.model.ChatMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-receiver, per-application unread counters in chat_unread_counts.
+ * Increments run in the chat writer's insert transaction and decrements in the mark-read
+ * transaction, so a badge is a primary-key read instead of a COUNT(*) over chat_messages.
+ * A missing row is seeded from chat_messages the first time it is touched.
+ * Messages without a receiverId are not counted (nobody to show the badge to).
+ */
+@Slf4j
+@Component
+public class ChatUnreadCounter {
+
+    private static final String INCREMENT_SQL =
+            "update chat_unread_counts set unread = unread + ? where user_id = ? and application_id = ?";
+    private static final String DECREMENT_SQL =
+            "update chat_unread_counts set unread = case when unread > ? then unread - ? else 0 end "
+                    + "where user_id = ? and application_id = ?";
+    // seed counts committed rows plus those written earlier in the current transaction
+    private static final String SEED_SQL =
+            "insert into chat_unread_counts (user_id, application_id, unread) "
+                    + "select ?, ?, count(*) from chat_messages "
+                    + "where receiver_id = ? and application_id = ? and is_read = false";
+    private static final String BACKFILL_SQL =
+            "insert into chat_unread_counts (user_id, application_id, unread) "
+                    + "select m.receiver_id, m.application_id, count(*) from chat_messages m "
+                    + "where m.is_read = false and m.receiver_id is not null and m.application_id is not null "
+                    + "and not exists (select 1 from chat_unread_counts c "
+                    + "where c.user_id = m.receiver_id and c.application_id = m.application_id) "
+                    + "group by m.receiver_id, m.application_id";
+
+    private record Key(Long userId, Long applicationId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChatUnreadCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Counters for conversations that existed before the table did
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int rows = jdbcTemplate.update(BACKFILL_SQL);
+            if (rows > 0) log.info("Seeded {} chat unread counters", rows);
+        } catch (DataIntegrityViolationException e) {
+            // a counter was created concurrently; those rows are seeded on first use instead
+            log.debug("Chat unread backfill skipped: {}", e.getMessage());
+        }
+    }
+
+    /** Counts just-inserted messages; must run in the transaction that inserted them. */
+    public void messagesStored(List<ChatMessage> messages) {
+        Map<Key, Long> deltas = messages.stream()
+                .filter(m -> m.getReceiverId() != null && m.getApplicationId() != null)
+                .filter(m -> !Boolean.TRUE.equals(m.getRead()))
+                .collect(Collectors.groupingBy(m -> new Key(m.getReceiverId(), m.getApplicationId()),
+                        LinkedHashMap::new, Collectors.counting()));
+        // one statement per (receiver, application) in the batch, not per message
+        deltas.forEach((key, delta) -> {
+            int updated = jdbcTemplate.update(INCREMENT_SQL, delta, key.userId(), key.applicationId());
+            if (updated == 0 && !seed(key.userId(), key.applicationId())) {
+                // lost the seed race: the winner could not see our uncommitted rows
+                jdbcTemplate.update(INCREMENT_SQL, delta, key.userId(), key.applicationId());
+            }
+        });
+    }
+
+    /** Takes {@code read} messages off the counter; must run in the transaction that marked them. */
+    public void messagesRead(Long userId, Long applicationId, int read) {
+        if (read <= 0) return;
+        jdbcTemplate.update(DECREMENT_SQL, read, read, userId, applicationId);
+    }
+
+    public long unread(Long userId, Long applicationId) {
+        List<Long> found = jdbcTemplate.queryForList(
+                "select unread from chat_unread_counts where user_id = ? and application_id = ?",
+                Long.class, userId, applicationId);
+        if (!found.isEmpty()) return found.get(0);
+        seed(userId, applicationId);
+        return jdbcTemplate.queryForObject(
+                "select unread from chat_unread_counts where user_id = ? and application_id = ?",
+                Long.class, userId, applicationId);
+    }
+
+    /** Non-zero unread counts of a user, by application id. */
+    public Map<Long, Long> unreadByApplication(Long userId) {
+        Map<Long, Long> out = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "select application_id, unread from chat_unread_counts where user_id = ? and unread > 0 "
+                        + "order by application_id",
+                rs -> {
+                    out.put(rs.getLong(1), rs.getLong(2));
+                }, userId);
+        return out;
+    }
+
+    // false if the row was created concurrently
+    private boolean seed(Long userId, Long applicationId) {
+        try {
+            jdbcTemplate.update(SEED_SQL, userId, applicationId, userId, applicationId);
+            return true;
+        } catch (DataIntegrityViolationException alreadyCreated) {
+            return false;
+        }
+    }
+}
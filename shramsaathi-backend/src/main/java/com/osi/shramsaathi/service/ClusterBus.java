@@ -0,0 +1,32 @@
+package com.osi.shramsaathi.service;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Node-to-node transport for STOMP broadcasts, so a subscriber connected to one backend
+ * instance sees messages published on another.
+ * Routing is by destination: each node announces the destinations its own clients subscribe to,
+ * and {@link #publish} only ships a message to peers that announced its destination.
+ */
+public interface ClusterBus {
+
+    /** A broker message as relayed between nodes: destination plus the already-serialized payload. */
+    record Message(String destination, String contentType, byte[] payload) {}
+
+    /** Starts the transport; messages from peers are handed to {@code receiver}. */
+    void start(Consumer<Message> receiver);
+
+    void stop();
+
+    /** Sends to every peer currently subscribed to the message's destination; best effort. */
+    void publish(Message message);
+
+    /** First local subscriber for the destination appeared. */
+    void interestAdded(String destination);
+
+    /** Last local subscriber for the destination went away. */
+    void interestRemoved(String destination);
+
+    Map<String, Long> stats();
+}
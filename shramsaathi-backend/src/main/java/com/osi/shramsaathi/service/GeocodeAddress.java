@@ -0,0 +1,53 @@
+package com.osi.shramsaathi.service;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import com.osi.shramsaathi.model.Job;
+
+// Builds the address string sent to the geocoder, and the normalized cache key, from a job's address fields
+public final class GeocodeAddress {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s,;.]+");
+
+    private GeocodeAddress() {}
+
+    public static String query(Job job) {
+        return query(job.getArea(), job.getColony(), job.getPincode(), job.getState(), job.getLocation());
+    }
+
+    public static String query(String area, String colony, Integer pincode, String state, String location) {
+        StringBuilder sb = new StringBuilder();
+        if (area != null && !area.isBlank()) sb.append(area).append(", ");
+        if (colony != null && !colony.isBlank()) sb.append(colony).append(", ");
+        if (pincode != null) sb.append(pincode).append(", ");
+        if (state != null && !state.isBlank()) sb.append(state).append(", ");
+        if (location != null && !location.isBlank()) sb.append(location).append(", ");
+        sb.append("India");
+        return sb.toString();
+    }
+
+    public static String cacheKey(Job job) {
+        return cacheKey(job.getArea(), job.getColony(), job.getPincode(), job.getState(), job.getLocation());
+    }
+
+    /**
+     * Case/whitespace-insensitive key with the pincode first, e.g. "500032|gachibowli|-|telangana|hyderabad",
+     * so " Gachibowli ,  Telangana" and "gachibowli, telangana" share one cache entry.
+     */
+    public static String cacheKey(String area, String colony, Integer pincode, String state, String location) {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append(pincode != null ? pincode.toString() : "-");
+        appendPart(sb, area);
+        appendPart(sb, colony);
+        appendPart(sb, state);
+        appendPart(sb, location);
+        return sb.toString();
+    }
+
+    private static void appendPart(StringBuilder sb, String part) {
+        sb.append('|');
+        String normalized = part == null ? "" : SEPARATORS.matcher(part.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        sb.append(normalized.isEmpty() ? "-" : normalized);
+    }
+}
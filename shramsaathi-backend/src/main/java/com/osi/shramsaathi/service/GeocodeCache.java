@@ -0,0 +1,137 @@
+package com.osi.shramsaathi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.osi.shramsaathi.model.GeocodeCacheEntry;
+import com.osi.shramsaathi.repository.GeocodeCacheRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded geocode cache keyed by {@link GeocodeAddress#cacheKey}.
+ * Memory tier is Caffeine (W-TinyLFU eviction, per-entry TTL); every write goes through to the
+ * geocode_cache table, which is consulted on a memory miss so a cold start does not re-geocode.
+ * "No match" answers are cached too, with a shorter TTL.
+ */
+@Slf4j
+@Component
+public class GeocodeCache {
+
+    /** A cached answer; {@code coords} is null for a negative entry. */
+    public record Cached(double[] coords, LocalDateTime expiresAt) {
+        public boolean found() {
+            return coords != null;
+        }
+    }
+
+    private final GeocodeCacheRepository repository;
+    private final Duration positiveTtl;
+    private final Duration negativeTtl;
+    private final Cache<String, Cached> memory;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong storeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public GeocodeCache(GeocodeCacheRepository repository,
+                        @Value("${geocoding.cache.max-size:100000}") long maxSize,
+                        @Value("${geocoding.cache.ttl:P30D}") Duration positiveTtl,
+                        @Value("${geocoding.cache.negative-ttl:P1D}") Duration negativeTtl) {
+        this.repository = repository;
+        this.positiveTtl = positiveTtl;
+        this.negativeTtl = negativeTtl;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Cached>() {
+                    @Override
+                    public long expireAfterCreate(String key, Cached value, long currentTime) {
+                        return Math.max(Duration.between(LocalDateTime.now(), value.expiresAt()).toNanos(), 0);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Cached value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Cached value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((String key, Cached value, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) evictions.incrementAndGet();
+                })
+                // run maintenance on the calling thread so counters are exact
+                .executor(Runnable::run)
+                .build();
+    }
+
+    // Memory first, then the table; null means the address has never been (or is no longer) cached
+    public Cached get(String key) {
+        Cached cached = memory.getIfPresent(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        GeocodeCacheEntry row = repository.findById(key).orElse(null);
+        if (row != null && row.getExpiresAt() != null && row.getExpiresAt().isAfter(LocalDateTime.now())) {
+            cached = new Cached(row.getLatitude() != null && row.getLongitude() != null
+                    ? new double[] { row.getLatitude(), row.getLongitude() } : null, row.getExpiresAt());
+            memory.put(key, cached);
+            hits.incrementAndGet();
+            storeHits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void putFound(String key, double[] coords) {
+        put(key, coords, positiveTtl);
+    }
+
+    public void putNotFound(String key) {
+        put(key, null, negativeTtl);
+    }
+
+    private void put(String key, double[] coords, Duration ttl) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        memory.put(key, new Cached(coords, expiresAt));
+        try {
+            repository.save(new GeocodeCacheEntry(key,
+                    coords != null ? coords[0] : null, coords != null ? coords[1] : null, expiresAt));
+        } catch (RuntimeException e) {
+            // the memory tier still has it; persistence is best effort
+            log.warn("Could not persist geocode cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${geocoding.cache.purge-delay-ms:86400000}", initialDelayString = "${geocoding.cache.purge-delay-ms:86400000}")
+    public void purgeExpired() {
+        int removed = repository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) log.info("Purged {} expired geocode cache rows", removed);
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> out = new LinkedHashMap<>();
+        out.put("hits", hits.get());
+        out.put("storeHits", storeHits.get());
+        out.put("misses", misses.get());
+        out.put("evictions", evictions.get());
+        out.put("size", memory.estimatedSize());
+        return out;
+    }
+}
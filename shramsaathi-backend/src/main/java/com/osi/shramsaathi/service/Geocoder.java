@@ -0,0 +1,11 @@
+package com.osi.shramsaathi.service;
+
+public interface Geocoder {
+
+    /**
+     * Resolve a free-form address to {lat, lon}.
+     * Returns null when the upstream has no match; throws GeocodingException when the
+     * lookup failed and is worth retrying.
+     */
+    double[] geocode(String query);
+}
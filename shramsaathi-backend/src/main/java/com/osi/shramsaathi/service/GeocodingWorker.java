@@ -0,0 +1,220 @@
+package com.osi.shramsaathi.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.osi.shramsaathi.exception.GeocodingException;
+import com.osi.shramsaathi.model.GeocodeStatus;
+import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.repository.JobRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves coordinates for jobs saved with geocodeStatus PENDING.
+ * Jobs are picked up in batches, identical addresses in a batch share one lookup, and
+ * transient failures are retried with exponential backoff until maxAttempts.
+ * Outcomes are written through the locked entity, never a bulk update, so each one replaces only its own
+ * job's second-level cache entry instead of clearing the jobs region.
+ */
+@Slf4j
+@Component
+public class GeocodingWorker {
+
+    private static final int BACKFILL_CHUNK = 500;
+
+    private final JobRepository jobRepository;
+    private final JobSpatialIndex spatialIndex;
+    private final Geocoder geocoder;
+    private final GeocodeCache geocodeCache;
+    private final JobCatalogVersion catalogVersion;
+    private final JobJsonCache jsonCache;
+    private final OpenJobFeed openJobs;
+    private final JobChangeSync jobSync;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+
+    public GeocodingWorker(JobRepository jobRepository,
+                           JobSpatialIndex spatialIndex,
+                           Geocoder geocoder,
+                           GeocodeCache geocodeCache,
+                           JobCatalogVersion catalogVersion,
+                           JobJsonCache jsonCache,
+                           OpenJobFeed openJobs,
+                           JobChangeSync jobSync,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${geocoding.worker.batch-size:20}") int batchSize,
+                           @Value("${geocoding.worker.max-attempts:6}") int maxAttempts,
+                           @Value("${geocoding.worker.backoff-base-ms:30000}") long backoffBaseMs,
+                           @Value("${geocoding.worker.backoff-max-ms:3600000}") long backoffMaxMs) {
+        this.jobRepository = jobRepository;
+        this.spatialIndex = spatialIndex;
+        this.geocoder = geocoder;
+        this.geocodeCache = geocodeCache;
+        this.catalogVersion = catalogVersion;
+        this.jsonCache = jsonCache;
+        this.openJobs = openJobs;
+        this.jobSync = jobSync;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+    }
+
+    // Poll for due jobs; returns how many were processed so callers (and tests) can drain the queue
+    @Scheduled(fixedDelayString = "${geocoding.worker.delay-ms:1000}")
+    public int processBatch() {
+        List<Job> due = jobRepository.findGeocodingDue(GeocodeStatus.PENDING, LocalDateTime.now(), Limit.of(batchSize));
+        if (due.isEmpty()) return 0;
+
+        // one lookup per distinct (normalized) address in the batch
+        Map<String, double[]> resolved = new LinkedHashMap<>();
+        Map<String, GeocodingException> failed = new LinkedHashMap<>();
+        for (Job job : due) {
+            String key = GeocodeAddress.cacheKey(job);
+            if (resolved.containsKey(key) || failed.containsKey(key)) continue;
+            try {
+                resolved.put(key, lookup(key, GeocodeAddress.query(job)));
+            } catch (GeocodingException e) {
+                failed.put(key, e);
+            }
+        }
+
+        for (Job job : due) {
+            String key = GeocodeAddress.cacheKey(job);
+            GeocodingException error = failed.get(key);
+            if (error == null) {
+                double[] coords = resolved.get(key);
+                recordOutcome(job, coords, coords != null ? GeocodeStatus.RESOLVED : GeocodeStatus.NOT_FOUND,
+                        job.getGeocodeAttempts(), null);
+                continue;
+            }
+            int attempts = (job.getGeocodeAttempts() == null ? 0 : job.getGeocodeAttempts()) + 1;
+            if (attempts >= maxAttempts) {
+                log.warn("Giving up geocoding job {} after {} attempts: {}", job.getId(), attempts, error.getMessage());
+                recordOutcome(job, null, GeocodeStatus.FAILED, attempts, null);
+            } else {
+                log.info("Geocoding job {} failed (attempt {}), retrying: {}", job.getId(), attempts, error.getMessage());
+                recordOutcome(job, null, GeocodeStatus.PENDING, attempts,
+                        LocalDateTime.now().plusNanos(backoffMs(attempts) * 1_000_000).truncatedTo(ChronoUnit.MICROS));
+            }
+        }
+        return due.size();
+    }
+
+    // Periodically re-queue jobs that still have no coordinates (legacy rows, exhausted retries), a chunk
+    // of locked rows per transaction
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${geocoding.backfill.delay-ms:600000}", fixedDelayString = "${geocoding.backfill.delay-ms:600000}")
+    public void backfill() {
+        int queued = 0;
+        List<Long> ids = jobRepository.findIdsMissingCoordinates(0L, Limit.of(BACKFILL_CHUNK));
+        while (!ids.isEmpty()) {
+            List<Long> chunk = ids;
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            List<Long> changed = transaction.execute(tx -> {
+                List<Long> out = new ArrayList<>(chunk.size());
+                for (Job job : jobRepository.findAllForUpdate(chunk)) {
+                    if (!missingCoordinates(job)) continue;
+                    job.setGeocodeStatus(GeocodeStatus.PENDING);
+                    job.setGeocodeAttempts(0);
+                    job.setGeocodeNextAttemptAt(now);
+                    out.add(job.getId());
+                }
+                return out;
+            });
+            for (Long id : changed) {
+                jsonCache.evict(id);
+                openJobs.update(id, listed -> listed.setGeocodeStatus(GeocodeStatus.PENDING));
+            }
+            if (!changed.isEmpty()) {
+                catalogVersion.bump();
+                jobSync.announce(changed);
+            }
+            queued += changed.size();
+            ids = jobRepository.findIdsMissingCoordinates(chunk.get(chunk.size() - 1), Limit.of(BACKFILL_CHUNK));
+        }
+        if (queued > 0) log.info("Queued {} jobs without coordinates for geocoding", queued);
+    }
+
+    private static boolean missingCoordinates(Job job) {
+        return (job.getLatitude() == null || job.getLongitude() == null)
+                && (job.getGeocodeStatus() == null || job.getGeocodeStatus() == GeocodeStatus.FAILED);
+    }
+
+    // Cached answer (positive or negative) if there is one, else ask the geocoder; errors are not cached
+    private double[] lookup(String key, String query) {
+        GeocodeCache.Cached cached = geocodeCache.get(key);
+        if (cached != null) return cached.coords();
+        double[] coords = geocoder.geocode(query);
+        if (coords != null) {
+            geocodeCache.putFound(key, coords);
+        } else {
+            geocodeCache.putNotFound(key);
+        }
+        return coords;
+    }
+
+    private void recordOutcome(Job job, double[] coords, GeocodeStatus status, Integer attempts, LocalDateTime nextAttemptAt) {
+        Job updated = record(job.getId(), job.getGeocodeNextAttemptAt(), coords != null ? coords[0] : null,
+                coords != null ? coords[1] : null, status, attempts, nextAttemptAt);
+        // null: the job was deleted or its address changed meanwhile, so this result is stale
+        if (updated == null) return;
+        jsonCache.evict(updated.getId());
+        openJobs.update(updated.getId(), listed -> {
+            listed.setLatitude(updated.getLatitude());
+            listed.setLongitude(updated.getLongitude());
+            listed.setGeocodeStatus(updated.getGeocodeStatus());
+        });
+        catalogVersion.bump();
+        jobSync.announce(updated.getId());
+        spatialIndex.put(updated);
+    }
+
+    /**
+     * Writes a geocoding outcome only if the job is still the one that was looked up: PENDING with the
+     * attempt time it was read with (an address edit re-queues it with a new one). Returns the updated
+     * job, or null if the result is stale.
+     */
+    Job record(Long id, LocalDateTime seenAttemptAt, Double lat, Double lon, GeocodeStatus status,
+               Integer attempts, LocalDateTime nextAttemptAt) {
+        return transaction.execute(tx -> jobRepository.findForUpdate(id)
+                .filter(job -> job.getGeocodeStatus() == GeocodeStatus.PENDING
+                        && Objects.equals(job.getGeocodeNextAttemptAt(), seenAttemptAt))
+                .map(job -> {
+                    job.setLatitude(lat);
+                    job.setLongitude(lon);
+                    job.setGeocodeStatus(status);
+                    job.setGeocodeAttempts(attempts);
+                    job.setGeocodeNextAttemptAt(nextAttemptAt);
+                    return job;
+                })
+                .orElse(null));
+    }
+
+    long backoffMs(int attempts) {
+        long exp = backoffBaseMs << Math.min(attempts - 1, 20);
+        long capped = Math.min(exp, backoffMaxMs);
+        // +/-20% jitter so a failing upstream is not hit by every retry at once
+        return capped + (long) (capped * ThreadLocalRandom.current().nextDouble(-0.2, 0.2));
+    }
+}
@@ -0,0 +1,117 @@
+package com.osi.shramsaathi.service;
+
+import java.util.Locale;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.osi.shramsaathi.exception.ResourceNotFoundException;
+import com.osi.shramsaathi.model.JobApplication;
+import com.osi.shramsaathi.model.WorkerStats;
+import com.osi.shramsaathi.repository.JobApplicationRepository;
+import com.osi.shramsaathi.repository.WorkerStatsRepository;
+
+/**
+ * Writes job applications and keeps the worker_stats counters in the same transaction,
+ * so the worker summary is a primary-key read instead of loading every application.
+ */
+@Service
+public class JobApplicationService {
+
+    private final JobApplicationRepository appRepo;
+    private final WorkerStatsRepository statsRepo;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate newTransaction;
+
+    public JobApplicationService(JobApplicationRepository appRepo,
+                                 WorkerStatsRepository statsRepo,
+                                 PlatformTransactionManager transactionManager) {
+        this.appRepo = appRepo;
+        this.statsRepo = statsRepo;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public JobApplication apply(JobApplication application) {
+        ensureStats(application.getWorkerId());
+        return transaction.execute(tx -> {
+            JobApplication saved = appRepo.save(application);
+            WorkerStats stats = lockStats(saved.getWorkerId());
+            stats.setApplied(stats.getApplied() + 1);
+            adjust(stats, saved.getStatus(), 1);
+            return saved;
+        });
+    }
+
+    public JobApplication updateStatus(Long id, String status) {
+        Long workerId = appRepo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Application not found: " + id))
+                .getWorkerId();
+        ensureStats(workerId);
+        return transaction.execute(tx -> {
+            JobApplication app = appRepo.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Application not found: " + id));
+            String previous = app.getStatus();
+            app.setStatus(status);
+            JobApplication saved = appRepo.save(app);
+            if (!bucket(previous).equals(bucket(status))) {
+                WorkerStats stats = lockStats(app.getWorkerId());
+                adjust(stats, previous, -1);
+                adjust(stats, status, 1);
+            }
+            return saved;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public WorkerStats getWorkerStats(Long workerId) {
+        return statsRepo.findById(workerId).orElseGet(() -> seedStats(workerId));
+    }
+
+    private WorkerStats lockStats(Long workerId) {
+        return statsRepo.findForUpdate(workerId).orElseThrow();
+    }
+
+    // First write for a worker creates the stats row in its own short transaction, before the caller's
+    // transaction starts: creating it from inside would take a second pooled connection per request, and
+    // a burst of first applications could then hold every connection while waiting for another.
+    // A concurrent creator may win the insert, which is fine.
+    private void ensureStats(Long workerId) {
+        if (statsRepo.existsById(workerId)) return;
+        newTransaction.executeWithoutResult(tx -> {
+            try {
+                statsRepo.saveAndFlush(seedStats(workerId));
+            } catch (DataIntegrityViolationException alreadyCreated) {
+                tx.setRollbackOnly();
+            }
+        });
+    }
+
+    // Counters for a worker with no stats row yet, computed from committed applications
+    private WorkerStats seedStats(Long workerId) {
+        WorkerStats stats = WorkerStats.builder().workerId(workerId).build();
+        for (JobApplicationRepository.StatusCount c : appRepo.countByStatusForWorker(workerId)) {
+            stats.setApplied(stats.getApplied() + c.getTotal());
+            adjust(stats, c.getStatus(), c.getTotal());
+        }
+        return stats;
+    }
+
+    private static void adjust(WorkerStats stats, String status, long delta) {
+        switch (bucket(status)) {
+            case "pending" -> stats.setPending(stats.getPending() + delta);
+            case "accepted" -> stats.setAccepted(stats.getAccepted() + delta);
+            case "rejected" -> stats.setRejected(stats.getRejected() + delta);
+            default -> { }
+        }
+    }
+
+    private static String bucket(String status) {
+        return status == null ? "" : status.trim().toLowerCase(Locale.ROOT);
+    }
+}
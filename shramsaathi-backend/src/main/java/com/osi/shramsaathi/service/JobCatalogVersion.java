@@ -0,0 +1,44 @@
+package com.osi.shramsaathi.service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Version of the job catalog, moved on every job write (create, update, delete, import batch, geocoding
+ * result), so the job lists can answer conditional GETs without a query. Writers bump it after their
+ * change is committed and readers take it before querying, so a list is never tagged newer than its data.
+ * The ETag carries a per-start epoch: tags from before a restart, or from another node, never match.
+ * Writes on other nodes bump it through JobChangeSync once this node has applied them.
+ */
+@Component
+public class JobCatalogVersion {
+
+    private record State(long version, long changedAt) {}
+
+    // Validators for the current catalog; lastModified is -1 when it should not be sent
+    public record Tag(String etag, long lastModified) {}
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicReference<State> state = new AtomicReference<>(new State(0, System.currentTimeMillis()));
+
+    public void bump() {
+        long now = System.currentTimeMillis();
+        state.updateAndGet(s -> new State(s.version() + 1, Math.max(now, s.changedAt())));
+    }
+
+    public long version() {
+        return state.get().version();
+    }
+
+    /**
+     * Strong ETag and Last-Modified for the catalog as of now. Last-Modified has one-second resolution,
+     * so it is left out while the last change is still in the current second: a client holding it could
+     * otherwise miss a second change made within that same second.
+     */
+    public Tag current() {
+        State s = state.get();
+        long lastModified = s.changedAt() / 1000 < System.currentTimeMillis() / 1000 ? s.changedAt() : -1;
+        return new Tag("\"" + epoch + "-" + s.version() + "\"", lastModified);
+    }
+}
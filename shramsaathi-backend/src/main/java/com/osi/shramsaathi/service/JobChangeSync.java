@@ -0,0 +1,96 @@
+package com.osi.shramsaathi.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Job writes announced to the other nodes over the {@link ClusterBus}, so each node's job caches
+ * (JobJsonCache, the jobs second-level cache region, OpenJobFeed, the spatial and skill indexes and
+ * JobCatalogVersion) follow writes made anywhere, not just through that node. Writers announce the ids
+ * they changed after commit; a node receiving them re-reads those jobs (JobServiceImpl#applyPeerChanges)
+ * on a thread of its own, so the bus connection is not held up by the queries.
+ * The topic is not a STOMP destination and never reaches the broker. Like every bus message an
+ * announcement can be lost (peer unreachable, send queue full); JobJsonCache's TTL bounds how long a
+ * lost one leaves stale bytes behind.
+ */
+@Slf4j
+@Component
+public class JobChangeSync {
+
+    public static final String TOPIC = "cluster:job-changes";
+    // ids per message, well under the bus's 1 MB payload limit
+    private static final int MAX_IDS = 10_000;
+
+    private final ClusterBus bus;
+    private final ExecutorService applier = Executors.newSingleThreadExecutor(task -> {
+        Thread t = new Thread(task, "job-change-sync");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile Consumer<List<Long>> listener = ids -> {};
+
+    public JobChangeSync(ClusterBus bus) {
+        this.bus = bus;
+        // every node wants every announcement
+        bus.interestAdded(TOPIC);
+    }
+
+    public void onPeerChange(Consumer<List<Long>> listener) {
+        this.listener = listener;
+    }
+
+    public void announce(Long id) {
+        bus.publish(new ClusterBus.Message(TOPIC, null, encode(List.of(id))));
+    }
+
+    public void announce(Collection<Long> ids) {
+        List<Long> all = List.copyOf(ids);
+        for (int from = 0; from < all.size(); from += MAX_IDS) {
+            bus.publish(new ClusterBus.Message(TOPIC, null, encode(all.subList(from, Math.min(all.size(), from + MAX_IDS)))));
+        }
+    }
+
+    public boolean handles(String destination) {
+        return TOPIC.equals(destination);
+    }
+
+    // From ClusterRelay, on the bus's receive thread
+    public void receive(byte[] payload) {
+        List<Long> ids = decode(payload);
+        applier.execute(() -> {
+            try {
+                listener.accept(ids);
+            } catch (RuntimeException e) {
+                log.warn("Applying job changes from a peer failed for {} jobs: {}", ids.size(), e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        applier.shutdownNow();
+    }
+
+    private static byte[] encode(List<Long> ids) {
+        ByteBuffer buffer = ByteBuffer.allocate(ids.size() * Long.BYTES);
+        for (Long id : ids) buffer.putLong(id);
+        return buffer.array();
+    }
+
+    private static List<Long> decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        List<Long> ids = new ArrayList<>(payload.length / Long.BYTES);
+        while (buffer.remaining() >= Long.BYTES) ids.add(buffer.getLong());
+        return ids;
+    }
+}
@@ -0,0 +1,50 @@
+package com.osi.shramsaathi.service;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.osi.shramsaathi.model.Job;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Job ids for bulk import, drawn from the same pooled jobs_seq generator Hibernate uses for Job, so a
+ * JDBC batch carries its ids up front and one sequence call covers {@link Job#ALLOCATION_SIZE} rows.
+ * Jobs used to have IDENTITY ids; at startup the sequence is moved past max(id) (SequenceFloor) so its
+ * blocks never collide with existing rows.
+ */
+@Component
+public class JobIdAllocator implements SmartInitializingSingleton {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobIdAllocator(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Call outside any transaction: the sequence is read on a connection of its own
+    public long[] next(int count) {
+        IdentifierGenerator generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Job.class).getGenerator();
+        long[] ids = new long[count];
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+            }
+        }
+        return ids;
+    }
+
+    // Runs before the web server starts, so before any job id is handed out
+    @Override
+    public void afterSingletonsInstantiated() {
+        SequenceFloor.raise(jdbcTemplate, "jobs", "jobs_seq", Job.ALLOCATION_SIZE);
+    }
+}
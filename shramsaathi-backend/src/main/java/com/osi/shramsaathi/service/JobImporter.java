@@ -0,0 +1,293 @@
+package com.osi.shramsaathi.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.osi.shramsaathi.dto.JobImportReport;
+import com.osi.shramsaathi.dto.JobRequest;
+import com.osi.shramsaathi.model.Job;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk job creation from an upload with one job per line: CSV with a header row naming JobRequest
+ * fields (ownerId or owner_id, any case), or NDJSON with one JobRequest object per line.
+ * The upload is read as a stream; valid rows are inserted in JDBC batches of {@code batch-size}, each
+ * in its own transaction with ids from {@link JobIdAllocator}, so memory stays flat and a bad row only
+ * costs its own line. Quoted CSV fields may contain commas and "" but not line breaks.
+ */
+@Slf4j
+@Component
+public class JobImporter {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String INSERT_SQL = "insert into jobs "
+            + "(id, owner_id, title, skill_needed, location, pay, duration, status_code, pincode, area, colony, state, "
+            + "latitude, longitude, geocode_status, geocode_attempts, geocode_next_attempt_at, created_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // jobs text columns are varchar(255); longer values would fail the whole batch
+    private static final int MAX_TEXT = 255;
+
+    private static final Map<String, BiConsumer<JobRequest, String>> CSV_COLUMNS = Map.ofEntries(
+            Map.entry("ownerid", (r, v) -> r.setOwnerId(Long.valueOf(v))),
+            Map.entry("title", JobRequest::setTitle),
+            Map.entry("skillneeded", JobRequest::setSkillNeeded),
+            Map.entry("location", JobRequest::setLocation),
+            Map.entry("pay", (r, v) -> r.setPay(Double.valueOf(v))),
+            Map.entry("duration", JobRequest::setDuration),
+            Map.entry("pincode", (r, v) -> r.setPincode(Integer.valueOf(v))),
+            Map.entry("area", JobRequest::setArea),
+            Map.entry("colony", JobRequest::setColony),
+            Map.entry("state", JobRequest::setState),
+            Map.entry("latitude", (r, v) -> r.setLatitude(Double.valueOf(v))),
+            Map.entry("longitude", (r, v) -> r.setLongitude(Double.valueOf(v))));
+
+    private record Pending(int line, Job job) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final JobIdAllocator idAllocator;
+    private final ObjectReader jsonReader;
+    private final int batchSize;
+    private final int maxRows;
+
+    public JobImporter(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       JobIdAllocator idAllocator,
+                       ObjectMapper objectMapper,
+                       @Value("${jobs.import.batch-size:1000}") int batchSize,
+                       @Value("${jobs.import.max-rows:200000}") int maxRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.idAllocator = idAllocator;
+        this.jsonReader = objectMapper.readerFor(JobRequest.class);
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    // Reads, validates and inserts the upload; every committed batch of jobs is handed to onBatch.
+    // A bad CSV header fails the whole import with IllegalArgumentException before anything is inserted
+    public JobImportReport importJobs(InputStream in, Format format, Consumer<List<Job>> onBatch) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        List<JobImportReport.Row> rows = new ArrayList<>();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        List<BiConsumer<JobRequest, String>> columns = null;
+        List<String> header = null;
+        int received = 0;
+        boolean truncated = false;
+
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            // byte order mark some spreadsheet exports start with
+            if (lineNo == 1 && line.startsWith("\uFEFF")) line = line.substring(1);
+            if (line.isBlank()) continue;
+            if (format == Format.CSV && columns == null) {
+                header = splitCsv(line);
+                columns = csvColumns(header);
+                continue;
+            }
+            if (received == maxRows) {
+                truncated = true;
+                break;
+            }
+            received++;
+
+            JobRequest request;
+            try {
+                request = format == Format.CSV ? parseCsv(line, header, columns) : jsonReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                rows.add(new JobImportReport.Row(lineNo, null, "unreadable JSON: " + e.getOriginalMessage()));
+                continue;
+            } catch (IllegalArgumentException e) {
+                rows.add(new JobImportReport.Row(lineNo, null, e.getMessage()));
+                continue;
+            }
+            String error = validate(request);
+            if (error != null) {
+                rows.add(new JobImportReport.Row(lineNo, null, error));
+                continue;
+            }
+            batch.add(new Pending(lineNo, JobServiceImpl.newJob(request)));
+            if (batch.size() == batchSize) {
+                insert(batch, rows, onBatch);
+                batch.clear();
+            }
+        }
+        if (format == Format.CSV && columns == null) throw new IllegalArgumentException("CSV upload has no header row");
+        insert(batch, rows, onBatch);
+
+        rows.sort(Comparator.comparingInt(JobImportReport.Row::line));
+        int created = (int) rows.stream().filter(r -> r.id() != null).count();
+        return new JobImportReport(received, created, received - created, truncated, rows);
+    }
+
+    private void insert(List<Pending> batch, List<JobImportReport.Row> rows, Consumer<List<Job>> onBatch) {
+        if (batch.isEmpty()) return;
+        // before the transaction, so a batch never holds two connections
+        long[] ids = idAllocator.next(batch.size());
+        List<Job> jobs = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Job job = batch.get(i).job();
+            job.setId(ids[i]);
+            jobs.add(job);
+        }
+
+        List<Job> inserted;
+        try {
+            transaction.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(INSERT_SQL, jobs, jobs.size(), JobImporter::bind));
+            inserted = jobs;
+            for (Pending p : batch) rows.add(new JobImportReport.Row(p.line(), p.job().getId(), null));
+        } catch (DataAccessException e) {
+            // one row failed the batch; insert one at a time so only that row is rejected
+            log.warn("Job import batch of {} failed, retrying row by row: {}", batch.size(), e.getMostSpecificCause().getMessage());
+            inserted = new ArrayList<>();
+            for (Pending p : batch) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, p.job()));
+                    inserted.add(p.job());
+                    rows.add(new JobImportReport.Row(p.line(), p.job().getId(), null));
+                } catch (DataAccessException rowError) {
+                    rows.add(new JobImportReport.Row(p.line(), null, "not saved: " + rowError.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+        if (!inserted.isEmpty()) onBatch.accept(inserted);
+    }
+
+    private static void bind(PreparedStatement ps, Job job) throws SQLException {
+        ps.setLong(1, job.getId());
+        ps.setLong(2, job.getOwnerId());
+        ps.setString(3, job.getTitle());
+        ps.setString(4, job.getSkillNeeded());
+        ps.setString(5, job.getLocation());
+        setDouble(ps, 6, job.getPay());
+        ps.setString(7, job.getDuration());
+        ps.setByte(8, job.getStatus().code());
+        if (job.getPincode() == null) ps.setNull(9, Types.INTEGER);
+        else ps.setInt(9, job.getPincode());
+        ps.setString(10, job.getArea());
+        ps.setString(11, job.getColony());
+        ps.setString(12, job.getState());
+        setDouble(ps, 13, job.getLatitude());
+        setDouble(ps, 14, job.getLongitude());
+        ps.setString(15, job.getGeocodeStatus().name());
+        ps.setInt(16, job.getGeocodeAttempts());
+        ps.setTimestamp(17, job.getGeocodeNextAttemptAt() == null ? null : Timestamp.valueOf(job.getGeocodeNextAttemptAt()));
+        ps.setTimestamp(18, Timestamp.valueOf(job.getCreatedAt()));
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) ps.setNull(index, Types.DOUBLE);
+        else ps.setDouble(index, value);
+    }
+
+    // null when the row can be inserted, else every problem with it
+    static String validate(JobRequest r) {
+        List<String> problems = new ArrayList<>(2);
+        if (r.getOwnerId() == null) problems.add("ownerId is required");
+        if (r.getTitle() == null || r.getTitle().isBlank()) problems.add("title is required");
+        if (r.getSkillNeeded() == null || r.getSkillNeeded().isBlank()) problems.add("skillNeeded is required");
+        checkLength(problems, "title", r.getTitle());
+        checkLength(problems, "skillNeeded", r.getSkillNeeded());
+        checkLength(problems, "location", r.getLocation());
+        checkLength(problems, "duration", r.getDuration());
+        checkLength(problems, "area", r.getArea());
+        checkLength(problems, "colony", r.getColony());
+        checkLength(problems, "state", r.getState());
+        if (r.getPay() != null && !(r.getPay() >= 0)) problems.add("pay must be zero or more");
+        if ((r.getLatitude() == null) != (r.getLongitude() == null)) {
+            problems.add("latitude and longitude must be given together");
+        } else if (r.getLatitude() != null && (!(Math.abs(r.getLatitude()) <= 90) || !(Math.abs(r.getLongitude()) <= 180))) {
+            problems.add("latitude/longitude out of range");
+        }
+        return problems.isEmpty() ? null : String.join("; ", problems);
+    }
+
+    private static void checkLength(List<String> problems, String field, String value) {
+        if (value != null && value.length() > MAX_TEXT) problems.add(field + " is longer than " + MAX_TEXT + " characters");
+    }
+
+    private static List<BiConsumer<JobRequest, String>> csvColumns(List<String> header) {
+        List<BiConsumer<JobRequest, String>> columns = new ArrayList<>(header.size());
+        for (String name : header) {
+            BiConsumer<JobRequest, String> setter = CSV_COLUMNS.get(name.replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT));
+            if (setter == null) throw new IllegalArgumentException("Unknown CSV column: " + name);
+            columns.add(setter);
+        }
+        return columns;
+    }
+
+    private static JobRequest parseCsv(String line, List<String> header, List<BiConsumer<JobRequest, String>> columns) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size() + " fields, got " + fields.size());
+        }
+        JobRequest request = new JobRequest();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i).strip();
+            if (value.isEmpty()) continue;
+            try {
+                columns.get(i).accept(request, value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(header.get(i).strip() + ": not a number: " + value);
+            }
+        }
+        return request;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("unterminated quoted field");
+        fields.add(field.toString());
+        return fields;
+    }
+}
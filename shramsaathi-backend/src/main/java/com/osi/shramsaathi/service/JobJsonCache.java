@@ -0,0 +1,128 @@
+package com.osi.shramsaathi.service;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.osi.shramsaathi.dto.EncodedJsonArray;
+import com.osi.shramsaathi.dto.JobResponse;
+import com.osi.shramsaathi.model.Job;
+
+/**
+ * Each job's JobResponse as UTF-8 JSON, encoded once with the MVC ObjectMapper and reused by the list
+ * endpoints until the job changes, bounded by total bytes (jobs.json-cache.max-bytes) and kept at most
+ * jobs.json-cache.ttl-ms.
+ * Writers call evict after their change is committed and before catalogVersion.bump(), so a list tagged
+ * with the new version never finds the old bytes. Readers take a snapshot before querying; a job loaded
+ * before a write that has since evicted it is still encoded for that response but not cached, so a slow
+ * reader cannot put the old bytes back. Writes on other nodes evict through JobChangeSync; the TTL bounds
+ * the damage of an announcement the cluster bus lost.
+ */
+@Component
+public class JobJsonCache {
+
+    // How long a write is remembered; a reader slower than this between snapshot and put does not cache
+    private static final Duration WRITE_MEMORY = Duration.ofMinutes(1);
+
+    // Taken before the jobs are queried
+    public record Snapshot(long generation, long takenAt) {}
+
+    private final ObjectWriter writer;
+    private final Cache<Long, byte[]> json;
+    // job id -> generation of its last write
+    private final Cache<Long, Long> recentWrites;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public JobJsonCache(ObjectMapper objectMapper,
+                        @Value("${jobs.json-cache.max-bytes:67108864}") long maxBytes,
+                        @Value("${jobs.json-cache.ttl-ms:600000}") long ttlMs) {
+        this.writer = objectMapper.writerFor(JobResponse.class);
+        this.json = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, byte[] bytes) -> bytes.length)
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .executor(Runnable::run)
+                .build();
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(WRITE_MEMORY)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(generation.get(), System.nanoTime());
+    }
+
+    // Rows from the JobRepository projections
+    public EncodedJsonArray encode(List<JobResponse> jobs, Snapshot snapshot) {
+        List<byte[]> elements = new ArrayList<>(jobs.size());
+        for (JobResponse job : jobs) elements.add(encode(job.getId(), job, Function.identity(), snapshot));
+        return new EncodedJsonArray(elements);
+    }
+
+    // Entities (the index-backed lookups, which go through the second-level cache); mapped only on a miss
+    public EncodedJsonArray encodeJobs(List<Job> jobs, Snapshot snapshot) {
+        List<byte[]> elements = new ArrayList<>(jobs.size());
+        for (Job job : jobs) elements.add(encode(job.getId(), job, JobServiceImpl::map, snapshot));
+        return new EncodedJsonArray(elements);
+    }
+
+    private <T> byte[] encode(Long id, T job, Function<T, JobResponse> toResponse, Snapshot snapshot) {
+        byte[] cached = json.getIfPresent(id);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        byte[] encoded = write(toResponse.apply(job));
+        if (System.nanoTime() - snapshot.takenAt() < WRITE_MEMORY.toNanos()) {
+            // evict records the write before removing, so either this sees it or the removal comes after the put
+            json.asMap().compute(id, (key, current) -> loadedBeforeWrite(key, snapshot) ? current : encoded);
+        }
+        return encoded;
+    }
+
+    public void evict(Long id) {
+        recentWrites.put(id, generation.incrementAndGet());
+        json.invalidate(id);
+    }
+
+    private boolean loadedBeforeWrite(Long id, Snapshot snapshot) {
+        Long written = recentWrites.getIfPresent(id);
+        return written != null && written > snapshot.generation();
+    }
+
+    private byte[] write(JobResponse response) {
+        try {
+            return writer.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> out = new LinkedHashMap<>();
+        out.put("hits", hits.get());
+        out.put("misses", misses.get());
+        out.put("size", json.estimatedSize());
+        out.put("bytes", json.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L));
+        return out;
+    }
+}
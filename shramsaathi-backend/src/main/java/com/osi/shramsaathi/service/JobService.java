@@ -1,17 +1,39 @@
 package com.osi.shramsaathi.service;
 
+import com.osi.shramsaathi.dto.CursorPage;
+import com.osi.shramsaathi.dto.EncodedJsonArray;
+import com.osi.shramsaathi.dto.JobImportReport;
 import com.osi.shramsaathi.dto.JobRequest;
 import com.osi.shramsaathi.dto.JobResponse;
+import com.osi.shramsaathi.model.JobStatus;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface JobService {
     JobResponse createJob(JobRequest request);
+    JobImportReport importJobs(InputStream body, JobImporter.Format format) throws IOException;
     JobResponse updateJob(Long id, JobRequest request);
+    JobResponse updateStatus(Long id, JobStatus status);
     void deleteJob(Long id);
     JobResponse getJobById(Long id);
     List<JobResponse> getJobsByOwner(Long ownerId);
-    List<JobResponse> searchBySkill(String skill);
+    List<JobResponse> searchBySkill(String query, int limit);
+    List<JobResponse> findNearby(double lat, double lon, double radiusKm, int limit, String skill, String status);
+
+    // The list endpoints' bodies, from JobJsonCache: the same JSON as the List<JobResponse> variants
+    EncodedJsonArray getJobsByOwnerJson(Long ownerId);
+    EncodedJsonArray searchBySkillJson(String query, int limit);
+    EncodedJsonArray findNearbyJson(double lat, double lon, double radiusKm, int limit, String skill, String status);
+    EncodedJsonArray getAllJobsJson();
     
     // ✅ Add this line
     List<JobResponse> getAllJobs();
+
+    CursorPage<JobResponse> getJobsPage(Long after, int limit);
+    // Open jobs, newest first, from the in-memory feed
+    CursorPage<JobResponse> getOpenJobsPage(Long after, int limit);
+    long countJobs();
+    void streamAllJobs(Consumer<JobResponse> sink);
 }
@@ -1,39 +1,142 @@
 package com.osi.shramsaathi.service;
 
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.dto.CursorPage;
+import com.osi.shramsaathi.dto.EncodedJsonArray;
+import com.osi.shramsaathi.dto.JobImportReport;
 import com.osi.shramsaathi.dto.JobRequest;
 import com.osi.shramsaathi.dto.JobResponse;
 import com.osi.shramsaathi.exception.ResourceNotFoundException;
+import com.osi.shramsaathi.model.GeocodeStatus;
 import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.model.JobStatus;
 import com.osi.shramsaathi.repository.JobRepository;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+
 @Service
 public class JobServiceImpl implements JobService {
 
     private final JobRepository jobRepository;
-    private final HttpClient httpClient = HttpClient.newHttpClient();
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    // Simple in-memory cache for geocoding queries -> [lat, lon]
-    private final ConcurrentHashMap<String, double[]> geocodeCache = new ConcurrentHashMap<>();
+    private final JobSpatialIndex spatialIndex;
+    private final SkillSearchIndex skillIndex;
+    private final EntityManager entityManager;
+    private final JobImporter jobImporter;
+    private final JobCatalogVersion catalogVersion;
+    private final JobJsonCache jsonCache;
+    private final OpenJobFeed openJobs;
+    private final JobChangeSync jobSync;
+    private final int cacheWarmUpJobs;
+    // Cached COUNT(*) of jobs: adjusted on create/delete, re-synced from the DB periodically
+    private final AtomicLong jobCount = new AtomicLong(-1);
 
-    public JobServiceImpl(JobRepository jobRepository) {
+    public JobServiceImpl(JobRepository jobRepository, JobSpatialIndex spatialIndex, SkillSearchIndex skillIndex,
+                          EntityManager entityManager, JobImporter jobImporter, JobCatalogVersion catalogVersion,
+                          JobJsonCache jsonCache, OpenJobFeed openJobs, JobChangeSync jobSync,
+                          @Value("${jpa.cache.warm-up-jobs:5000}") int cacheWarmUpJobs) {
         this.jobRepository = jobRepository;
+        this.spatialIndex = spatialIndex;
+        this.skillIndex = skillIndex;
+        this.entityManager = entityManager;
+        this.jobImporter = jobImporter;
+        this.catalogVersion = catalogVersion;
+        this.jsonCache = jsonCache;
+        this.openJobs = openJobs;
+        this.jobSync = jobSync;
+        this.cacheWarmUpJobs = cacheWarmUpJobs;
+    }
+
+    @PostConstruct
+    void listenForPeerChanges() {
+        jobSync.onPeerChange(this::applyPeerChanges);
+    }
+
+    // Jobs written on another node: drop what this node cached for them, then re-read them into the feed
+    // and indexes (or drop them there if they were deleted). The count catches up at its next resync
+    void applyPeerChanges(List<Long> ids) {
+        Cache entities = entityManager.getEntityManagerFactory().getCache();
+        for (Long id : ids) {
+            entities.evict(Job.class, id);
+            jsonCache.evict(id);
+        }
+        Map<Long, Job> jobs = jobRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+        for (Long id : ids) {
+            Job job = jobs.get(id);
+            if (job == null) {
+                openJobs.remove(id);
+                spatialIndex.remove(id);
+                skillIndex.remove(id);
+            } else {
+                openJobs.put(map(job));
+                spatialIndex.put(job);
+                skillIndex.put(job);
+            }
+        }
+        catalogVersion.bump();
+    }
+
+    // Load every geocoded job into the spatial index once the app is up
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSpatialIndex() {
+        spatialIndex.clear();
+        jobRepository.findByLatitudeIsNotNullAndLongitudeIsNotNull().forEach(spatialIndex::put);
+    }
+
+    // Load skill/title words of every job into the search index once the app is up
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadSkillIndex() {
+        skillIndex.clear();
+        try (Stream<JobRepository.SearchFields> rows = jobRepository.streamSearchFields()) {
+            rows.forEach(r -> skillIndex.put(r.getId(), r.getSkillNeeded(), r.getTitle()));
+        }
+    }
+
+    // Load every open job into the in-memory feed once the app is up
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadOpenJobFeed() {
+        openJobs.clear();
+        jobRepository.findResponsesByStatus(JobStatus.OPEN).forEach(openJobs::put);
+    }
+
+    // Load the newest open jobs into the second-level cache so job pages opened right after a restart skip the DB
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmJobCache() {
+        if (cacheWarmUpJobs > 0) jobRepository.findByStatusOrderByIdDesc(JobStatus.OPEN, Limit.of(cacheWarmUpJobs));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jobs.count-resync-ms:60000}", initialDelayString = "${jobs.count-resync-ms:60000}")
+    public void resyncJobCount() {
+        jobCount.set(jobRepository.count());
     }
 
-    private JobResponse map(Job job) {
+    // Static and public so MappingBenchmark can measure it on its own
+    public static JobResponse map(Job job) {
         JobResponse r = new JobResponse();
         r.setId(job.getId());
         r.setOwnerId(job.getOwnerId());
@@ -49,60 +152,30 @@ public class JobServiceImpl implements JobService {
         r.setLatitude(job.getLatitude());
         r.setLongitude(job.getLongitude());
         r.setStatus(job.getStatus());
+        r.setGeocodeStatus(job.getGeocodeStatus());
         r.setCreatedAt(job.getCreatedAt());
         return r;
     }
 
-    // Server-side geocoding using Nominatim. Returns {lat,lon} or null.
-    private double[] geocodeRequest(JobRequest request) {
-        try {
-            StringBuilder sb = new StringBuilder();
-            if (request.getArea() != null && !request.getArea().isBlank()) sb.append(request.getArea()).append(", ");
-            if (request.getColony() != null && !request.getColony().isBlank()) sb.append(request.getColony()).append(", ");
-            if (request.getPincode() != null) sb.append(request.getPincode()).append(", ");
-            if (request.getState() != null && !request.getState().isBlank()) sb.append(request.getState()).append(", ");
-            if (request.getLocation() != null && !request.getLocation().isBlank()) sb.append(request.getLocation()).append(", ");
-            sb.append("India");
-
-            String key = sb.toString();
-            if (geocodeCache.containsKey(key)) {
-                return geocodeCache.get(key);
-            }
-
-            String q = URLEncoder.encode(sb.toString(), StandardCharsets.UTF_8);
-            String url = "https://nominatim.openstreetmap.org/search?format=json&limit=1&addressdetails=1&q=" + q;
-            HttpRequest req = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("User-Agent", "ShramSaathi/1.0")
-                    .GET()
-                    .build();
-            HttpResponse<String> resp = httpClient.send(req, HttpResponse.BodyHandlers.ofString());
-            JsonNode arr = objectMapper.readTree(resp.body());
-            if (arr.isArray() && arr.size() > 0) {
-                JsonNode node = arr.get(0);
-                double lat = node.get("lat").asDouble();
-                double lon = node.get("lon").asDouble();
-                // simple bounding check for India
-                if (lat >= 6 && lat <= 38 && lon >= 68 && lon <= 98) {
-                    double[] coords = new double[] { lat, lon };
-                    geocodeCache.put(key, coords);
-                    return coords;
-                }
-                // if address shows country_code == in, accept
-                if (node.has("address") && node.get("address").has("country_code")
-                        && "in".equalsIgnoreCase(node.get("address").get("country_code").asText())) {
-                    double[] coords = new double[] { lat, lon };
-                    geocodeCache.put(key, coords);
-                    return coords;
-                }
-            }
-        } catch (Exception e) {
-            // ignore and return null
+    // Coordinates sent by the client are trusted; otherwise GeocodingWorker resolves them in the background
+    private static void queueGeocoding(Job job, JobRequest request) {
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            job.setLatitude(request.getLatitude());
+            job.setLongitude(request.getLongitude());
+            job.setGeocodeStatus(GeocodeStatus.RESOLVED);
+            job.setGeocodeNextAttemptAt(null);
+            return;
         }
-        return null;
+        job.setLatitude(null);
+        job.setLongitude(null);
+        job.setGeocodeStatus(GeocodeStatus.PENDING);
+        job.setGeocodeAttempts(0);
+        // stored precision, so the cached entity holds the value GeocodingWorker's guarded update compares against
+        job.setGeocodeNextAttemptAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
     }
 
-    public JobResponse createJob(JobRequest request) {
+    // A new, unsaved job for the request (createJob and bulk import)
+    static Job newJob(JobRequest request) {
         Job job = new Job();
         job.setOwnerId(request.getOwnerId());
         job.setTitle(request.getTitle());
@@ -114,21 +187,26 @@ public class JobServiceImpl implements JobService {
         job.setArea(request.getArea());
         job.setColony(request.getColony());
         job.setState(request.getState());
+        queueGeocoding(job, request);
+        return job;
+    }
 
-        // attempt server-side geocoding and store coordinates
-        double[] coords = geocodeRequest(request);
-        if (coords != null) {
-            job.setLatitude(coords[0]);
-            job.setLongitude(coords[1]);
-        }
-
-        Job saved = jobRepository.save(job);
-        return map(saved);
+    public JobResponse createJob(JobRequest request) {
+        Job saved = jobRepository.save(newJob(request));
+        JobResponse response = map(saved);
+        openJobs.put(response);
+        catalogVersion.bump();
+        jobSync.announce(saved.getId());
+        jobCount.incrementAndGet();
+        spatialIndex.put(saved);
+        skillIndex.put(saved);
+        return response;
     }
 
     public JobResponse updateJob(Long id, JobRequest request) {
         Job job = jobRepository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException("Job not found: " + id));
+        String previousAddress = GeocodeAddress.query(job);
         job.setTitle(request.getTitle());
         job.setSkillNeeded(request.getSkillNeeded());
         job.setLocation(request.getLocation());
@@ -139,20 +217,66 @@ public class JobServiceImpl implements JobService {
         job.setColony(request.getColony());
         job.setState(request.getState());
 
-        double[] coords = geocodeRequest(request);
-        if (coords != null) {
-            job.setLatitude(coords[0]);
-            job.setLongitude(coords[1]);
+        // only re-geocode when the address (or client-supplied coordinates) actually changed
+        boolean clientCoords = request.getLatitude() != null && request.getLongitude() != null;
+        if (clientCoords || !previousAddress.equals(GeocodeAddress.query(job))) {
+            queueGeocoding(job, request);
         }
 
         Job saved = jobRepository.save(job);
-        return map(saved);
+        JobResponse response = map(saved);
+        jsonCache.evict(id);
+        openJobs.put(response);
+        catalogVersion.bump();
+        jobSync.announce(id);
+        spatialIndex.put(saved);
+        skillIndex.put(saved);
+        return response;
+    }
+
+    // The only way a job's status changes; a job moved off OPEN leaves the open-jobs feed (and back again)
+    @Override
+    public JobResponse updateStatus(Long id, JobStatus status) {
+        Job job = jobRepository.findById(id).orElseThrow(() ->
+                new ResourceNotFoundException("Job not found: " + id));
+        job.setStatus(status);
+        Job saved = jobRepository.save(job);
+        JobResponse response = map(saved);
+        jsonCache.evict(id);
+        openJobs.put(response);
+        catalogVersion.bump();
+        jobSync.announce(id);
+        spatialIndex.put(saved);
+        return response;
+    }
+
+    // JobImporter inserts in JDBC batches; each committed batch is counted and indexed here. Jobs without
+    // coordinates are saved PENDING, so GeocodingWorker resolves them in the background
+    @Override
+    public JobImportReport importJobs(InputStream body, JobImporter.Format format) throws IOException {
+        return jobImporter.importJobs(body, format, jobs -> {
+            for (Job job : jobs) openJobs.put(map(job));
+            catalogVersion.bump();
+            jobSync.announce(jobs.stream().map(Job::getId).toList());
+            jobCount.addAndGet(jobs.size());
+            for (Job job : jobs) {
+                spatialIndex.put(job);
+                skillIndex.put(job);
+            }
+        });
     }
 
     public void deleteJob(Long id) {
         Job job = jobRepository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException("Job not found: " + id));
         jobRepository.delete(job);
+        jsonCache.evict(id);
+        openJobs.remove(id);
+        catalogVersion.bump();
+        jobSync.announce(id);
+        jobCount.decrementAndGet();
+        spatialIndex.remove(id);
+        skillIndex.remove(id);
     }
 
     public JobResponse getJobById(Long id) {
@@ -161,20 +285,112 @@ public class JobServiceImpl implements JobService {
         return map(job);
     }
 
+    @Transactional(readOnly = true)
     public List<JobResponse> getJobsByOwner(Long ownerId) {
-        return jobRepository.findByOwnerId(ownerId).stream().map(this::map).collect(Collectors.toList());
+        return jobRepository.findResponsesByOwnerId(ownerId);
     }
 
-    public List<JobResponse> searchBySkill(String skill) {
-        return jobRepository.findBySkillNeededContainingIgnoreCase(skill).stream().map(this::map).collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public EncodedJsonArray getJobsByOwnerJson(Long ownerId) {
+        JobJsonCache.Snapshot snapshot = jsonCache.snapshot();
+        return jsonCache.encode(jobRepository.findResponsesByOwnerId(ownerId), snapshot);
+    }
+
+    public List<JobResponse> searchBySkill(String query, int limit) {
+        return searchJobs(query, limit).stream().map(JobServiceImpl::map).collect(Collectors.toList());
     }
 
     @Override
-    public List<JobResponse> getAllJobs() {
-        return jobRepository.findAll()
+    public EncodedJsonArray searchBySkillJson(String query, int limit) {
+        JobJsonCache.Snapshot snapshot = jsonCache.snapshot();
+        return jsonCache.encodeJobs(searchJobs(query, limit), snapshot);
+    }
+
+    private List<Job> searchJobs(String query, int limit) {
+        List<Long> ids = skillIndex.search(query, limit);
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Job> jobs = jobRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+        // keep the index's ranking; skip ids deleted since the lookup
+        List<Job> out = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Job job = jobs.get(id);
+            if (job != null) out.add(job);
+        }
+        return out;
+    }
+
+    public List<JobResponse> findNearby(double lat, double lon, double radiusKm, int limit, String skill, String status) {
+        return nearbyJobs(lat, lon, radiusKm, limit, skill, status).stream().map(JobServiceImpl::map).collect(Collectors.toList());
+    }
+
+    @Override
+    public EncodedJsonArray findNearbyJson(double lat, double lon, double radiusKm, int limit, String skill, String status) {
+        JobJsonCache.Snapshot snapshot = jsonCache.snapshot();
+        return jsonCache.encodeJobs(nearbyJobs(lat, lon, radiusKm, limit, skill, status), snapshot);
+    }
+
+    private List<Job> nearbyJobs(double lat, double lon, double radiusKm, int limit, String skill, String status) {
+        List<JobSpatialIndex.Hit> hits = spatialIndex.nearby(lat, lon, radiusKm, limit, skill, status);
+        if (hits.isEmpty()) return List.of();
+        Map<Long, Job> jobs = jobRepository.findAllById(hits.stream().map(JobSpatialIndex.Hit::id).toList())
                 .stream()
-                .map(this::map)
-                .collect(Collectors.toList());
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+        // keep the index's distance ordering; skip ids deleted since the lookup
+        List<Job> out = new ArrayList<>(hits.size());
+        for (JobSpatialIndex.Hit hit : hits) {
+            Job job = jobs.get(hit.id());
+            if (job != null) out.add(job);
+        }
+        return out;
+    }
+
+    // Projection: the response columns straight into DTOs, no Job entities to load, cache or dirty-check
+    @Override
+    @Transactional(readOnly = true)
+    public List<JobResponse> getAllJobs() {
+        return jobRepository.findAllResponses();
+    }
+
+    // Same body as getAllJobs, assembled from JobJsonCache instead of serializing every job again
+    @Override
+    @Transactional(readOnly = true)
+    public EncodedJsonArray getAllJobsJson() {
+        JobJsonCache.Snapshot snapshot = jsonCache.snapshot();
+        return jsonCache.encode(jobRepository.findAllResponses(), snapshot);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<JobResponse> getJobsPage(Long after, int limit) {
+        List<JobResponse> items = jobRepository.findResponsesAfter(after == null ? 0L : after, Limit.of(limit));
+        Long next = items.size() == limit ? items.get(items.size() - 1).getId() : null;
+        return new CursorPage<>(items, next);
+    }
+
+    // Straight from OpenJobFeed: no query
+    @Override
+    public CursorPage<JobResponse> getOpenJobsPage(Long after, int limit) {
+        return openJobs.page(after, limit);
     }
 
+    @Override
+    public long countJobs() {
+        long count = jobCount.get();
+        if (count < 0) {
+            // not loaded yet (first call before the app finished starting)
+            resyncJobCount();
+            count = jobCount.get();
+        }
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllJobs(Consumer<JobResponse> sink) {
+        try (Stream<JobResponse> jobs = jobRepository.streamAllResponses()) {
+            jobs.forEach(sink);
+        }
+    }
 }
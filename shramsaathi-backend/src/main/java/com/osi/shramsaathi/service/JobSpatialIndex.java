@@ -0,0 +1,196 @@
+package com.osi.shramsaathi.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.osi.shramsaathi.model.Job;
+
+/**
+ * In-memory grid index over job coordinates.
+ * Jobs are bucketed into fixed lat/lon cells (~2.2 km) so a radius query only
+ * inspects the handful of cells overlapping the search circle instead of the whole table.
+ */
+@Component
+public class JobSpatialIndex {
+
+    static final double CELL_DEGREES = 0.02;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private final ConcurrentHashMap<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Entry>> cells = new ConcurrentHashMap<>();
+
+    public static final class Entry {
+        final long id;
+        final long cell;
+        final String skill;
+        final String status;
+        // unit-sphere coordinates, so ranking needs no trigonometry per candidate
+        final double x;
+        final double y;
+        final double z;
+
+        Entry(long id, double lat, double lon, String skill, String status) {
+            this.id = id;
+            this.cell = cellKey(lat, lon);
+            this.skill = skill == null ? "" : skill.toLowerCase(Locale.ROOT);
+            this.status = status == null ? "" : status.toLowerCase(Locale.ROOT);
+            double phi = Math.toRadians(lat);
+            double lambda = Math.toRadians(lon);
+            this.x = Math.cos(phi) * Math.cos(lambda);
+            this.y = Math.cos(phi) * Math.sin(lambda);
+            this.z = Math.sin(phi);
+        }
+    }
+
+    /** A matching job id and its great-circle distance from the query point. */
+    public record Hit(long id, double distanceKm) {}
+
+    // Insert or move a job; jobs without coordinates are dropped from the index
+    public void put(Job job) {
+        if (job.getId() == null) return;
+        if (job.getLatitude() == null || job.getLongitude() == null) {
+            remove(job.getId());
+            return;
+        }
+        put(job.getId(), job.getLatitude(), job.getLongitude(), job.getSkillNeeded(), job.getStatus().value());
+    }
+
+    public void put(long id, double lat, double lon, String skill, String status) {
+        Entry next = new Entry(id, lat, lon, skill, status);
+        byId.compute(id, (k, prev) -> {
+            if (prev != null) detach(prev);
+            cells.compute(next.cell, (c, set) -> {
+                Set<Entry> s = set != null ? set : ConcurrentHashMap.newKeySet();
+                s.add(next);
+                return s;
+            });
+            return next;
+        });
+    }
+
+    public void remove(long id) {
+        byId.computeIfPresent(id, (k, prev) -> {
+            detach(prev);
+            return null;
+        });
+    }
+
+    public void clear() {
+        byId.clear();
+        cells.clear();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Jobs within {@code radiusKm} of the point, nearest first.
+     * {@code skill} is a case-insensitive substring filter and {@code status} an exact one; either may be null.
+     * Cells are scanned in rings outward from the query cell and the scan stops as soon as
+     * no unvisited cell can hold anything closer than the current {@code limit}-th hit.
+     */
+    public List<Hit> nearby(double lat, double lon, double radiusKm, int limit, String skill, String status) {
+        if (limit <= 0 || radiusKm <= 0) return Collections.emptyList();
+        String skillFilter = skill == null || skill.isBlank() ? null : skill.toLowerCase(Locale.ROOT).trim();
+        String statusFilter = status == null || status.isBlank() ? null : status.toLowerCase(Locale.ROOT).trim();
+
+        double dLat = radiusKm / KM_PER_DEGREE_LAT;
+        double cosEdge = Math.max(Math.cos(Math.toRadians(Math.min(Math.abs(lat) + dLat, 89.9))), 0.01);
+        double dLon = Math.min(radiusKm / (KM_PER_DEGREE_LAT * cosEdge), 180);
+        // smallest cell side anywhere inside the search box
+        double cellKm = CELL_DEGREES * KM_PER_DEGREE_LAT * cosEdge;
+
+        int centreLat = cellIndex(lat, 90);
+        int centreLon = cellIndex(lon, 180);
+        int minLat = cellIndex(lat - dLat, 90);
+        int maxLat = cellIndex(lat + dLat, 90);
+        int minLon = cellIndex(lon - dLon, 180);
+        int maxLon = cellIndex(lon + dLon, 180);
+        int maxRing = Math.max(Math.max(centreLat - minLat, maxLat - centreLat),
+                Math.max(centreLon - minLon, maxLon - centreLon));
+
+        double phi = Math.toRadians(lat);
+        double lambda = Math.toRadians(lon);
+        double qx = Math.cos(phi) * Math.cos(lambda);
+        double qy = Math.cos(phi) * Math.sin(lambda);
+        double qz = Math.sin(phi);
+        double maxChord2 = chord2(radiusKm);
+
+        // max-heap on chord length so the farthest of the current best `limit` is evicted first
+        PriorityQueue<double[]> best = new PriorityQueue<>(limit, (a, b) -> Double.compare(b[0], a[0]));
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int la = Math.max(centreLat - ring, minLat); la <= Math.min(centreLat + ring, maxLat); la++) {
+                boolean edgeRow = la == centreLat - ring || la == centreLat + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int lo = centreLon - ring; lo <= centreLon + ring; lo += Math.max(step, 1)) {
+                    if (lo < minLon || lo > maxLon) continue;
+                    Set<Entry> cell = cells.get(pack(la, lo));
+                    if (cell == null) continue;
+                    for (Entry e : cell) {
+                        double dx = e.x - qx, dy = e.y - qy, dz = e.z - qz;
+                        double c2 = dx * dx + dy * dy + dz * dz;
+                        if (c2 > maxChord2) continue;
+                        if (best.size() == limit && c2 >= best.peek()[0]) continue;
+                        if (statusFilter != null && !statusFilter.equals(e.status)) continue;
+                        if (skillFilter != null && !e.skill.contains(skillFilter)) continue;
+                        if (best.size() == limit) best.poll();
+                        best.add(new double[] { c2, e.id });
+                    }
+                }
+            }
+            // every cell in the next ring is at least `ring` whole cells away from the query point
+            if (best.size() == limit && best.peek()[0] <= chord2(ring * cellKm)) break;
+        }
+
+        List<Hit> out = new ArrayList<>(best.size());
+        for (double[] b : best) {
+            out.add(new Hit((long) b[1], 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(b[0]) / 2))));
+        }
+        out.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return out;
+    }
+
+    // squared straight-line distance through the unit sphere for a surface distance in km
+    private static double chord2(double km) {
+        double c = 2 * Math.sin(Math.min(km / EARTH_RADIUS_KM, Math.PI) / 2);
+        return c * c;
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void detach(Entry e) {
+        cells.computeIfPresent(e.cell, (c, set) -> {
+            set.remove(e);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    static long cellKey(double lat, double lon) {
+        return pack(cellIndex(lat, 90), cellIndex(lon, 180));
+    }
+
+    private static int cellIndex(double deg, double offset) {
+        return (int) Math.floor((deg + offset) / CELL_DEGREES);
+    }
+
+    private static long pack(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+}
@@ -0,0 +1,173 @@
+package com.osi.shramsaathi.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.osi.shramsaathi.dto.LocationMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Latest-position store for worker GPS fixes, with a coalescing fan-out.
+ * Incoming fixes only replace the worker's slot; a fixed-delay tick broadcasts the newest unsent
+ * fix per worker to /topic/location/{workerId}, at most {@code max-per-second} times per worker.
+ * Fixes overwritten before a tick, out-of-order fixes and moves under the jitter threshold
+ * are never broadcast.
+ */
+@Slf4j
+@Component
+public class LocationTracker {
+
+    static final String TOPIC_PREFIX = "/topic/location/";
+
+    private static final class Slot {
+        LocationMessage latest;
+        LocationMessage pending;
+        LocationMessage lastSent;
+        long lastSentAtMs;
+        long updatedAtMs;
+        boolean purged;
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long minIntervalMs;
+    private final double jitterKm;
+    private final long retentionMs;
+
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    // workers with a pending fix; keeps a tick proportional to active workers, not all known ones
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong jitter = new AtomicLong();
+    private final AtomicLong outOfOrder = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+
+    public LocationTracker(SimpMessagingTemplate messagingTemplate,
+                           @Value("${location.fanout.max-per-second:2}") double maxPerSecond,
+                           @Value("${location.fanout.jitter-meters:10}") double jitterMeters,
+                           @Value("${location.retention-ms:86400000}") long retentionMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.minIntervalMs = (long) Math.ceil(1000 / maxPerSecond);
+        this.jitterKm = jitterMeters / 1000;
+        this.retentionMs = retentionMs;
+    }
+
+    public void update(String workerId, LocationMessage msg) {
+        if (msg == null || msg.lat == null || msg.lon == null) return;
+        received.incrementAndGet();
+        long now = System.currentTimeMillis();
+        LocationMessage fix = new LocationMessage(msg.workerId, msg.lat, msg.lon,
+                msg.timestamp != null ? msg.timestamp : now);
+
+        while (true) {
+            Slot slot = slots.computeIfAbsent(workerId, k -> new Slot());
+            synchronized (slot) {
+                // lost a race with purgeIdle; retry against a fresh slot
+                if (slot.purged) continue;
+                if (slot.latest != null && fix.timestamp < slot.latest.timestamp) {
+                    outOfOrder.incrementAndGet();
+                    return;
+                }
+                slot.latest = fix;
+                slot.updatedAtMs = now;
+                LocationMessage reference = slot.lastSent;
+                if (reference != null
+                        && JobSpatialIndex.haversineKm(reference.lat, reference.lon, fix.lat, fix.lon) < jitterKm) {
+                    // still stored as the last known position, just not worth a broadcast; an unsent
+                    // fix further away is now stale too, since subscribers already see roughly this point
+                    if (slot.pending != null) {
+                        slot.pending = null;
+                        superseded.incrementAndGet();
+                    }
+                    jitter.incrementAndGet();
+                    return;
+                }
+                if (slot.pending != null) superseded.incrementAndGet();
+                slot.pending = fix;
+            }
+            break;
+        }
+        dirty.add(workerId);
+    }
+
+    /** Last known position of the worker, or null if none was received (or it expired). */
+    public LocationMessage latest(String workerId) {
+        Slot slot = slots.get(workerId);
+        if (slot == null) return null;
+        synchronized (slot) {
+            return slot.latest;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${location.fanout.tick-ms:100}")
+    public int flush() {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (Iterator<String> it = dirty.iterator(); it.hasNext(); ) {
+            String workerId = it.next();
+            Slot slot = slots.get(workerId);
+            LocationMessage out;
+            if (slot == null) {
+                it.remove();
+                continue;
+            }
+            synchronized (slot) {
+                if (slot.pending == null) {
+                    it.remove();
+                    continue;
+                }
+                // rate-limited: stays dirty and goes out on a later tick (possibly superseded by then)
+                if (now - slot.lastSentAtMs < minIntervalMs) continue;
+                out = slot.pending;
+                slot.pending = null;
+                slot.lastSent = out;
+                slot.lastSentAtMs = now;
+                it.remove();
+            }
+            try {
+                messagingTemplate.convertAndSend(TOPIC_PREFIX + workerId, out);
+                sent.incrementAndGet();
+                count++;
+            } catch (RuntimeException e) {
+                log.warn("Location broadcast for worker {} failed: {}", workerId, e.getMessage());
+            }
+        }
+        return count;
+    }
+
+    // Forget workers that have gone quiet so the store does not grow without bound
+    @Scheduled(fixedDelayString = "${location.purge-ms:600000}", initialDelayString = "${location.purge-ms:600000}")
+    public void purgeIdle() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        slots.entrySet().removeIf(e -> {
+            Slot slot = e.getValue();
+            synchronized (slot) {
+                if (slot.updatedAtMs >= cutoff) return false;
+                slot.purged = true;
+                return true;
+            }
+        });
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> out = new LinkedHashMap<>();
+        out.put("received", received.get());
+        out.put("sent", sent.get());
+        out.put("superseded", superseded.get());
+        out.put("jitter", jitter.get());
+        out.put("outOfOrder", outOfOrder.get());
+        out.put("workers", (long) slots.size());
+        return out;
+    }
+}
@@ -0,0 +1,145 @@
+package com.osi.shramsaathi.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.exception.GeocodingException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Geocoder backed by the OpenStreetMap Nominatim search API
+@Component
+public class NominatimGeocoder implements Geocoder {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    // Nominatim's usage policy allows at most one request per second
+    private final long minIntervalMs;
+    // a lock rather than synchronized: the throttle sleeps, which would pin a virtual thread
+    private final ReentrantLock throttleLock = new ReentrantLock();
+    private long lastCallAt;
+    // geocoder.nominatim.requests by outcome; the throttle wait is not included
+    private final Timer found;
+    private final Timer notFound;
+    private final Timer failed;
+
+    // clientExecutor is the virtual-thread executor in virtual-thread mode (ThreadingConfig), else HttpClient's own pool
+    public NominatimGeocoder(
+            @Value("${geocoding.nominatim.url:https://nominatim.openstreetmap.org}") String baseUrl,
+            @Value("${geocoding.nominatim.timeout-ms:5000}") long timeoutMs,
+            @Value("${geocoding.nominatim.min-interval-ms:1000}") long minIntervalMs,
+            @Qualifier("blockingIoExecutor") ObjectProvider<Executor> clientExecutor,
+            MeterRegistry meterRegistry) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.requestTimeout = Duration.ofMillis(timeoutMs);
+        this.minIntervalMs = minIntervalMs;
+        HttpClient.Builder builder = HttpClient.newBuilder().connectTimeout(requestTimeout);
+        clientExecutor.ifAvailable(builder::executor);
+        this.httpClient = builder.build();
+        this.found = timer(meterRegistry, "found");
+        this.notFound = timer(meterRegistry, "not_found");
+        this.failed = timer(meterRegistry, "error");
+    }
+
+    private Timer timer(MeterRegistry registry, String outcome) {
+        return Timer.builder("geocoder.nominatim.requests")
+                .description("Nominatim search calls")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(requestTimeout.multipliedBy(2))
+                .register(registry);
+    }
+
+    @Override
+    public double[] geocode(String query) {
+        try {
+            throttle();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeocodingException("Interrupted while geocoding", e);
+        }
+        long start = System.nanoTime();
+        try {
+            double[] coords = search(query);
+            (coords != null ? found : notFound).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return coords;
+        } catch (GeocodingException e) {
+            failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private double[] search(String query) {
+        String url = baseUrl + "/search?format=json&limit=1&addressdetails=1&q="
+                + URLEncoder.encode(query, StandardCharsets.UTF_8);
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(requestTimeout)
+                .header("User-Agent", "ShramSaathi/1.0")
+                .GET()
+                .build();
+
+        HttpResponse<String> resp;
+        try {
+            resp = httpClient.send(req, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new GeocodingException("Nominatim request failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeocodingException("Interrupted while geocoding", e);
+        }
+        if (resp.statusCode() != 200) {
+            throw new GeocodingException("Nominatim returned HTTP " + resp.statusCode());
+        }
+
+        try {
+            JsonNode arr = objectMapper.readTree(resp.body());
+            if (!arr.isArray() || arr.size() == 0) return null;
+            JsonNode node = arr.get(0);
+            double lat = node.get("lat").asDouble();
+            double lon = node.get("lon").asDouble();
+            // simple bounding check for India
+            if (lat >= 6 && lat <= 38 && lon >= 68 && lon <= 98) {
+                return new double[] { lat, lon };
+            }
+            // if address shows country_code == in, accept
+            if (node.has("address") && node.get("address").has("country_code")
+                    && "in".equalsIgnoreCase(node.get("address").get("country_code").asText())) {
+                return new double[] { lat, lon };
+            }
+            return null;
+        } catch (IOException | NullPointerException e) {
+            throw new GeocodingException("Unreadable Nominatim response", e);
+        }
+    }
+
+    private void throttle() throws InterruptedException {
+        throttleLock.lockInterruptibly();
+        try {
+            long wait = lastCallAt + minIntervalMs - System.currentTimeMillis();
+            if (wait > 0) Thread.sleep(wait);
+            lastCallAt = System.currentTimeMillis();
+        } finally {
+            throttleLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.osi.shramsaathi.service;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Single-node deployments (cluster.mode=none): nothing to relay
+public class NoopClusterBus implements ClusterBus {
+
+    @Override
+    public void start(Consumer<Message> receiver) {
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public void publish(Message message) {
+    }
+
+    @Override
+    public void interestAdded(String destination) {
+    }
+
+    @Override
+    public void interestRemoved(String destination) {
+    }
+
+    @Override
+    public Map<String, Long> stats() {
+        return Map.of("peers", 0L);
+    }
+}
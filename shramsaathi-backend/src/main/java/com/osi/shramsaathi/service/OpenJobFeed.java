@@ -0,0 +1,120 @@
+package com.osi.shramsaathi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.osi.shramsaathi.dto.CursorPage;
+import com.osi.shramsaathi.dto.JobResponse;
+import com.osi.shramsaathi.model.JobStatus;
+
+/**
+ * Every open job, newest first (createdAt, then id), held in memory so "latest open jobs" pages need no
+ * query. Loaded once at startup, then kept current by the job writers after each commit: a job enters on
+ * create/import, is replaced when edited or geocoded, and leaves when its status moves off OPEN or it is
+ * deleted. Entries are never changed in place, so a page being read is never seen half-updated.
+ * Writes on other nodes reach it through JobChangeSync.
+ */
+@Component
+public class OpenJobFeed {
+
+    // How long a job that left the feed still works as a page cursor
+    private static final Duration CURSOR_MEMORY = Duration.ofMinutes(30);
+
+    private record Key(LocalDateTime createdAt, long id) {}
+
+    private static final Comparator<Key> NEWEST_FIRST = Comparator
+            .comparing(Key::createdAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(Key::id, Comparator.reverseOrder());
+
+    private final ConcurrentSkipListMap<Key, JobResponse> feed = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+    // job id -> its position; writes for one job go through here, one at a time
+    private final ConcurrentHashMap<Long, Key> keys = new ConcurrentHashMap<>();
+    // positions of jobs that left the feed, so a client paging past one resumes in the right place
+    private final Cache<Long, Key> departed = Caffeine.newBuilder()
+            .expireAfterWrite(CURSOR_MEMORY)
+            .maximumSize(100_000)
+            .executor(Runnable::run)
+            .build();
+
+    public void clear() {
+        feed.clear();
+        keys.clear();
+    }
+
+    // Add or replace the job if it is open, drop it otherwise
+    public void put(JobResponse job) {
+        if (job.getId() == null) return;
+        if (job.getStatus() != JobStatus.OPEN) {
+            remove(job.getId());
+            return;
+        }
+        Key key = new Key(job.getCreatedAt(), job.getId());
+        keys.compute(job.getId(), (id, previous) -> {
+            if (previous != null && !previous.equals(key)) feed.remove(previous);
+            feed.put(key, job);
+            return key;
+        });
+    }
+
+    public void remove(Long id) {
+        keys.computeIfPresent(id, (k, key) -> {
+            feed.remove(key);
+            departed.put(id, key);
+            return null;
+        });
+    }
+
+    // Replace a listed job with a changed copy; nothing happens if it is not in the feed
+    public void update(Long id, Consumer<JobResponse> change) {
+        keys.computeIfPresent(id, (k, key) -> {
+            feed.computeIfPresent(key, (same, job) -> changed(job, change));
+            return key;
+        });
+    }
+
+    /**
+     * Up to {@code limit} open jobs, newest first, starting after job {@code after} (null for the newest).
+     * The cursor may be a job that has since left the feed; one unknown for longer than CURSOR_MEMORY
+     * ends the listing with an empty page rather than starting it over.
+     */
+    public CursorPage<JobResponse> page(Long after, int limit) {
+        NavigableMap<Key, JobResponse> from = feed;
+        if (after != null) {
+            Key key = keys.get(after);
+            if (key == null) key = departed.getIfPresent(after);
+            if (key == null) return new CursorPage<>(List.of(), null);
+            from = feed.tailMap(key, false);
+        }
+        List<JobResponse> items = new ArrayList<>(Math.min(limit, 64));
+        for (JobResponse job : from.values()) {
+            items.add(job);
+            if (items.size() == limit) break;
+        }
+        Long next = items.size() == limit ? items.get(items.size() - 1).getId() : null;
+        return new CursorPage<>(items, next);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private static JobResponse changed(JobResponse job, Consumer<JobResponse> change) {
+        JobResponse copy = new JobResponse(job.getId(), job.getOwnerId(), job.getTitle(), job.getSkillNeeded(),
+                job.getLocation(), job.getPay(), job.getDuration(), job.getStatus(), job.getCreatedAt(),
+                job.getPincode(), job.getArea(), job.getColony(), job.getState(), job.getLatitude(),
+                job.getLongitude(), job.getGeocodeStatus());
+        change.accept(copy);
+        return copy;
+    }
+}
@@ -1,10 +1,14 @@
 package com.osi.shramsaathi.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.osi.shramsaathi.dto.CursorPage;
 import com.osi.shramsaathi.dto.OwnerRequest;
 import com.osi.shramsaathi.dto.OwnerResponse;
 import com.osi.shramsaathi.model.Owner;
@@ -17,8 +21,13 @@ import lombok.RequiredArgsConstructor;
 public class OwnerService {
 
     private final OwnerRepository ownerRepository;
+    private final PhoneRegistry phoneRegistry;
 
+    @Transactional
     public OwnerResponse register(OwnerRequest request) {
+        String phone = PhoneRegistry.normalize(request.getPhone());
+        if (phone == null) throw new IllegalArgumentException("Invalid phone number: " + request.getPhone());
+        phoneRegistry.requireFree(phone, SessionTokenService.Role.OWNER);
         // Generate a default password if not provided
         String password = request.getPassword() != null && !request.getPassword().isEmpty() 
             ? request.getPassword() 
@@ -37,16 +46,31 @@ public class OwnerService {
                 .build();
 
         ownerRepository.save(owner);
+        phoneRegistry.claim(phone, SessionTokenService.Role.OWNER, owner.getId());
         return mapToResponse(owner);
     }
 
+    // Projection: no Owner entities (or password hashes) loaded, nothing to dirty-check
+    @Transactional(readOnly = true)
     public List<OwnerResponse> getAllOwnerResponses() {
-        return ownerRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return ownerRepository.findAllResponses();
     }
 
-    private OwnerResponse mapToResponse(Owner owner) {
+    @Transactional(readOnly = true)
+    public CursorPage<OwnerResponse> getOwnersPage(Long after, int limit) {
+        List<OwnerResponse> items = ownerRepository.findResponsesAfter(after == null ? 0L : after, Limit.of(limit));
+        Long next = items.size() == limit ? items.get(items.size() - 1).getId() : null;
+        return new CursorPage<>(items, next);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllOwners(Consumer<OwnerResponse> sink) {
+        try (Stream<OwnerResponse> owners = ownerRepository.streamAllResponses()) {
+            owners.forEach(sink);
+        }
+    }
+
+    public static OwnerResponse mapToResponse(Owner owner) {
         return OwnerResponse.builder()
                 .id(owner.getId())
                 .name(owner.getName())
@@ -0,0 +1,65 @@
+package com.osi.shramsaathi.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over normalized phone numbers (digit strings of up to 15 digits).
+ * {@code mightContain} never answers false for a phone that was {@code put}; it answers true for
+ * a phone that was not with probability about {@code fpp} while under {@code expected} entries.
+ */
+final class PhoneBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashes;
+
+    PhoneBloomFilter(long expected, double fpp) {
+        long bits = (long) Math.ceil(-Math.max(expected, 1) * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bitCount / Math.max(expected, 1) * Math.log(2)));
+    }
+
+    void put(String phone) {
+        long hash = hash(phone);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            words.accumulateAndGet((int) (bit >>> 6), mask, (a, b) -> a | b);
+        }
+    }
+
+    boolean mightContain(String phone) {
+        long hash = hash(phone);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    private long index(int combined) {
+        return (combined & 0x7fffffffL) % bitCount;
+    }
+
+    // SplitMix64 finalizer over the digits read as a number
+    private static long hash(String phone) {
+        long z = Long.parseLong(phone) + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,173 @@
+package com.osi.shramsaathi.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.osi.shramsaathi.exception.DuplicateRegistrationException;
+import com.osi.shramsaathi.service.SessionTokenService.Role;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Which phone numbers are registered, as worker or owner, in registered_phones.
+ * Registration claims the normalized phone in the same transaction that inserts the account, so
+ * the table's primary key rejects a second registration even when two arrive at once.
+ * A Bloom filter of every registered phone answers "definitely new" for most sign-ups without a
+ * query; only possible hits pay for the one primary-key probe.
+ */
+@Slf4j
+@Component
+public class PhoneRegistry {
+
+    private static final String INSERT_SQL = "insert into registered_phones (phone, role, account_id) values (?, ?, ?)";
+    private static final String ROLE_SQL = "select role from registered_phones where phone = ?";
+    private static final int BACKFILL_BATCH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PhoneBloomFilter bloom;
+    // until the filter is loaded every check goes to the database
+    private volatile boolean bloomReady;
+
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong probes = new AtomicLong();
+    private final AtomicLong claims = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PhoneRegistry(JdbcTemplate jdbcTemplate,
+                         @Value("${registration.bloom.expected:1000000}") long expected,
+                         @Value("${registration.bloom.fpp:0.01}") double fpp) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bloom = new PhoneBloomFilter(expected, fpp);
+    }
+
+    /**
+     * Digits only, with an Indian +91 / 0 trunk prefix dropped from 10-digit mobile numbers,
+     * so "+91 98480 22338", "098480-22338" and "9848022338" are the same phone.
+     * Null when there are not 8 to 15 digits.
+     */
+    public static String normalize(String phone) {
+        if (phone == null) return null;
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') digits.append(c);
+        }
+        if (digits.length() == 12 && digits.charAt(0) == '9' && digits.charAt(1) == '1') digits.delete(0, 2);
+        else if (digits.length() == 11 && digits.charAt(0) == '0') digits.deleteCharAt(0);
+        return digits.length() >= 8 && digits.length() <= 15 ? digits.toString() : null;
+    }
+
+    /** Role the phone is registered under, or null if it is free. */
+    public Role registeredAs(String normalizedPhone) {
+        checks.incrementAndGet();
+        if (bloomReady && !bloom.mightContain(normalizedPhone)) return null;
+        probes.incrementAndGet();
+        List<String> roles = jdbcTemplate.queryForList(ROLE_SQL, String.class, normalizedPhone);
+        return roles.isEmpty() ? null : Role.valueOf(roles.get(0));
+    }
+
+    /** Fails fast, before any password hashing, when the phone is already taken. */
+    public void requireFree(String normalizedPhone, Role attempted) {
+        Role existing = registeredAs(normalizedPhone);
+        if (existing != null) {
+            rejected.incrementAndGet();
+            throw new DuplicateRegistrationException(existing, attempted);
+        }
+    }
+
+    /**
+     * Records the phone for a just-inserted account. Must run in the transaction that inserted it:
+     * on a duplicate this throws, and the account insert rolls back with it.
+     */
+    public void claim(String normalizedPhone, Role role, Long accountId) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, normalizedPhone, role.name(), accountId);
+        } catch (DuplicateKeyException e) {
+            rejected.incrementAndGet();
+            List<String> roles = jdbcTemplate.queryForList(ROLE_SQL, String.class, normalizedPhone);
+            throw new DuplicateRegistrationException(roles.isEmpty() ? role : Role.valueOf(roles.get(0)), role);
+        }
+        // before commit, so a rolled-back claim leaves a false positive at worst
+        bloom.put(normalizedPhone);
+        claims.incrementAndGet();
+    }
+
+    /**
+     * Fills the Bloom filter from registered_phones, first adding rows for accounts created before the
+     * table existed. Legacy duplicates keep the first account (workers before owners, lowest id first).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        JdbcTemplate scan = new JdbcTemplate(jdbcTemplate.getDataSource());
+        scan.setFetchSize(1000);
+        long[] loaded = { 0 };
+        scan.query("select phone from registered_phones", rs -> {
+            bloom.put(rs.getString(1));
+            loaded[0]++;
+        });
+        long added = backfill(scan, "select id, phone from users order by id", Role.WORKER)
+                + backfill(scan, "select id, phone from owners order by id", Role.OWNER);
+        bloomReady = true;
+        log.info("Phone registry loaded: {} phones, {} backfilled, Bloom filter {} bits x {} hashes",
+                loaded[0] + added, added, bloom.bitCount(), bloom.hashes());
+    }
+
+    private long backfill(JdbcTemplate scan, String sql, Role role) {
+        List<Object[]> pending = new ArrayList<>(BACKFILL_BATCH);
+        long[] added = { 0 };
+        scan.query(sql, rs -> {
+            String phone = normalize(rs.getString(2));
+            if (phone == null) return;
+            if (bloom.mightContain(phone)) {
+                // possibly taken: settle it against the table, including rows still pending here
+                added[0] += insert(pending);
+                if (!jdbcTemplate.queryForList(ROLE_SQL, String.class, phone).isEmpty()) return;
+            }
+            pending.add(new Object[] { phone, role.name(), rs.getLong(1) });
+            bloom.put(phone);
+            if (pending.size() == BACKFILL_BATCH) added[0] += insert(pending);
+        });
+        added[0] += insert(pending);
+        return added[0];
+    }
+
+    private int insert(List<Object[]> rows) {
+        if (rows.isEmpty()) return 0;
+        int inserted;
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            inserted = rows.size();
+        } catch (DuplicateKeyException e) {
+            // a registration claimed one of these meanwhile; fall back to one at a time
+            inserted = 0;
+            for (Object[] row : rows) {
+                try {
+                    inserted += jdbcTemplate.update(INSERT_SQL, row);
+                } catch (DuplicateKeyException ignored) {
+                    // already registered
+                }
+            }
+        }
+        rows.clear();
+        return inserted;
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> out = new LinkedHashMap<>();
+        out.put("checks", checks.get());
+        out.put("probes", probes.get());
+        out.put("claims", claims.get());
+        out.put("rejected", rejected.get());
+        return out;
+    }
+}
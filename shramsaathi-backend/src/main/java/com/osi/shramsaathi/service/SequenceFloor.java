@@ -0,0 +1,46 @@
+package com.osi.shramsaathi.service;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves a pooled id sequence past the ids already in its table, for tables that used to have IDENTITY
+ * ids. With the pooled optimizer a sequence value is the top of its block, hence max(id) + allocationSize.
+ */
+@Slf4j
+final class SequenceFloor {
+
+    private SequenceFloor() {}
+
+    static void raise(JdbcTemplate jdbcTemplate, String table, String sequence, int allocationSize) {
+        try {
+            Long max = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+            if (max == null) return;
+            long floor = max + allocationSize;
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            switch (database) {
+                // MySQL has no sequences; Hibernate keeps the next value in a one-row table named after it
+                case "MySQL" -> {
+                    if (jdbcTemplate.update("update " + sequence + " set next_val = ? where next_val < ?", floor, floor) > 0) {
+                        log.info("Moved {} to {} (max {} id {})", sequence, floor, table, max);
+                    }
+                }
+                case "H2" -> {
+                    Long next = jdbcTemplate.queryForObject(
+                            "select base_value from information_schema.sequences where sequence_name = ?",
+                            Long.class, sequence.toUpperCase());
+                    if (next != null && next < floor) {
+                        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + floor);
+                        log.info("Moved {} to {} (max {} id {})", sequence, floor, table, max);
+                    }
+                }
+                default -> log.warn("Not checking {} against max(id) on {}; make sure it is above {}", sequence, database, max);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not check {} against existing {} ids: {}", sequence, table, e.getMessage());
+        }
+    }
+}
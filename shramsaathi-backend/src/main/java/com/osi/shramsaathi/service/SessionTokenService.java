@@ -0,0 +1,123 @@
+package com.osi.shramsaathi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stateless session tokens issued at login: {@code base64url(role:id:expiry).base64url(hmac)}.
+ * Verifying one is an HMAC-SHA256 over a few bytes, with no database or BCrypt work, so a
+ * client can hold the token instead of re-sending credentials.
+ * The key comes from auth.token.secret; every node that should accept a token needs the same one.
+ * Without it a random key is generated, and tokens stop working on restart.
+ */
+@Slf4j
+@Component
+public class SessionTokenService {
+
+    public enum Role { WORKER, OWNER }
+
+    /** Who a valid token was issued to. */
+    public record Session(Role role, long id, Instant expiresAt) {
+    }
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // Mac is not thread-safe; each call works on a clone of this keyed prototype
+    private final Mac prototype;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public SessionTokenService(@Value("${auth.token.secret:}") String secret,
+                               @Value("${auth.token.ttl:PT12H}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    SessionTokenService(String secret, Duration ttl, Clock clock) {
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            log.warn("auth.token.secret not set; using a random key, session tokens will not survive a restart");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+            if (key.length < 32) throw new IllegalArgumentException("auth.token.secret must be at least 32 bytes");
+        }
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(new SecretKeySpec(key, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        }
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public String issue(Role role, long id) {
+        long expiry = clock.instant().plus(ttl).getEpochSecond();
+        byte[] payload = (role.name().charAt(0) + ":" + id + ":" + expiry).getBytes(StandardCharsets.US_ASCII);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /** The session a token stands for, or null if it is malformed, tampered with or expired. */
+    public Session verify(String token) {
+        if (token == null) return null;
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) return null;
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) return null;
+
+        String[] parts = new String(payload, StandardCharsets.US_ASCII).split(":");
+        if (parts.length != 3) return null;
+        Role role = switch (parts[0]) {
+            case "W" -> Role.WORKER;
+            case "O" -> Role.OWNER;
+            default -> null;
+        };
+        if (role == null) return null;
+        try {
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[2]));
+            if (!clock.instant().isBefore(expiresAt)) return null;
+            return new Session(role, Long.parseLong(parts[1]), expiresAt);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(payload);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " Mac not cloneable", e);
+        }
+    }
+}
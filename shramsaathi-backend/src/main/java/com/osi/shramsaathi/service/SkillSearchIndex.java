@@ -0,0 +1,259 @@
+package com.osi.shramsaathi.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.stereotype.Component;
+
+import com.osi.shramsaathi.model.Job;
+
+/**
+ * Trigram index over the words of each job's skillNeeded and title.
+ * Postings map trigram -> distinct word, and each word keeps the ids of the jobs using it, so a
+ * query only scores the (small) vocabulary and then walks job ids of the best words.
+ * Words are folded before indexing so common transliteration variants ("mestri", "mistry",
+ * "mistri") meet, and near misses still match through trigram overlap.
+ */
+@Component
+public class SkillSearchIndex {
+
+    static final double MIN_SIMILARITY = 0.3;
+    private static final double SKILL_WEIGHT = 2.0;
+    private static final double TITLE_WEIGHT = 1.0;
+
+    // Cross-language words for the same trade; a job using a key also matches searches for its values.
+    // Keys and values are folded like any other word (see fold) when the table is built.
+    private static final Map<String, List<String>> SYNONYMS = folded(Map.of(
+            "mistri", List.of("mason"),
+            "rajmistri", List.of("mason"),
+            "badhai", List.of("carpenter"),
+            "vadrangi", List.of("carpenter"),
+            "kuli", List.of("labour", "helper"),
+            "coolie", List.of("labour", "helper"),
+            "bijli", List.of("electrician"),
+            "rangrez", List.of("painter"),
+            "darji", List.of("tailor"),
+            "mali", List.of("gardener")));
+
+    static final class Word {
+        final String text;
+        final Set<String> grams;
+        final NavigableSet<Long> skillJobs = new ConcurrentSkipListSet<>(Comparator.reverseOrder());
+        final NavigableSet<Long> titleJobs = new ConcurrentSkipListSet<>(Comparator.reverseOrder());
+
+        Word(String text) {
+            this.text = text;
+            this.grams = trigrams(text);
+        }
+    }
+
+    private record Indexed(Set<String> skillWords, Set<String> titleWords) {}
+
+    private record Match(Word word, double score) {}
+
+    private final ConcurrentHashMap<String, Word> words = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Word>> postings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Indexed> jobs = new ConcurrentHashMap<>();
+
+    public void put(Job job) {
+        if (job.getId() == null) return;
+        put(job.getId(), job.getSkillNeeded(), job.getTitle());
+    }
+
+    public void put(long id, String skill, String title) {
+        Indexed next = new Indexed(indexWords(skill), indexWords(title));
+        jobs.compute(id, (k, prev) -> {
+            if (prev != null) unlink(id, prev);
+            next.skillWords().forEach(w -> word(w).skillJobs.add(id));
+            next.titleWords().forEach(w -> word(w).titleJobs.add(id));
+            return next;
+        });
+    }
+
+    public void remove(long id) {
+        jobs.computeIfPresent(id, (k, prev) -> {
+            unlink(id, prev);
+            return null;
+        });
+    }
+
+    public void clear() {
+        jobs.clear();
+        words.clear();
+        postings.clear();
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    /**
+     * Job ids best matching the query, highest score first (newest first on ties).
+     * Each query word scores every indexed word sharing a trigram with it: exact 1.0, substring
+     * 0.6-0.9 by length ratio, otherwise trigram Jaccard similarity above {@link #MIN_SIMILARITY}.
+     * Skill matches count double title matches; multi-word queries add up per word.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> queryWords = new ArrayList<>(tokenize(query));
+        if (queryWords.isEmpty() || limit <= 0) return Collections.emptyList();
+
+        List<List<Match>> perWord = new ArrayList<>(queryWords.size());
+        for (String q : queryWords) {
+            List<Match> matches = match(q);
+            if (!matches.isEmpty()) perWord.add(matches);
+        }
+        if (perWord.isEmpty()) return Collections.emptyList();
+        if (perWord.size() == 1) return topForSingleWord(perWord.get(0), limit);
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (List<Match> matches : perWord) {
+            // best score per job for this query word, then summed across query words
+            Map<Long, Double> best = new HashMap<>();
+            for (Match m : matches) {
+                for (Long id : m.word().skillJobs) best.merge(id, m.score() * SKILL_WEIGHT, Math::max);
+                for (Long id : m.word().titleJobs) best.merge(id, m.score() * TITLE_WEIGHT, Math::max);
+            }
+            best.forEach((id, s) -> scores.merge(id, s, Double::sum));
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()));
+        List<Long> out = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) out.add(ranked.get(i).getKey());
+        return out;
+    }
+
+    // One query word: walk (word, field) postings from best to worst score; no per-job scoring needed
+    private List<Long> topForSingleWord(List<Match> matches, int limit) {
+        record Source(Iterable<Long> ids, double score) {}
+        List<Source> sources = new ArrayList<>(matches.size() * 2);
+        for (Match m : matches) {
+            sources.add(new Source(m.word().skillJobs, m.score() * SKILL_WEIGHT));
+            sources.add(new Source(m.word().titleJobs, m.score() * TITLE_WEIGHT));
+        }
+        sources.sort(Comparator.comparingDouble(Source::score).reversed());
+        Set<Long> out = new LinkedHashSet<>();
+        for (Source source : sources) {
+            Iterator<Long> it = source.ids().iterator();
+            while (it.hasNext() && out.size() < limit) out.add(it.next());
+            if (out.size() >= limit) break;
+        }
+        return new ArrayList<>(out);
+    }
+
+    private List<Match> match(String q) {
+        Set<String> qGrams = trigrams(q);
+        Map<Word, Integer> shared = new HashMap<>();
+        for (String g : qGrams) {
+            Set<Word> ws = postings.get(g);
+            if (ws == null) continue;
+            for (Word w : ws) shared.merge(w, 1, Integer::sum);
+        }
+        List<Match> out = new ArrayList<>();
+        for (Map.Entry<Word, Integer> e : shared.entrySet()) {
+            Word w = e.getKey();
+            double score;
+            if (w.text.equals(q)) {
+                score = 1.0;
+            } else if (w.text.contains(q)) {
+                score = 0.6 + 0.3 * q.length() / w.text.length();
+            } else {
+                int common = e.getValue();
+                double jaccard = (double) common / (qGrams.size() + w.grams.size() - common);
+                if (jaccard < MIN_SIMILARITY) continue;
+                score = 0.6 * jaccard;
+            }
+            out.add(new Match(w, score));
+        }
+        return out;
+    }
+
+    private Word word(String text) {
+        return words.computeIfAbsent(text, t -> {
+            Word w = new Word(t);
+            for (String g : w.grams) postings.computeIfAbsent(g, k -> ConcurrentHashMap.newKeySet()).add(w);
+            return w;
+        });
+    }
+
+    private void unlink(long id, Indexed prev) {
+        prev.skillWords().forEach(w -> {
+            Word word = words.get(w);
+            if (word != null) word.skillJobs.remove(id);
+        });
+        prev.titleWords().forEach(w -> {
+            Word word = words.get(w);
+            if (word != null) word.titleJobs.remove(id);
+        });
+        // words left without jobs stay in the vocabulary; it is bounded by the distinct words ever seen
+    }
+
+    private static Set<String> indexWords(String text) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String w : tokenize(text)) {
+            out.add(w);
+            out.addAll(SYNONYMS.getOrDefault(w, List.of()));
+        }
+        return out;
+    }
+
+    private static Map<String, List<String>> folded(Map<String, List<String>> raw) {
+        Map<String, List<String>> out = new HashMap<>();
+        raw.forEach((k, v) -> out.put(fold(k), v.stream().map(SkillSearchIndex::fold).toList()));
+        return Map.copyOf(out);
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> out = new LinkedHashSet<>();
+        if (text == null) return out;
+        for (String raw : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!raw.isEmpty()) out.add(fold(raw));
+        }
+        return out;
+    }
+
+    /**
+     * Spelling fold for romanised Hindi/Telugu: long vowels to short (ee -> i, oo -> u),
+     * e -> i, y -> i after a consonant, w -> v, ph -> f, z -> j, q -> k, aspirated consonants to plain
+     * (kh, gh, th, dh, bh -> k, g, t, d, b) and doubled letters to single.
+     */
+    static String fold(String w) {
+        String s = w
+                .replace("ph", "f")
+                .replace("kh", "k").replace("gh", "g").replace("th", "t").replace("dh", "d").replace("bh", "b")
+                .replace('w', 'v').replace('z', 'j').replace('q', 'k')
+                .replace("ee", "i").replace("oo", "u")
+                .replace('e', 'i');
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == 'y' && i > 0 && !isVowel(s.charAt(i - 1))) c = 'i';
+            if (sb.length() > 0 && sb.charAt(sb.length() - 1) == c) continue;
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+
+    // Padded trigrams so short words and prefixes still produce grams ("ab" -> "  a", " ab", "ab ")
+    static Set<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) grams.add(padded.substring(i, i + 3));
+        return grams;
+    }
+}
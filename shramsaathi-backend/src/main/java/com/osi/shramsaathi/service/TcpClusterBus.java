@@ -0,0 +1,417 @@
+package com.osi.shramsaathi.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ClusterBus} over plain TCP between a static list of peers (cluster.tcp.peers).
+ * Every node listens on cluster.tcp.port and dials the configured peers; one connection per pair
+ * carries traffic both ways (when both sides dial, the one opened by the smaller node id is kept).
+ * On connect each side sends a random challenge and answers the other's with its node id and
+ * HMAC-SHA256(cluster.tcp.secret, challenge + node id); a connection whose answer does not verify is closed
+ * before anything else it sends is read. Then (once the pair is registered) each side sends its full
+ * interest set, then interest changes and messages, all as length-prefixed frames. Each connection has a
+ * bounded send queue drained by its own thread, so a slow peer drops its own messages instead of stalling
+ * publishers. Frames are authenticated at connect time but not encrypted: keep the port on a private network.
+ */
+@Slf4j
+public class TcpClusterBus implements ClusterBus {
+
+    private static final byte HELLO = 1;
+    private static final byte INTEREST_ADD = 2;
+    private static final byte INTEREST_REMOVE = 3;
+    private static final byte MESSAGE = 4;
+    private static final byte INTEREST_RESET = 5;
+    private static final byte CHALLENGE = 6;
+    private static final int MAX_PAYLOAD = 1 << 20;
+    private static final int NONCE_BYTES = 16;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final String nodeId;
+    private final String bindAddress;
+    private final int port;
+    private final List<InetSocketAddress> peerAddresses;
+    private final long reconnectMs;
+    private final int sendQueueCapacity;
+    private final SecretKeySpec secret;
+
+    private final Set<String> localInterest = ConcurrentHashMap.newKeySet();
+    // active connection per remote node id, with the destinations that node subscribes to
+    private final ConcurrentHashMap<String, Connection> peers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<InetSocketAddress, String> nodeAtAddress = new ConcurrentHashMap<>();
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Consumer<Message> receiver;
+    private ServerSocket server;
+
+    public TcpClusterBus(String nodeId, String bindAddress, int port, List<InetSocketAddress> peerAddresses,
+                         long reconnectMs, int sendQueueCapacity, String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("cluster.tcp.secret must be set when cluster.mode=tcp");
+        }
+        this.nodeId = nodeId;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.peerAddresses = List.copyOf(peerAddresses);
+        this.reconnectMs = reconnectMs;
+        this.sendQueueCapacity = sendQueueCapacity;
+        this.secret = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+    }
+
+    @Override
+    public void start(Consumer<Message> receiver) {
+        this.receiver = receiver;
+        try {
+            server = new ServerSocket();
+            server.bind(new InetSocketAddress(InetAddress.getByName(bindAddress), port));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cluster bus could not listen on " + bindAddress + ":" + port, e);
+        }
+        running = true;
+        daemon("cluster-accept", this::acceptLoop).start();
+        daemon("cluster-connect", this::connectLoop).start();
+        log.info("Cluster bus {} listening on {}:{}, peers {}", nodeId, bindAddress, listenPort(), peerAddresses);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (server != null) server.close();
+        } catch (IOException ignored) {
+            // closing anyway
+        }
+        peers.values().forEach(Connection::close);
+        peers.clear();
+    }
+
+    /** Port actually bound (useful with cluster.tcp.port=0). */
+    public int listenPort() {
+        return server.getLocalPort();
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(Message message) {
+        byte[] frame = null;
+        for (Connection c : peers.values()) {
+            if (!c.remoteInterest.contains(message.destination())) continue;
+            if (frame == null) frame = messageFrame(message);
+            if (c.enqueue(frame)) sent.incrementAndGet();
+            else dropped.incrementAndGet();
+        }
+    }
+
+    // Interest changes and the snapshot sent to a newly registered peer are serialized on this lock,
+    // so a peer never ends up with a destination we already dropped
+    @Override
+    public void interestAdded(String destination) {
+        synchronized (localInterest) {
+            if (localInterest.add(destination)) broadcast(frame(INTEREST_ADD, destination));
+        }
+    }
+
+    @Override
+    public void interestRemoved(String destination) {
+        synchronized (localInterest) {
+            if (localInterest.remove(destination)) broadcast(frame(INTEREST_REMOVE, destination));
+        }
+    }
+
+    @Override
+    public Map<String, Long> stats() {
+        Map<String, Long> out = new LinkedHashMap<>();
+        out.put("peers", (long) peers.size());
+        out.put("localDestinations", (long) localInterest.size());
+        out.put("sent", sent.get());
+        out.put("received", received.get());
+        out.put("dropped", dropped.get());
+        return out;
+    }
+
+    /** Destinations the given peer has announced; empty if it is not connected. */
+    public Set<String> remoteInterest(String peerNodeId) {
+        Connection c = peers.get(peerNodeId);
+        return c == null ? Set.of() : Set.copyOf(c.remoteInterest);
+    }
+
+    private void broadcast(byte[] frame) {
+        for (Connection c : peers.values()) {
+            if (!c.enqueue(frame)) dropped.incrementAndGet();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = server.accept();
+                open(socket, null);
+            } catch (IOException e) {
+                if (running) log.warn("Cluster accept failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void connectLoop() {
+        while (running) {
+            for (InetSocketAddress address : peerAddresses) {
+                String known = nodeAtAddress.get(address);
+                if (known != null && peers.containsKey(known)) continue;
+                try {
+                    Socket socket = new Socket();
+                    socket.connect(address, (int) Math.max(reconnectMs, 100));
+                    open(socket, address);
+                } catch (IOException e) {
+                    log.debug("Cluster peer {} not reachable: {}", address, e.getMessage());
+                }
+            }
+            try {
+                Thread.sleep(reconnectMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void open(Socket socket, InetSocketAddress dialed) throws IOException {
+        socket.setTcpNoDelay(true);
+        Connection c = new Connection(socket, dialed);
+        c.enqueue(challengeFrame(c.nonce));
+        daemon("cluster-send-" + socket.getPort(), c::sendLoop).start();
+        daemon("cluster-recv-" + socket.getPort(), c::receiveLoop).start();
+    }
+
+    // Both ends pick the same connection when two exist for a pair: the one dialed by the smaller id
+    private boolean preferred(Connection c, String remoteId) {
+        boolean dialedByMe = c.dialed != null;
+        return dialedByMe == (nodeId.compareTo(remoteId) < 0);
+    }
+
+    private void registered(Connection c, String remoteId) {
+        if (remoteId.equals(nodeId)) {
+            c.close();
+            return;
+        }
+        if (c.dialed != null) nodeAtAddress.put(c.dialed, remoteId);
+        c.remoteId = remoteId;
+        synchronized (localInterest) {
+            Connection kept = peers.merge(remoteId, c, (existing, added) -> preferred(added, remoteId) ? added : existing);
+            if (kept != c) {
+                c.close();
+                return;
+            }
+            c.enqueue(frame(INTEREST_RESET, ""));
+            for (String destination : localInterest) c.enqueue(frame(INTEREST_ADD, destination));
+        }
+        log.info("Cluster peer {} connected ({})", remoteId, c.socket.getRemoteSocketAddress());
+    }
+
+    private static byte[] frame(byte type, String text) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(type);
+            out.writeUTF(text);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] challengeFrame(byte[] nonce) {
+        byte[] frame = new byte[1 + nonce.length];
+        frame[0] = CHALLENGE;
+        System.arraycopy(nonce, 0, frame, 1, nonce.length);
+        return frame;
+    }
+
+    private byte[] helloFrame(byte[] challenge) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(HELLO);
+            out.writeUTF(nodeId);
+            out.write(proof(challenge, nodeId));
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // What a node holding the shared secret answers to the challenge
+    private byte[] proof(byte[] challenge, String id) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(secret);
+            mac.update(challenge);
+            return mac.doFinal(id.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] messageFrame(Message m) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(m.payload().length + 64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(MESSAGE);
+            out.writeUTF(m.destination());
+            out.writeUTF(m.contentType() == null ? "" : m.contentType());
+            out.writeInt(m.payload().length);
+            out.write(m.payload());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Thread daemon(String name, Runnable task) {
+        Thread t = new Thread(task, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private final class Connection {
+        final Socket socket;
+        final InetSocketAddress dialed;
+        final BlockingQueue<byte[]> outbox = new ArrayBlockingQueue<>(sendQueueCapacity);
+        final Set<String> remoteInterest = ConcurrentHashMap.newKeySet();
+        // our challenge to the remote end; nothing but CHALLENGE and HELLO is accepted until it is answered
+        final byte[] nonce = new byte[NONCE_BYTES];
+        boolean authenticated;
+        volatile String remoteId;
+        volatile boolean open = true;
+
+        Connection(Socket socket, InetSocketAddress dialed) {
+            this.socket = socket;
+            this.dialed = dialed;
+            RANDOM.nextBytes(nonce);
+        }
+
+        boolean enqueue(byte[] frame) {
+            return open && outbox.offer(frame);
+        }
+
+        void sendLoop() {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+                while (open) {
+                    byte[] frame = outbox.poll(500, TimeUnit.MILLISECONDS);
+                    if (frame == null) continue;
+                    do {
+                        out.writeInt(frame.length);
+                        out.write(frame);
+                    } while ((frame = outbox.poll()) != null);
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                if (open) log.debug("Cluster send to {} failed: {}", remoteId, e.getMessage());
+            } finally {
+                close();
+            }
+        }
+
+        void receiveLoop() {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+                while (open) {
+                    int length = in.readInt();
+                    if (length <= 0 || length > MAX_PAYLOAD + 1024) throw new IOException("Bad frame length " + length);
+                    byte[] frame = in.readNBytes(length);
+                    if (frame.length < length) throw new IOException("Truncated frame");
+                    handle(new DataInputStream(new ByteArrayInputStream(frame)));
+                }
+            } catch (IOException e) {
+                if (open) log.debug("Cluster connection to {} closed: {}", remoteId, e.getMessage());
+            } finally {
+                close();
+            }
+        }
+
+        private void handle(DataInputStream frame) throws IOException {
+            byte type = frame.readByte();
+            if (!authenticated && type != CHALLENGE && type != HELLO) {
+                throw new IOException("Frame type " + type + " before the handshake");
+            }
+            switch (type) {
+                case CHALLENGE -> enqueue(helloFrame(frame.readAllBytes()));
+                case HELLO -> {
+                    if (authenticated) throw new IOException("Second HELLO");
+                    String id = frame.readUTF();
+                    if (!MessageDigest.isEqual(frame.readAllBytes(), proof(nonce, id))) {
+                        log.warn("Cluster peer at {} failed the handshake (wrong cluster.tcp.secret?)", socket.getRemoteSocketAddress());
+                        throw new IOException("Bad handshake");
+                    }
+                    authenticated = true;
+                    registered(this, id);
+                }
+                case INTEREST_ADD -> remoteInterest.add(frame.readUTF());
+                case INTEREST_REMOVE -> remoteInterest.remove(frame.readUTF());
+                case INTEREST_RESET -> remoteInterest.clear();
+                case MESSAGE -> {
+                    String destination = frame.readUTF();
+                    String contentType = frame.readUTF();
+                    int size = frame.readInt();
+                    if (size < 0 || size > MAX_PAYLOAD) throw new IOException("Bad payload size " + size);
+                    byte[] payload = frame.readNBytes(size);
+                    received.incrementAndGet();
+                    Consumer<Message> r = receiver;
+                    if (r != null) {
+                        try {
+                            r.accept(new Message(destination, contentType.isEmpty() ? null : contentType, payload));
+                        } catch (RuntimeException e) {
+                            log.warn("Relaying cluster message for {} failed: {}", destination, e.getMessage());
+                        }
+                    }
+                }
+                default -> throw new IOException("Unknown frame type " + type);
+            }
+        }
+
+        void close() {
+            if (!open) return;
+            open = false;
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+            if (remoteId != null) peers.remove(remoteId, this);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 
 package com.osi.shramsaathi.service;
 
+import com.osi.shramsaathi.dto.CursorPage;
 import com.osi.shramsaathi.dto.UserRequest;
 import com.osi.shramsaathi.dto.UserResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -14,4 +16,10 @@ public interface UserService {
 
     /** ⭐ FIX ADDED */
     UserResponse getUserById(Long id);
+
+    /** Next page of users ordered by id, starting after the given id */
+    CursorPage<UserResponse> getUsersPage(Long after, int limit);
+
+    /** Feed every user to the sink straight off a DB cursor */
+    void streamAllUsers(Consumer<UserResponse> sink);
 }
@@ -3,13 +3,20 @@
 package com.osi.shramsaathi.service.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.osi.shramsaathi.dto.CursorPage;
 import com.osi.shramsaathi.dto.UserRequest;
 import com.osi.shramsaathi.dto.UserResponse;
 import com.osi.shramsaathi.model.User;
 import com.osi.shramsaathi.repository.UserRepository;
+import com.osi.shramsaathi.service.PhoneRegistry;
+import com.osi.shramsaathi.service.SessionTokenService;
 import com.osi.shramsaathi.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -19,9 +26,14 @@ import lombok.RequiredArgsConstructor;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final PhoneRegistry phoneRegistry;
 
     @Override
+    @Transactional
     public UserResponse register(UserRequest request) {
+        String phone = PhoneRegistry.normalize(request.getPhone());
+        if (phone == null) throw new IllegalArgumentException("Invalid phone number: " + request.getPhone());
+        phoneRegistry.requireFree(phone, SessionTokenService.Role.WORKER);
 
         String password = request.getPassword() != null && !request.getPassword().isEmpty()
                 ? request.getPassword()
@@ -45,15 +57,15 @@ public class UserServiceImpl implements UserService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        phoneRegistry.claim(phone, SessionTokenService.Role.WORKER, savedUser.getId());
         return toResponse(savedUser);
     }
 
+    // Projection: no User entities (or password hashes) loaded, nothing to dirty-check
     @Override
+    @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
-        return userRepository.findAll()
-                .stream()
-                .map(this::toResponse)
-                .toList();
+        return userRepository.findAllResponses();
     }
 
     /** ⭐ FIX ADDED — Fetch user by ID */
@@ -64,8 +76,24 @@ public class UserServiceImpl implements UserService {
         return toResponse(user);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getUsersPage(Long after, int limit) {
+        List<UserResponse> items = userRepository.findResponsesAfter(after == null ? 0L : after, Limit.of(limit));
+        Long next = items.size() == limit ? items.get(items.size() - 1).getId() : null;
+        return new CursorPage<>(items, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserResponse> sink) {
+        try (Stream<UserResponse> users = userRepository.streamAllResponses()) {
+            users.forEach(sink);
+        }
+    }
+
     /** Convert User → UserResponse DTO */
-    private UserResponse toResponse(User user) {
+    public static UserResponse toResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
                 .name(user.getName())
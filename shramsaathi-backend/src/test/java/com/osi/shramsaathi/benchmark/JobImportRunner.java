@@ -0,0 +1,98 @@
+package com.osi.shramsaathi.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.ShramsaathiBackendApplication;
+
+/**
+ * POST /api/jobs/import throughput into the load-test H2 database: builds an upload of N jobs in
+ * CSV and in NDJSON, posts each a few times over HTTP and prints jobs/s per run, the per-row report
+ * included. Every row has coordinates, so nothing is left for the geocoder. Not part of mvn test:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.osi.shramsaathi.benchmark.JobImportRunner [rows=100000] [runs=5]
+ * </pre>
+ */
+public class JobImportRunner {
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        byte[] csv = csv(rows);
+        byte[] ndjson = ndjson(rows);
+        ObjectMapper mapper = new ObjectMapper();
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(ShramsaathiBackendApplication.class)
+                .profiles("loadtest")
+                .properties("scheduling.enabled=false", "jobs.import.max-rows=" + rows)
+                .run()) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            URI uri = URI.create("http://127.0.0.1:" + port + "/api/jobs/import");
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            System.out.printf("java %s, %,d jobs per upload%n", System.getProperty("java.version"), rows);
+            for (int run = 1; run <= runs; run++) {
+                for (String type : new String[] { "text/csv", "application/x-ndjson" }) {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", type)
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(type.equals("text/csv") ? csv : ndjson))
+                            .build();
+                    long start = System.nanoTime();
+                    HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    JsonNode report = mapper.readTree(response.body());
+                    System.out.printf("run %d %-21s HTTP %d  created %,7d  rejected %d  %6.2f s  %,9.0f jobs/s%n",
+                            run, type, response.statusCode(), report.path("created").asInt(),
+                            report.path("rejected").asInt(), seconds, report.path("created").asInt() / seconds);
+                }
+            }
+        }
+    }
+
+    private static byte[] csv(int rows) {
+        StringBuilder sb = new StringBuilder("ownerId,title,skillNeeded,location,pay,duration,pincode,area,colony,state,latitude,longitude\n");
+        SplittableRandom rnd = new SplittableRandom(42);
+        for (int i = 1; i <= rows; i++) {
+            String skill = LoadTestSeeder.SKILLS[rnd.nextInt(LoadTestSeeder.SKILLS.length)];
+            double[] metro = LoadTestSeeder.METROS[i % LoadTestSeeder.METROS.length];
+            sb.append(1 + rnd.nextInt(2000)).append(",\"").append(skill).append(" work, site ").append(i).append("\",")
+                    .append(skill).append(",City ").append(i % 4).append(',').append(500 + rnd.nextInt(1000))
+                    .append(",3 days,").append(500000 + rnd.nextInt(100)).append(",Area ").append(i % 200)
+                    .append(",Colony ").append(i % 50).append(",Telangana,")
+                    .append(metro[0] + rnd.nextDouble(-0.25, 0.25)).append(',')
+                    .append(metro[1] + rnd.nextDouble(-0.25, 0.25)).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ndjson(int rows) {
+        StringBuilder sb = new StringBuilder();
+        SplittableRandom rnd = new SplittableRandom(7);
+        for (int i = 1; i <= rows; i++) {
+            String skill = LoadTestSeeder.SKILLS[rnd.nextInt(LoadTestSeeder.SKILLS.length)];
+            double[] metro = LoadTestSeeder.METROS[i % LoadTestSeeder.METROS.length];
+            sb.append("{\"ownerId\":").append(1 + rnd.nextInt(2000))
+                    .append(",\"title\":\"").append(skill).append(" work ").append(i)
+                    .append("\",\"skillNeeded\":\"").append(skill)
+                    .append("\",\"location\":\"City ").append(i % 4)
+                    .append("\",\"pay\":").append(500 + rnd.nextInt(1000))
+                    .append(",\"duration\":\"3 days\",\"pincode\":").append(500000 + rnd.nextInt(100))
+                    .append(",\"area\":\"Area ").append(i % 200)
+                    .append("\",\"colony\":\"Colony ").append(i % 50)
+                    .append("\",\"state\":\"Telangana\",\"latitude\":").append(metro[0] + rnd.nextDouble(-0.25, 0.25))
+                    .append(",\"longitude\":").append(metro[1] + rnd.nextDouble(-0.25, 0.25)).append("}\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,136 @@
+package com.osi.shramsaathi.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.dto.EncodedJsonArray;
+import com.osi.shramsaathi.dto.JobResponse;
+import com.osi.shramsaathi.model.GeocodeStatus;
+import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.service.JobJsonCache;
+import com.osi.shramsaathi.service.JobServiceImpl;
+
+/**
+ * Writing a GET /api/jobs response body: a list of JobResponse to JSON bytes, with an ObjectMapper
+ * configured the way Boot configures the one MVC uses (java.time module, ISO dates).
+ * mapAndWrite adds the entity → DTO step so the two costs can be compared per page size.
+ * mapAndStream and cachedStream write what the list endpoints send into a reused stream, as into the
+ * response buffer: serialized per request versus concatenated from JobJsonCache (all hits after the
+ * first call). Run with -prof gc for the allocation side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobResponseSerializationBenchmark {
+
+    private static final String[] SKILLS = { "Mason", "Plumber", "Electrician", "Carpenter", "Painter", "Welder" };
+    private static final String[] CITIES = { "Hyderabad", "Warangal", "Vijayawada", "Guntur", "Nellore" };
+
+    @Param({ "10", "100", "1000" })
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<Job> jobs;
+    private List<JobResponse> responses;
+    private JobJsonCache jsonCache;
+    private final CountingStream sink = new CountingStream();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        SplittableRandom rnd = new SplittableRandom(42);
+        jobs = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Job job = new Job();
+            job.setId((long) i);
+            job.setOwnerId((long) rnd.nextInt(1, 500));
+            job.setSkillNeeded(SKILLS[rnd.nextInt(SKILLS.length)]);
+            job.setTitle(job.getSkillNeeded() + " needed for site work " + i);
+            job.setLocation(CITIES[rnd.nextInt(CITIES.length)]);
+            job.setPay(500.0 + rnd.nextInt(1000));
+            job.setDuration(rnd.nextInt(1, 30) + " days");
+            job.setPincode(500000 + rnd.nextInt(100));
+            job.setArea("Area " + rnd.nextInt(200));
+            job.setColony("Colony " + rnd.nextInt(50));
+            job.setState("Telangana");
+            job.setLatitude(17 + rnd.nextDouble());
+            job.setLongitude(78 + rnd.nextDouble());
+            job.setGeocodeStatus(GeocodeStatus.RESOLVED);
+            job.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+            jobs.add(job);
+        }
+        responses = jobs.stream().map(JobServiceImpl::map).toList();
+        jsonCache = new JobJsonCache(mapper, 64L << 20, 600_000);
+        jsonCache.encodeJobs(jobs, jsonCache.snapshot());
+    }
+
+    @Benchmark
+    public byte[] write() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] mapAndWrite() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(jobs.stream().map(JobServiceImpl::map).toList());
+    }
+
+    @Benchmark
+    public long mapAndStream() throws IOException {
+        sink.count = 0;
+        mapper.writeValue(sink, jobs.stream().map(JobServiceImpl::map).toList());
+        return sink.count;
+    }
+
+    @Benchmark
+    public long cachedStream() throws IOException {
+        sink.count = 0;
+        EncodedJsonArray array = jsonCache.encodeJobs(jobs, jsonCache.snapshot());
+        sink.write('[');
+        List<byte[]> elements = array.elements();
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) sink.write(',');
+            sink.write(elements.get(i));
+        }
+        sink.write(']');
+        return sink.count;
+    }
+
+    // Stands in for the servlet stream: counts and drops the bytes, survives Jackson closing it
+    private static final class CountingStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.osi.shramsaathi.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.osi.shramsaathi.service.JobSpatialIndex;
+
+/**
+ * Nearby-jobs lookup: grid index vs. a full Haversine scan over every job,
+ * which is what filtering the whole GET /api/jobs list amounts to.
+ * Jobs are spread over India's bounding box with a quarter clustered around a few metros.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobSpatialIndexBenchmark {
+
+    private static final double[][] METROS = {
+            { 17.3850, 78.4867 }, { 19.0760, 72.8777 }, { 28.6139, 77.2090 }, { 12.9716, 77.5946 }
+    };
+
+    @Param({ "100000", "1000000" })
+    public int jobs;
+
+    @Param({ "5", "25" })
+    public double radiusKm;
+
+    private JobSpatialIndex index;
+    private double[] lats;
+    private double[] lons;
+    private double[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom rnd = new SplittableRandom(42);
+        index = new JobSpatialIndex();
+        lats = new double[jobs];
+        lons = new double[jobs];
+        for (int i = 0; i < jobs; i++) {
+            if (i % 4 == 0) {
+                double[] m = METROS[rnd.nextInt(METROS.length)];
+                lats[i] = m[0] + rnd.nextDouble(-0.3, 0.3);
+                lons[i] = m[1] + rnd.nextDouble(-0.3, 0.3);
+            } else {
+                lats[i] = rnd.nextDouble(8, 35);
+                lons[i] = rnd.nextDouble(68, 97);
+            }
+            index.put(i, lats[i], lons[i], "mason", "open");
+        }
+        queries = new double[256][];
+        for (int i = 0; i < queries.length; i++) {
+            double[] m = METROS[i % METROS.length];
+            queries[i] = new double[] { m[0] + rnd.nextDouble(-0.2, 0.2), m[1] + rnd.nextDouble(-0.2, 0.2) };
+        }
+    }
+
+    private double[] nextQuery() {
+        return queries[next++ & (queries.length - 1)];
+    }
+
+    @Benchmark
+    public List<JobSpatialIndex.Hit> gridIndex() {
+        double[] q = nextQuery();
+        return index.nearby(q[0], q[1], radiusKm, 50, null, null);
+    }
+
+    @Benchmark
+    public List<JobSpatialIndex.Hit> haversineScan() {
+        double[] q = nextQuery();
+        List<JobSpatialIndex.Hit> hits = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            double d = JobSpatialIndex.haversineKm(q[0], q[1], lats[i], lons[i]);
+            if (d <= radiusKm) hits.add(new JobSpatialIndex.Hit(i, d));
+        }
+        hits.sort(Comparator.comparingDouble(JobSpatialIndex.Hit::distanceKm));
+        return hits.size() > 50 ? hits.subList(0, 50) : hits;
+    }
+}
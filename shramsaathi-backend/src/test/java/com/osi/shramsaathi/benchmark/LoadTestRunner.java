@@ -0,0 +1,395 @@
+package com.osi.shramsaathi.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.ShramsaathiBackendApplication;
+
+/**
+ * End-to-end load test: starts the app on an in-memory H2 database (profile "loadtest"), seeds it with
+ * {@link LoadTestSeeder}, then runs each scenario for loadtest.seconds with loadtest.clients closed-loop
+ * clients and reports throughput and p50/p90/p99/max latency per endpoint.
+ * <ul>
+ * <li>worker-dashboard: a page of jobs, nearby jobs, a skill search, the worker's applications and summary</li>
+ * <li>owner-dashboard: the owner's jobs, application counts, one job's applicants, unread chat badges</li>
+ * <li>apply-burst: all clients apply at the same instant, over and over, to a small set of popular jobs</li>
+ * <li>chat-location: loadtest.ws.sessions STOMP sessions each sending a chat message and a location fix
+ *     every loadtest.ws.interval-ms, timed until the broadcast comes back, while the HTTP clients page
+ *     chat history and mark messages read</li>
+ * </ul>
+ * Volumes, durations and the scenario list are Spring properties (application-loadtest.properties), so
+ * any of them can be overridden on the command line. Results also go to loadtest.result as JSON.
+ * Not part of mvn test; run it with
+ * <pre>
+ * mvn -Ploadtest test [-Dloadtest.args="--loadtest.seed.jobs=1000000 --loadtest.seed.applications=5000000"]
+ * </pre>
+ */
+public class LoadTestRunner {
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+    private final String baseUrl;
+    private final int port;
+    private final LoadTestSeeder.Dataset data;
+    private final Environment env;
+    private final int clients;
+    private final int seconds;
+    private final int warmupSeconds;
+
+    private LoadTestRunner(int port, LoadTestSeeder.Dataset data, Environment env) {
+        this.port = port;
+        this.baseUrl = "http://127.0.0.1:" + port;
+        this.data = data;
+        this.env = env;
+        this.clients = env.getProperty("loadtest.clients", Integer.class, 64);
+        this.seconds = env.getProperty("loadtest.seconds", Integer.class, 30);
+        this.warmupSeconds = env.getProperty("loadtest.warmup-seconds", Integer.class, 5);
+    }
+
+    public static void main(String[] args) throws Exception {
+        // devtools would restart main in a fresh class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // mvn -Ploadtest passes all of loadtest.args as one argument
+        String[] springArgs = Arrays.stream(args)
+                .flatMap(a -> Arrays.stream(a.trim().split("\\s+")))
+                .filter(a -> !a.isEmpty())
+                .toArray(String[]::new);
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(ShramsaathiBackendApplication.class)
+                .profiles("loadtest")
+                .initializers((GenericApplicationContext ctx) -> ctx.registerBean("loadTestSeeder", LoadTestSeeder.class,
+                        () -> new LoadTestSeeder(ctx.getBean(JdbcTemplate.class), ctx.getEnvironment())))
+                .run(springArgs)) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            LoadTestSeeder.Dataset data = app.getBean(LoadTestSeeder.class).dataset();
+            System.out.printf("java %s, started and seeded in %.1f s: %s%n",
+                    System.getProperty("java.version"), (System.nanoTime() - start) / 1e9, data);
+
+            LoadTestRunner runner = new LoadTestRunner(port, data, app.getEnvironment());
+            Map<String, List<EndpointResult>> results = new LinkedHashMap<>();
+            for (String scenario : app.getEnvironment().getProperty("loadtest.scenarios", String[].class)) {
+                List<EndpointResult> result = runner.run(scenario.trim());
+                print(scenario.trim(), result);
+                results.put(scenario.trim(), result);
+            }
+            String resultFile = app.getEnvironment().getProperty("loadtest.result", "target/loadtest-result.json");
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(resultFile), results);
+            System.out.println("Load test result is saved to " + resultFile);
+        }
+    }
+
+    /** One endpoint's numbers for one scenario; latencies in milliseconds. */
+    record EndpointResult(String endpoint, long requests, long errors, double throughput,
+                          double p50, double p90, double p99, double max) {
+    }
+
+    private List<EndpointResult> run(String scenario) throws Exception {
+        Iteration iteration = switch (scenario) {
+            case "worker-dashboard" -> this::workerDashboard;
+            case "owner-dashboard" -> this::ownerDashboard;
+            case "apply-burst" -> applyBurst();
+            case "chat-location" -> this::chatHistory;
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+        ChatLocationTraffic ws = scenario.equals("chat-location") ? new ChatLocationTraffic() : null;
+        try {
+            if (ws != null) ws.start(new Recorder());
+            drive(iteration, new Recorder(), warmupSeconds);
+            Recorder recorder = new Recorder();
+            if (ws != null) ws.recordInto(recorder);
+            long start = System.nanoTime();
+            drive(iteration, recorder, seconds);
+            if (ws != null) ws.recordInto(new Recorder());
+            return recorder.results((System.nanoTime() - start) / 1e9);
+        } finally {
+            if (ws != null) ws.stop();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Iteration {
+        void run(Recorder recorder, SplittableRandom rnd) throws Exception;
+    }
+
+    // Closed loop: each client runs the next iteration as soon as the previous one is answered
+    private void drive(Iteration iteration, Recorder recorder, int durationSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            SplittableRandom rnd = new SplittableRandom(31L * i + durationSeconds);
+            pool.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) iteration.run(recorder, rnd);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    recorder.failed("client " + e.getClass().getSimpleName());
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(durationSeconds + 120L, TimeUnit.SECONDS)) pool.shutdownNow();
+    }
+
+    // ---- scenarios ----
+
+    private void workerDashboard(Recorder rec, SplittableRandom rnd) throws InterruptedException {
+        long worker = 1 + rnd.nextLong(data.workers());
+        double[] metro = LoadTestSeeder.METROS[rnd.nextInt(LoadTestSeeder.METROS.length)];
+        String skill = LoadTestSeeder.SKILLS[rnd.nextInt(LoadTestSeeder.SKILLS.length)].toLowerCase();
+        get(rec, "GET /api/jobs?limit", "/api/jobs?limit=50&after=" + rnd.nextLong(Math.max(1, data.jobs() - 50)));
+        get(rec, "GET /api/jobs/nearby", String.format("/api/jobs/nearby?lat=%.4f&lon=%.4f&radiusKm=10",
+                metro[0] + rnd.nextDouble(-0.2, 0.2), metro[1] + rnd.nextDouble(-0.2, 0.2)));
+        get(rec, "GET /api/jobs/search", "/api/jobs/search?q="
+                + URLEncoder.encode(skill.substring(0, Math.min(5, skill.length())), StandardCharsets.UTF_8));
+        get(rec, "GET /api/applications/worker/{id}", "/api/applications/worker/" + worker);
+        get(rec, "GET /api/analytics/worker/{id}/summary", "/api/analytics/worker/" + worker + "/summary");
+    }
+
+    private void ownerDashboard(Recorder rec, SplittableRandom rnd) throws InterruptedException {
+        long owner = 1 + rnd.nextLong(data.owners());
+        long ownJobs = Math.max(1, data.jobs() / data.owners());
+        long job = Math.min(data.jobs(), owner + rnd.nextLong(ownJobs) * data.owners());
+        get(rec, "GET /api/jobs/owner/{id}", "/api/jobs/owner/" + owner);
+        get(rec, "GET /api/analytics/owner/{id}/application-counts", "/api/analytics/owner/" + owner + "/application-counts");
+        get(rec, "GET /api/applications/job/{id}", "/api/applications/job/" + job);
+        get(rec, "GET /api/chat/unread/{id}", "/api/chat/unread/" + owner);
+    }
+
+    // Every client waits for the others and then applies, so each round is loadtest.clients concurrent
+    // applications to a few hot jobs; a repeat application is answered 409, which counts as handled
+    private Iteration applyBurst() {
+        int hotJobs = env.getProperty("loadtest.apply.hot-jobs", Integer.class, 100);
+        CyclicBarrier burst = new CyclicBarrier(clients);
+        return (rec, rnd) -> {
+            try {
+                burst.await(5, TimeUnit.SECONDS);
+            } catch (BrokenBarrierException | TimeoutException e) {
+                // the run ended for some clients; the rest finish their round alone
+                burst.reset();
+            }
+            long worker = 1 + rnd.nextLong(data.workers());
+            long job = 1 + rnd.nextLong(Math.min(hotJobs, data.jobs()));
+            String body = String.format("{\"jobId\":%d,\"workerId\":%d,\"workerName\":\"Worker %d\",\"workerSkill\":\"%s\"}",
+                    job, worker, worker, LoadTestSeeder.SKILLS[(int) (worker % LoadTestSeeder.SKILLS.length)]);
+            send(rec, "POST /api/applications", HttpRequest.newBuilder(URI.create(baseUrl + "/api/applications"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)), true);
+        };
+    }
+
+    // HTTP side of chat-location; the STOMP traffic runs alongside in ChatLocationTraffic
+    private void chatHistory(Recorder rec, SplittableRandom rnd) throws InterruptedException {
+        long application = 1 + rnd.nextLong(data.chats());
+        long worker = ((application - 1) % data.workers()) + 1;
+        get(rec, "GET /api/chat/{applicationId}", "/api/chat/" + application + "?limit=50");
+        send(rec, "POST /api/chat/{applicationId}/read", HttpRequest.newBuilder(URI.create(
+                baseUrl + "/api/chat/" + application + "/read?userId=" + worker + "&upTo=" + Long.MAX_VALUE))
+                .POST(HttpRequest.BodyPublishers.noBody()), false);
+        get(rec, "GET /api/chat/unread/{id}", "/api/chat/unread/" + worker);
+    }
+
+    private void get(Recorder rec, String endpoint, String path) throws InterruptedException {
+        send(rec, endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), false);
+    }
+
+    private void send(Recorder rec, String endpoint, HttpRequest.Builder request, boolean conflictIsOk)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = http.send(request.timeout(Duration.ofSeconds(60)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            int status = response.statusCode();
+            rec.record(endpoint, System.nanoTime() - start, status < 300 || (conflictIsOk && status == 409));
+        } catch (IOException e) {
+            rec.record(endpoint, System.nanoTime() - start, false);
+        }
+    }
+
+    /**
+     * STOMP sessions over the raw WebSocket transport of the /ws SockJS endpoint. Each one plays a worker
+     * in one seeded chat: it subscribes to the chat and to its own location topic and, every interval,
+     * sends a chat message and a fix about 200 m from the last. Latency is send until the broadcast of
+     * that message arrives back; location fixes go out on LocationTracker's tick and are rate-limited,
+     * so their latency includes that wait and superseded fixes never arrive.
+     */
+    private final class ChatLocationTraffic {
+
+        private static final String CHAT = "STOMP /app/chat -> /topic/chat/{id}";
+        private static final String LOCATION = "STOMP /app/location/{id} -> /topic/location/{id}";
+
+        private final WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        private final List<StompSession> sessions = new ArrayList<>();
+        private final Map<String, Long> chatSentAt = new ConcurrentHashMap<>();
+        private final AtomicLong sequence = new AtomicLong();
+        private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor();
+        private volatile Recorder recorder;
+
+        ChatLocationTraffic() {
+            MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+            converter.setObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+            stompClient.setMessageConverter(converter);
+        }
+
+        void recordInto(Recorder recorder) {
+            this.recorder = recorder;
+        }
+
+        void start(Recorder initial) throws Exception {
+            recorder = initial;
+            int count = env.getProperty("loadtest.ws.sessions", Integer.class, 200);
+            int intervalMs = env.getProperty("loadtest.ws.interval-ms", Integer.class, 1000);
+            String url = "ws://127.0.0.1:" + port + "/ws/websocket";
+            for (int i = 0; i < count; i++) {
+                long application = 1 + (i % data.chats());
+                long worker = ((application - 1) % data.workers()) + 1;
+                StompSession session = stompClient.connectAsync(url, new StompSessionHandlerAdapter() {
+                }).get(30, TimeUnit.SECONDS);
+                session.subscribe("/topic/chat/" + application, handler(payload -> {
+                    Long sentAt = chatSentAt.remove(String.valueOf(payload.get("clientMessageId")));
+                    if (sentAt != null) recorder.record(CHAT, System.nanoTime() - sentAt, true);
+                }));
+                session.subscribe("/topic/location/" + worker, handler(payload -> {
+                    if (payload.get("timestamp") instanceof Number ts) {
+                        recorder.record(LOCATION, (System.currentTimeMillis() - ts.longValue()) * 1_000_000, true);
+                    }
+                }));
+                sessions.add(session);
+
+                double[] metro = LoadTestSeeder.METROS[i % LoadTestSeeder.METROS.length];
+                long[] step = { 0 };
+                // spread the sessions' sends evenly over the interval
+                sender.scheduleAtFixedRate(() -> {
+                    if (!session.isConnected()) return;
+                    String id = "lt-" + sequence.incrementAndGet();
+                    chatSentAt.put(id, System.nanoTime());
+                    session.send("/app/chat", Map.of("applicationId", application, "senderId", worker,
+                            "message", "Reaching in " + step[0] + " min", "clientMessageId", id));
+                    double offset = (step[0]++ % 50) * 0.002;
+                    session.send("/app/location/" + worker, Map.of("workerId", worker,
+                            "lat", metro[0] + offset, "lon", metro[1], "timestamp", System.currentTimeMillis()));
+                }, (long) i * intervalMs / count, intervalMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        void stop() {
+            sender.shutdownNow();
+            sessions.forEach(StompSession::disconnect);
+            stompClient.stop();
+        }
+
+        private StompFrameHandler handler(Consumer<Map<?, ?>> onPayload) {
+            return new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return Map.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    onPayload.accept((Map<?, ?>) payload);
+                }
+            };
+        }
+    }
+
+    /** Latency samples per endpoint for one measured run. */
+    private static final class Recorder {
+
+        private final Map<String, Samples> byEndpoint = new ConcurrentSkipListMap<>();
+
+        void record(String endpoint, long nanos, boolean ok) {
+            Samples samples = byEndpoint.computeIfAbsent(endpoint, e -> new Samples());
+            if (ok) samples.add(nanos);
+            else samples.errors.incrementAndGet();
+        }
+
+        void failed(String what) {
+            record(what, 0, false);
+        }
+
+        List<EndpointResult> results(double elapsedSeconds) {
+            List<EndpointResult> out = new ArrayList<>();
+            byEndpoint.forEach((endpoint, samples) -> out.add(samples.result(endpoint, elapsedSeconds)));
+            return out;
+        }
+    }
+
+    private static final class Samples {
+
+        private final AtomicLong errors = new AtomicLong();
+        private long[] nanos = new long[1024];
+        private int size;
+
+        synchronized void add(long value) {
+            if (size == nanos.length) nanos = Arrays.copyOf(nanos, size * 2);
+            nanos[size++] = value;
+        }
+
+        synchronized EndpointResult result(String endpoint, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new EndpointResult(endpoint, size, errors.get(), size / elapsedSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int rank = (int) Math.ceil(sorted.length * p);
+            return sorted[Math.max(rank, 1) - 1] / 1e6;
+        }
+    }
+
+    private static void print(String scenario, List<EndpointResult> results) {
+        System.out.printf("%n%s%n%-56s %9s %7s %9s %9s %9s %9s %9s%n", scenario,
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (EndpointResult r : results) {
+            System.out.printf("%-56s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", r.endpoint(),
+                    r.requests(), r.errors(), r.throughput(), r.p50(), r.p90(), r.p99(), r.max());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.osi.shramsaathi.benchmark;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.osi.shramsaathi.model.ChatMessage;
+import com.osi.shramsaathi.model.Job;
+
+/**
+ * Fills the load-test H2 database with loadtest.seed.* owners, workers, jobs, applications and chat
+ * messages. Each table is one INSERT ... SELECT over H2's system_range, so a million rows take seconds
+ * rather than a million round trips. Ids are 1..n in insert order, which lets the scenarios derive
+ * who owns what without querying: job j belongs to owner ((j - 1) % owners) + 1, application a is
+ * worker ((a - 1) % workers) + 1's, and chat messages go to the first applications, a few dozen each.
+ * Runs as an ApplicationRunner, i.e. before the ApplicationReadyEvent listeners that build the spatial,
+ * skill and phone indexes, so those start from the seeded rows.
+ */
+public class LoadTestSeeder implements ApplicationRunner {
+
+    static final String PASSWORD = "loadtest123";
+    static final String[] SKILLS = {
+            "Mason", "Plumber", "Electrician", "Carpenter", "Painter", "Welder", "Helper", "Tile fitter",
+            "Driver", "Gardener", "Tailor", "Cook", "Security guard", "Mistri", "Labour", "AC technician"
+    };
+    static final double[][] METROS = {
+            { 17.3850, 78.4867 }, { 19.0760, 72.8777 }, { 28.6139, 77.2090 }, { 12.9716, 77.5946 }
+    };
+    static final int MESSAGES_PER_CHAT = 40;
+
+    /** Row counts actually seeded. */
+    record Dataset(long owners, long workers, long jobs, long applications, long chatMessages) {
+
+        long chats() {
+            return Math.min(applications, Math.max(1, chatMessages / MESSAGES_PER_CHAT));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dataset dataset;
+
+    public LoadTestSeeder(JdbcTemplate jdbcTemplate, Environment env) {
+        this.jdbcTemplate = jdbcTemplate;
+        long owners = Math.max(1, env.getProperty("loadtest.seed.owners", Long.class, 2_000L));
+        long workers = Math.max(1, env.getProperty("loadtest.seed.workers", Long.class, 20_000L));
+        long jobs = Math.max(1, env.getProperty("loadtest.seed.jobs", Long.class, 100_000L));
+        long applications = env.getProperty("loadtest.seed.applications", Long.class, 500_000L);
+        long chatMessages = applications == 0 ? 0 : env.getProperty("loadtest.seed.chat-messages", Long.class, 200_000L);
+        this.dataset = new Dataset(owners, workers, jobs, applications, chatMessages);
+    }
+
+    Dataset dataset() {
+        return dataset;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        seed("owners", dataset.owners(), "insert into owners "
+                + "(name, phone, address, business_name, district, mandal, pincode, registered, password) "
+                + "select 'Owner ' || x, '8' || lpad(x, 9, '0'), 'Plot ' || x, 'Constructions ' || x, "
+                + "'Hyderabad', 'Shaikpet', 500000 + mod(x, 100), true, ? from system_range(1, ?)", hash);
+
+        seed("users", dataset.workers(), "insert into users "
+                + "(name, phone, address, work_type, district, mandal, pincode, area, colony, state, age, "
+                + "experience_years, registered, password) "
+                + "select 'Worker ' || x, '9' || lpad(x, 9, '0'), 'H.No ' || x, " + pick("x", SKILLS) + ", "
+                + "'Rangareddy', 'Serilingampally', 500000 + mod(x, 100), 'Area ' || mod(x, 200), "
+                + "'Colony ' || mod(x, 50), 'Telangana', 18 + mod(x, 40), mod(x, 25), true, ? "
+                + "from system_range(1, ?)", hash);
+
+        // a quarter of the jobs around each metro, within about 25 km of its centre
+        seed("jobs", dataset.jobs(), "insert into jobs "
+                + "(id, owner_id, title, skill_needed, location, pay, duration, status_code, pincode, area, colony, state, "
+                + "latitude, longitude, geocode_status, geocode_attempts, created_at) "
+                + "select x, mod(x - 1, " + dataset.owners() + ") + 1, " + pick("x * 7", SKILLS) + " || ' work ' || x, "
+                + pick("x * 7", SKILLS) + ", 'City ' || mod(x, 4), 500 + mod(x * 37, 1000), "
+                + "(1 + mod(x, 30)) || ' days', 0, 500000 + mod(x, 100), 'Area ' || mod(x, 200), "
+                + "'Colony ' || mod(x, 50), 'Telangana', "
+                + metro("x", 0) + " + (mod(x * 7919, 1001) - 500) / 2000.0, "
+                + metro("x", 1) + " + (mod(x * 104729, 1001) - 500) / 2000.0, "
+                + "'RESOLVED', 0, dateadd('MINUTE', -x, current_timestamp) from system_range(1, ?)");
+        // job ids come from the pooled jobs_seq, whose value is the top of the next block
+        jdbcTemplate.execute("alter sequence jobs_seq restart with " + (dataset.jobs() + Job.ALLOCATION_SIZE));
+
+        // spread over workers and jobs; about 20% accepted, 10% rejected, the rest pending
+        seed("job_applications", dataset.applications(), "insert into job_applications "
+                + "(job_id, worker_id, worker_name, worker_skill, status, applied_at) "
+                + "select mod((x - 1) * 7919, " + dataset.jobs() + ") + 1, mod(x - 1, " + dataset.workers() + ") + 1, "
+                + "'Worker ' || (mod(x - 1, " + dataset.workers() + ") + 1), "
+                + pick("mod(x - 1, " + dataset.workers() + ") + 1", SKILLS) + ", "
+                + "case when mod(x, 10) < 2 then 'ACCEPTED' when mod(x, 10) = 2 then 'REJECTED' else 'pending' end, "
+                + "dateadd('SECOND', -x, current_timestamp) from system_range(1, ?)");
+
+        // alternating worker/owner turns; all but the latest few of each chat read
+        long chats = dataset.chats();
+        seed("chat_messages", dataset.chatMessages(), "insert into chat_messages "
+                + "(id, sender_id, receiver_id, application_id, message, sent_at, created_at, is_read) "
+                + "select r.x, case when mod(r.x, 2) = 0 then a.worker_id else j.owner_id end, "
+                + "case when mod(r.x, 2) = 0 then j.owner_id else a.worker_id end, a.id, 'Message ' || r.x, "
+                + "dateadd('SECOND', r.x - ?, current_timestamp), dateadd('SECOND', r.x - ?, current_timestamp), "
+                + "(r.x - 1) / " + chats + " < " + (MESSAGES_PER_CHAT - 3) + " "
+                + "from system_range(1, ?) r join job_applications a on a.id = mod(r.x - 1, " + chats + ") + 1 "
+                + "join jobs j on j.id = a.job_id", dataset.chatMessages(), dataset.chatMessages());
+        jdbcTemplate.execute("alter sequence chat_messages_seq restart with "
+                + (dataset.chatMessages() + ChatMessage.ALLOCATION_SIZE));
+    }
+
+    private void seed(String table, long rows, String sql, Object... args) {
+        if (rows <= 0) return;
+        long start = System.nanoTime();
+        Object[] all = new Object[args.length + 1];
+        System.arraycopy(args, 0, all, 0, args.length);
+        all[args.length] = rows;
+        int inserted = jdbcTemplate.update(sql, all);
+        System.out.printf("seeded %-16s %,11d rows in %6.1f s%n", table, inserted, (System.nanoTime() - start) / 1e9);
+    }
+
+    // SQL for values[expr % values.length]
+    private static String pick(String expr, String[] values) {
+        StringBuilder sb = new StringBuilder("case mod(").append(expr).append(", ").append(values.length).append(')');
+        for (int i = 0; i < values.length; i++) sb.append(" when ").append(i).append(" then '").append(values[i]).append('\'');
+        return sb.append(" end").toString();
+    }
+
+    // SQL for METROS[expr % 4][coordinate]
+    private static String metro(String expr, int coordinate) {
+        StringBuilder sb = new StringBuilder("case mod(").append(expr).append(", ").append(METROS.length).append(')');
+        for (int i = 0; i < METROS.length; i++) sb.append(" when ").append(i).append(" then ").append(METROS[i][coordinate]);
+        return sb.append(" end").toString();
+    }
+}
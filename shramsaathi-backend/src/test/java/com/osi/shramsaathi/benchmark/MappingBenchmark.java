@@ -0,0 +1,119 @@
+package com.osi.shramsaathi.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.osi.shramsaathi.dto.JobResponse;
+import com.osi.shramsaathi.dto.OwnerResponse;
+import com.osi.shramsaathi.dto.UserResponse;
+import com.osi.shramsaathi.model.GeocodeStatus;
+import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.model.Owner;
+import com.osi.shramsaathi.model.User;
+import com.osi.shramsaathi.service.GeocodeAddress;
+import com.osi.shramsaathi.service.JobServiceImpl;
+import com.osi.shramsaathi.service.OwnerService;
+import com.osi.shramsaathi.service.impl.UserServiceImpl;
+
+/**
+ * Per-row work on the list endpoints: entity → response DTO for jobs, workers and owners,
+ * and the geocoder's query string and cache key for a job address typed with stray spaces and commas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private Job job;
+    private User user;
+    private Owner owner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        job = new Job();
+        job.setId(123_456L);
+        job.setOwnerId(42L);
+        job.setTitle("Compound wall 17");
+        job.setSkillNeeded("Mason");
+        job.setLocation(" Hyderabad ");
+        job.setPay(850.0);
+        job.setDuration("3 days");
+        job.setPincode(500032);
+        job.setArea(" Gachibowli ,");
+        job.setColony("Indira Nagar;  Phase 2");
+        job.setState("Telangana");
+        job.setLatitude(17.4401);
+        job.setLongitude(78.3489);
+        job.setGeocodeStatus(GeocodeStatus.RESOLVED);
+        job.setCreatedAt(LocalDateTime.of(2024, 11, 5, 9, 30));
+
+        user = User.builder()
+                .id(9_876L)
+                .name("Ramesh Kumar")
+                .phone("9848022338")
+                .address("H.No 4-12, Main Road")
+                .workType("Electrician")
+                .district("Rangareddy")
+                .mandal("Serilingampally")
+                .pincode(500032)
+                .area("Gachibowli")
+                .colony("Indira Nagar")
+                .state("Telangana")
+                .age(34)
+                .experienceYears(8)
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .build();
+
+        owner = Owner.builder()
+                .id(42L)
+                .name("Suresh Reddy")
+                .phone("9848011223")
+                .address("Plot 7, Jubilee Hills")
+                .businessName("Reddy Constructions")
+                .district("Hyderabad")
+                .mandal("Shaikpet")
+                .pincode(500033)
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .build();
+    }
+
+    @Benchmark
+    public JobResponse jobMap() {
+        return JobServiceImpl.map(job);
+    }
+
+    @Benchmark
+    public UserResponse userToResponse() {
+        return UserServiceImpl.toResponse(user);
+    }
+
+    @Benchmark
+    public OwnerResponse ownerMapToResponse() {
+        return OwnerService.mapToResponse(owner);
+    }
+
+    @Benchmark
+    public String geocodeCacheKey() {
+        return GeocodeAddress.cacheKey(job);
+    }
+
+    @Benchmark
+    public String geocodeQuery() {
+        return GeocodeAddress.query(job);
+    }
+}
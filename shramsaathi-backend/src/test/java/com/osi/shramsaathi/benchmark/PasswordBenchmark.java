@@ -0,0 +1,66 @@
+package com.osi.shramsaathi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.osi.shramsaathi.service.PasswordGenerator;
+
+/**
+ * Registration and login costs: generating the random password, hashing it, and the check a login makes.
+ * AuthService uses BCryptPasswordEncoder's default strength of 10; 4 and 12 show what each step either way costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Hashing {
+
+        @Param({ "4", "10", "12" })
+        public int strength;
+
+        BCryptPasswordEncoder encoder;
+        String password;
+        String hash;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            encoder = new BCryptPasswordEncoder(strength);
+            password = PasswordGenerator.generate();
+            hash = encoder.encode(password);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String generate() {
+        return PasswordGenerator.generate();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String bcryptEncode(Hashing state) {
+        return state.encoder.encode(state.password);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptMatches(Hashing state) {
+        return state.encoder.matches(state.password, state.hash);
+    }
+}
@@ -0,0 +1,100 @@
+package com.osi.shramsaathi.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.Session;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.osi.shramsaathi.ShramsaathiBackendApplication;
+import com.osi.shramsaathi.repository.JobRepository;
+import com.osi.shramsaathi.repository.OwnerRepository;
+import com.osi.shramsaathi.repository.UserRepository;
+import com.osi.shramsaathi.service.JobService;
+import com.osi.shramsaathi.service.JobServiceImpl;
+import com.osi.shramsaathi.service.OwnerService;
+import com.osi.shramsaathi.service.UserService;
+import com.osi.shramsaathi.service.impl.UserServiceImpl;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * GET /api/users, /api/owners and /api/jobs list reads at N rows each, in-process against the load-test
+ * H2 database: full entities mapped to DTOs (findAll + map, as the services used to) versus the DTO
+ * projections the services use now. Per call it prints wall and thread CPU time, bytes allocated by the
+ * calling thread, and how many entities the read leaves managed (each with its dirty-checking snapshot)
+ * until its transaction ends. Heap deltas are not printed: the in-memory database shares the heap and
+ * swamps them. Not part of mvn test:
+ * <pre>
+ * java -Xmx2g -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.osi.shramsaathi.benchmark.ProjectionRunner [rows=100000] [runs=5]
+ * </pre>
+ */
+public class ProjectionRunner {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(ShramsaathiBackendApplication.class)
+                .profiles("loadtest")
+                .initializers((GenericApplicationContext ctx) -> ctx.registerBean("loadTestSeeder", LoadTestSeeder.class,
+                        () -> new LoadTestSeeder(ctx.getBean(JdbcTemplate.class), ctx.getEnvironment())))
+                // as arguments, so they win over application-loadtest.properties
+                .run("--scheduling.enabled=false", "--loadtest.seed.owners=" + rows, "--loadtest.seed.workers=" + rows,
+                        "--loadtest.seed.jobs=" + rows, "--loadtest.seed.applications=0", "--jpa.cache.warm-up-jobs=0")) {
+            UserRepository users = app.getBean(UserRepository.class);
+            OwnerRepository owners = app.getBean(OwnerRepository.class);
+            JobRepository jobs = app.getBean(JobRepository.class);
+            UserService userService = app.getBean(UserService.class);
+            OwnerService ownerService = app.getBean(OwnerService.class);
+            JobService jobService = app.getBean(JobService.class);
+            TransactionTemplate tx = new TransactionTemplate(app.getBean(PlatformTransactionManager.class));
+            EntityManager entityManager = app.getBean(EntityManager.class);
+
+            System.out.printf("java %s, %,d rows per table%n", System.getProperty("java.version"), rows);
+            System.out.printf("%-8s %-10s %9s %9s %10s %10s%n", "list", "read", "wall ms", "cpu ms", "alloc MB", "managed");
+            for (int run = 0; run < runs; run++) {
+                boolean report = run > 0; // first round warms up
+                measure(report, tx, entityManager, "users", "entities", () -> users.findAll().stream().map(UserServiceImpl::toResponse).toList());
+                measure(report, tx, entityManager, "users", "projection", userService::getAllUsers);
+                measure(report, tx, entityManager, "owners", "entities", () -> owners.findAll().stream().map(OwnerService::mapToResponse).toList());
+                measure(report, tx, entityManager, "owners", "projection", ownerService::getAllOwnerResponses);
+                measure(report, tx, entityManager, "jobs", "entities", () -> jobs.findAll().stream().map(JobServiceImpl::map).toList());
+                measure(report, tx, entityManager, "jobs", "projection", jobService::getAllJobs);
+            }
+        }
+    }
+
+    private static void measure(boolean report, TransactionTemplate tx, EntityManager entityManager, String list,
+                                String read, Supplier<List<?>> call) {
+        // timed on its own, with no surrounding transaction, the way the controller calls it
+        long cpu = THREADS.getCurrentThreadCpuTime();
+        long allocated = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        int size = call.get().size();
+        double wallMs = (System.nanoTime() - start) / 1e6;
+        double cpuMs = (THREADS.getCurrentThreadCpuTime() - cpu) / 1e6;
+        double allocMb = (THREADS.getCurrentThreadAllocatedBytes() - allocated) / 1e6;
+
+        // again inside one transaction: what the read leaves in the persistence context until it ends
+        long managed = tx.execute(status -> {
+            call.get();
+            return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+        if (report) {
+            System.out.printf("%-8s %-10s %9.1f %9.1f %10.1f %10d   (%,d rows)%n",
+                    list, read, wallMs, cpuMs, allocMb, managed, size);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.osi.shramsaathi.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.osi.shramsaathi.service.SkillSearchIndex;
+
+/**
+ * Skill search: trigram index vs. the SQL the old findBySkillNeededContainingIgnoreCase issued
+ * ({@code upper(skill_needed) like upper('%x%')}) against an H2 jobs table of the same rows.
+ * Queries mix exact skills, prefixes and misspellings as typed into the search box.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SkillSearchBenchmark {
+
+    private static final String[] SKILLS = {
+            "Mason", "Mistri", "Mestri", "Plumber", "Electrician", "Carpenter", "Painter", "Welder",
+            "Helper", "Labour", "Tile fitter", "Driver", "Gardener", "Tailor", "Cook", "Security guard"
+    };
+    private static final String[] TITLES = {
+            "House construction", "Compound wall", "Bathroom fitting", "Kitchen repair", "Office wiring",
+            "Cupboard work", "Gate welding", "Shop shifting", "Floor tiles", "Daily wage work"
+    };
+    private static final String[] QUERIES = { "mason", "mestri", "plumb", "elctrician", "tile", "carpnter", "weld", "guard" };
+    private static final int LIMIT = 50;
+
+    @Param({ "100000", "1000000" })
+    public int jobs;
+
+    private SkillSearchIndex index;
+    private Connection connection;
+    private PreparedStatement likeAll;
+    private PreparedStatement likeLimited;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        SplittableRandom rnd = new SplittableRandom(42);
+        index = new SkillSearchIndex();
+        connection = DriverManager.getConnection("jdbc:h2:mem:skill_bench;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement st = connection.createStatement()) {
+            st.execute("drop table if exists jobs");
+            st.execute("create table jobs (id bigint primary key, title varchar(255), skill_needed varchar(255))");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("insert into jobs values (?, ?, ?)")) {
+            for (int i = 1; i <= jobs; i++) {
+                String skill = SKILLS[rnd.nextInt(SKILLS.length)];
+                String title = TITLES[rnd.nextInt(TITLES.length)] + " " + (i % 97);
+                index.put(i, skill, title);
+                insert.setLong(1, i);
+                insert.setString(2, title);
+                insert.setString(3, skill);
+                insert.addBatch();
+                if (i % 10_000 == 0) insert.executeBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        likeAll = connection.prepareStatement(
+                "select id, title, skill_needed from jobs where upper(skill_needed) like upper(?)");
+        likeLimited = connection.prepareStatement(
+                "select id, title, skill_needed from jobs where upper(skill_needed) like upper(?) limit " + LIMIT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("drop table jobs");
+        }
+        connection.close();
+    }
+
+    private String nextQuery() {
+        return QUERIES[next++ % QUERIES.length];
+    }
+
+    @Benchmark
+    public List<Long> index() {
+        return index.search(nextQuery(), LIMIT);
+    }
+
+    // What the old endpoint did: every matching row
+    @Benchmark
+    public List<Long> sqlLike() throws SQLException {
+        return run(likeAll);
+    }
+
+    // Same scan capped at the page size the index returns
+    @Benchmark
+    public List<Long> sqlLikeLimited() throws SQLException {
+        return run(likeLimited);
+    }
+
+    private List<Long> run(PreparedStatement ps) throws SQLException {
+        ps.setString(1, "%" + nextQuery() + "%");
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) ids.add(rs.getLong(1));
+        }
+        return ids;
+    }
+}
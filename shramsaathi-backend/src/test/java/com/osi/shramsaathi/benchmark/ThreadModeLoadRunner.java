@@ -0,0 +1,155 @@
+package com.osi.shramsaathi.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import com.osi.shramsaathi.ShramsaathiBackendApplication;
+import com.osi.shramsaathi.repository.JobRepository;
+
+/**
+ * Closed-loop HTTP load test: N concurrent clients each send one request, wait for the answer and
+ * send the next, against the full app with and without spring.threads.virtual.enabled.
+ * The probe endpoint does what a typical request here does: a blocking wait standing in for a
+ * downstream call (Nominatim, a slow query) plus one JPA query through the Hikari pool.
+ * Reports throughput and p50/p99 latency per mode. Virtual mode needs a Java 21+ JVM and is
+ * skipped otherwise. Not part of mvn test; run it directly, e.g.
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.osi.shramsaathi.benchmark.ThreadModeLoadRunner [clients=5000] [ioMs=50] [seconds=20] [modes=platform,virtual]
+ * </pre>
+ */
+public class ThreadModeLoadRunner {
+
+    private static final String PROBE = "/api/loadtest/io";
+    private static final int MAX_LATENCY_MS = 120_000;
+
+    public static void main(String[] args) throws Exception {
+        // devtools would restart main in a fresh class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int ioMs = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        List<String> modes = List.of((args.length > 3 ? args[3] : "platform,virtual").split(","));
+
+        System.out.printf("java %s, %d clients, %d ms blocking I/O per request, %d s per mode%n",
+                System.getProperty("java.version"), clients, ioMs, seconds);
+        for (String mode : modes) {
+            boolean virtual = mode.equals("virtual");
+            if (virtual && Runtime.version().feature() < 21) {
+                System.out.println(mode + ": skipped, needs Java 21+");
+                continue;
+            }
+            try (ConfigurableApplicationContext app = start(virtual, ioMs)) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                URI uri = URI.create("http://127.0.0.1:" + port + PROBE);
+                // one client for warm-up and measurement, so the measured run reuses the warmed connections
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .build();
+                run(http, uri, clients, seconds);
+                Result r = run(http, uri, clients, seconds);
+                System.out.printf("%-8s %9.0f req/s  p50 %6d ms  p99 %6d ms  max %6d ms  errors %d%n",
+                        mode, r.throughput(), r.p50Ms(), r.p99Ms(), r.maxMs(), r.errors());
+            }
+        }
+    }
+
+    // Registered programmatically, not as a @RestController, so component scans in the real tests never see it
+    private static RouterFunction<ServerResponse> probe(JobRepository jobRepository, int ioMs) {
+        return RouterFunctions.route()
+                .GET(PROBE, request -> {
+                    Thread.sleep(ioMs);
+                    return ServerResponse.ok().body(String.valueOf(jobRepository.count()));
+                })
+                .build();
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual, int ioMs) {
+        return new SpringApplicationBuilder(ShramsaathiBackendApplication.class)
+                .initializers((GenericApplicationContext ctx) -> ctx.registerBean("loadTestProbe", RouterFunction.class,
+                        () -> probe(ctx.getBean(JobRepository.class), ioMs)))
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:loadtest_" + virtual + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "chat.persist.spill-dir=target/chat-spill-loadtest",
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private record Result(double throughput, long p50Ms, long p99Ms, long maxMs, long errors) {
+    }
+
+    private static Result run(HttpClient http, URI uri, int clients, int seconds) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        AtomicIntegerArray histogram = new AtomicIntegerArray(MAX_LATENCY_MS + 1);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong inFlight = new AtomicLong();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            loop(http, request, running, inFlight, histogram, completed, errors);
+        }
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        // let outstanding requests finish before the next phase (or shutdown) starts
+        long drainUntil = System.currentTimeMillis() + 60_000;
+        while (inFlight.get() > 0 && System.currentTimeMillis() < drainUntil) Thread.sleep(50);
+
+        long total = 0;
+        for (int ms = 0; ms <= MAX_LATENCY_MS; ms++) total += histogram.get(ms);
+        return new Result(completed.get() / elapsed, percentile(histogram, total, 0.50),
+                percentile(histogram, total, 0.99), percentile(histogram, total, 1.0), errors.get());
+    }
+
+    // One client: the next request goes out when the previous one has been answered
+    private static void loop(HttpClient http, HttpRequest request, AtomicBoolean running, AtomicLong inFlight,
+                             AtomicIntegerArray histogram, AtomicLong completed, AtomicLong errors) {
+        if (!running.get()) return;
+        long sentAt = System.nanoTime();
+        inFlight.incrementAndGet();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            inFlight.decrementAndGet();
+            if (failure != null || response.statusCode() != 200) {
+                errors.incrementAndGet();
+            } else if (running.get()) {
+                long ms = (System.nanoTime() - sentAt) / 1_000_000;
+                histogram.incrementAndGet((int) Math.min(ms, MAX_LATENCY_MS));
+                completed.incrementAndGet();
+            }
+            loop(http, request, running, inFlight, histogram, completed, errors);
+        });
+    }
+
+    private static long percentile(AtomicIntegerArray histogram, long total, double p) {
+        long rank = (long) Math.ceil(total * p);
+        long seen = 0;
+        for (int ms = 0; ms <= MAX_LATENCY_MS; ms++) {
+            seen += histogram.get(ms);
+            if (seen >= rank && seen > 0) return ms;
+        }
+        return 0;
+    }
+}
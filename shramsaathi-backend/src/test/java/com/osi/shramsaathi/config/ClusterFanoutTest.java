@@ -0,0 +1,234 @@
+package com.osi.shramsaathi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import com.osi.shramsaathi.ShramsaathiBackendApplication;
+import com.osi.shramsaathi.dto.JobRequest;
+import com.osi.shramsaathi.dto.JobResponse;
+import com.osi.shramsaathi.dto.LocationMessage;
+import com.osi.shramsaathi.model.JobStatus;
+import com.osi.shramsaathi.model.ChatMessage;
+import com.osi.shramsaathi.service.ChatIngestionService;
+import com.osi.shramsaathi.service.ClusterBus;
+import com.osi.shramsaathi.service.JobCatalogVersion;
+import com.osi.shramsaathi.service.JobChangeSync;
+import com.osi.shramsaathi.service.JobService;
+import com.osi.shramsaathi.service.LocationTracker;
+import com.osi.shramsaathi.service.NoopClusterBus;
+import com.osi.shramsaathi.service.TcpClusterBus;
+
+// Two full backend nodes in one JVM on one database, linked over loopback TCP: a subscriber on B sees what
+// A publishes, and B's job caches follow job writes made on A
+class ClusterFanoutTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    private static TcpClusterBus busA;
+    private static TcpClusterBus busB;
+
+    private static final String SECRET = "fan-out-test-secret";
+
+    private static ConfigurableApplicationContext start(String name, String peers, String ddl) {
+        return new SpringApplicationBuilder(ShramsaathiBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "chat.persist.spill-dir=target/chat-spill-" + name,
+                        "cluster.mode=tcp",
+                        "cluster.node-id=node-" + name,
+                        "cluster.tcp.bind=127.0.0.1",
+                        "cluster.tcp.port=0",
+                        "cluster.tcp.reconnect-ms=100",
+                        "cluster.tcp.secret=" + SECRET,
+                        "cluster.tcp.peers=" + peers)
+                // as arguments, so they win over the per-context database of the test application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:cluster_shared;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=" + ddl);
+    }
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = start("a", "", "create-drop");
+        busA = (TcpClusterBus) nodeA.getBean(ClusterBus.class);
+        nodeB = start("b", "127.0.0.1:" + busA.listenPort(), "none");
+        busB = (TcpClusterBus) nodeB.getBean(ClusterBus.class);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) nodeB.close();
+        if (nodeA != null) nodeA.close();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static StompSession connect(ConfigurableApplicationContext node) throws Exception {
+        WebSocketStompClient client = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+        return client.connectAsync("ws://127.0.0.1:" + port + "/ws", new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private static <T> StompSession.Subscription subscribe(StompSession session, String destination,
+                                                           Class<T> type, BlockingQueue<T> sink) {
+        return session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return type;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void handleFrame(StompHeaders headers, Object payload) {
+                sink.add((T) payload);
+            }
+        });
+    }
+
+    @Test
+    void chatAndLocationPublishedOnOneNodeReachSubscribersOnTheOther() throws Exception {
+        await(() -> busA.stats().get("peers") == 1 && busB.stats().get("peers") == 1);
+        StompSession session = connect(nodeB);
+        BlockingQueue<Map> chat = new LinkedBlockingQueue<>();
+        BlockingQueue<Map> location = new LinkedBlockingQueue<>();
+        StompSession.Subscription chatSub = subscribe(session, "/topic/chat/42", Map.class, chat);
+        subscribe(session, "/topic/location/7", Map.class, location);
+        await(() -> busA.remoteInterest("node-b").containsAll(List.of("/topic/chat/42", "/topic/location/7")));
+
+        ChatMessage message = new ChatMessage();
+        message.setApplicationId(42L);
+        message.setSenderId(1L);
+        message.setMessage("from node A");
+        message.setClientMessageId("cluster-1");
+        nodeA.getBean(ChatIngestionService.class).accept(message);
+
+        LocationTracker trackerA = nodeA.getBean(LocationTracker.class);
+        trackerA.update("7", new LocationMessage(7L, 17.385, 78.4867, 1L));
+        trackerA.flush();
+
+        assertThat(chat.poll(10, TimeUnit.SECONDS)).containsEntry("message", "from node A");
+        assertThat(location.poll(10, TimeUnit.SECONDS)).containsEntry("lat", 17.385);
+
+        // routing: nothing crosses the wire for destinations B has no subscriber for
+        long sentBefore = busA.stats().get("sent");
+        ChatMessage unwatched = new ChatMessage();
+        unwatched.setApplicationId(99L);
+        unwatched.setSenderId(1L);
+        unwatched.setMessage("nobody on B listens");
+        nodeA.getBean(ChatIngestionService.class).accept(unwatched);
+        assertThat(busA.stats().get("sent")).isEqualTo(sentBefore);
+
+        chatSub.unsubscribe();
+        await(() -> !busA.remoteInterest("node-b").contains("/topic/chat/42"));
+        session.disconnect();
+        await(() -> busA.remoteInterest("node-b").equals(Set.of(JobChangeSync.TOPIC)));
+    }
+
+    @Test
+    void jobWritesOnOneNodeReachTheOtherNodesCaches() throws Exception {
+        await(() -> busA.remoteInterest("node-b").contains(JobChangeSync.TOPIC));
+        JobService jobsA = nodeA.getBean(JobService.class);
+        JobService jobsB = nodeB.getBean(JobService.class);
+        JobCatalogVersion versionB = nodeB.getBean(JobCatalogVersion.class);
+
+        JobRequest request = new JobRequest();
+        request.setOwnerId(303L);
+        request.setTitle("Centering work");
+        request.setSkillNeeded("Mason");
+        request.setLatitude(17.44);
+        request.setLongitude(78.35);
+        long before = versionB.version();
+        long id = jobsA.createJob(request).getId();
+        await(() -> openIds(jobsB).contains(id));
+        assertThat(versionB.version()).isGreaterThan(before);
+        // B now holds the job's JSON bytes and its cached entity
+        assertThat(new String(jobsB.getJobsByOwnerJson(303L).elements().get(0))).contains("\"status\":\"open\"");
+        jobsB.getJobById(id);
+
+        jobsA.updateStatus(id, JobStatus.CLOSED);
+        await(() -> !openIds(jobsB).contains(id));
+        assertThat(new String(jobsB.getJobsByOwnerJson(303L).elements().get(0))).contains("\"status\":\"closed\"");
+        assertThat(jobsB.getJobById(id).getStatus()).isEqualTo(JobStatus.CLOSED);
+
+        jobsA.deleteJob(id);
+        await(() -> jobsB.getJobsByOwnerJson(303L).elements().isEmpty());
+        assertThat(jobsB.findNearby(17.44, 78.35, 1, 10, null, null)).isEmpty();
+    }
+
+    private static List<Long> openIds(JobService jobs) {
+        return jobs.getOpenJobsPage(null, 1000).getItems().stream().map(JobResponse::getId).toList();
+    }
+
+    @Test
+    void peerWithoutTheSecretIsRefused() throws Exception {
+        await(() -> busA.stats().get("peers") == 1);
+        TcpClusterBus intruder = new TcpClusterBus("intruder", "127.0.0.1", 0,
+                List.of(new InetSocketAddress("127.0.0.1", busA.listenPort())), 100, 100, "guessed");
+        intruder.start(message -> {});
+        try {
+            Thread.sleep(500);
+            assertThat(intruder.stats().get("peers")).isZero();
+            assertThat(busA.stats().get("peers")).isEqualTo(1);
+            assertThat(busA.remoteInterest("intruder")).isEmpty();
+        } finally {
+            intruder.stop();
+        }
+    }
+
+    @Test
+    void messagesFromPeersForOtherDestinationsNeverReachTheBroker() {
+        List<Consumer<ClusterBus.Message>> receiver = new ArrayList<>();
+        ClusterBus bus = new NoopClusterBus() {
+            @Override
+            public void start(Consumer<ClusterBus.Message> r) {
+                receiver.add(r);
+            }
+        };
+        List<Message<?>> broker = new ArrayList<>();
+        MessageChannel brokerChannel = (message, timeout) -> broker.add(message);
+        new ClusterRelay(bus, new JobChangeSync(bus), brokerChannel, List.of("/topic/chat/")).start();
+
+        receiver.get(0).accept(new ClusterBus.Message("/topic/jobs", null, new byte[0]));
+        receiver.get(0).accept(new ClusterBus.Message("/topic/chat/9", null, "{}".getBytes()));
+        assertThat(broker).hasSize(1);
+        assertThat(SimpMessageHeaderAccessor.getDestination(broker.get(0).getHeaders())).isEqualTo("/topic/chat/9");
+    }
+}
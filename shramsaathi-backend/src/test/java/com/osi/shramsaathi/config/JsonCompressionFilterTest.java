@@ -0,0 +1,107 @@
+package com.osi.shramsaathi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+
+class JsonCompressionFilterTest {
+
+    private static final int MIN_SIZE = 1024;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final JsonCompressionFilter filter = new JsonCompressionFilter(MIN_SIZE, meters);
+
+    @Test
+    void acceptEncodingQValues() {
+        assertThat(JsonCompressionFilter.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(JsonCompressionFilter.acceptsGzip("br;q=1.0, *;q=0.1")).isTrue();
+        assertThat(JsonCompressionFilter.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(JsonCompressionFilter.acceptsGzip("identity")).isFalse();
+        assertThat(JsonCompressionFilter.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    void largeJsonIsGzippedAsItIsWritten() throws Exception {
+        String body = json(5000);
+        MockHttpServletResponse response = run("gzip", MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"v1\"");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(body);
+        assertThat(meters.get("http.server.compression.responses").counter().count()).isEqualTo(1);
+        assertThat(meters.get("http.server.compression.saved").counter().count())
+                .isEqualTo(body.length() - response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void smallOrNonJsonBodiesGoOutAsTheyAre() throws Exception {
+        String small = json(MIN_SIZE - 100);
+        MockHttpServletResponse response = run("gzip", MediaType.APPLICATION_JSON_VALUE, small);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"v1\"");
+        assertThat(response.getContentLength()).isEqualTo(small.length());
+        assertThat(response.getContentAsString()).isEqualTo(small);
+
+        String text = json(5000);
+        response = run("gzip", MediaType.TEXT_PLAIN_VALUE, text);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(text);
+        assertThat(meters.get("http.server.compression.responses").counter().count()).isZero();
+    }
+
+    @Test
+    void clientsWithoutGzipGetTheResponseUnwrapped() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> assertThat(res).isSameAs(response);
+        filter.doFilter(request, response, chain);
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private MockHttpServletResponse run(String acceptEncoding, String contentType, String body)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.setContentType(contentType);
+            res.setCharacterEncoding("UTF-8");
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"v1\"");
+            res.setContentLength(body.length());
+            // in pieces, the way a serializer flushes its buffer
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            for (int off = 0; off < bytes.length; off += 300) {
+                res.getOutputStream().write(bytes, off, Math.min(300, bytes.length - off));
+            }
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static String json(int length) {
+        StringBuilder json = new StringBuilder("[");
+        while (json.length() < length - 1) json.append('0');
+        return json.append(']').toString();
+    }
+
+    private static String gunzip(byte[] gzipped) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.osi.shramsaathi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.osi.shramsaathi.service.GeocodeCache;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsConfigTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired GeocodeCache geocodeCache;
+
+    @Test
+    void prometheusScrapeCoversRequestsJdbcCachesAndStomp() throws Exception {
+        mvc.perform(get("/api/jobs")).andExpect(status().isOk());
+        geocodeCache.get("metrics-test-miss");
+
+        String scrape = mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(lines(scrape, "http_server_requests_seconds_bucket{")).anyMatch(l -> l.contains("uri=\"/api/jobs\""));
+        assertThat(lines(scrape, "jdbc_statements_per_request_statements_count{"))
+                .anyMatch(l -> l.contains("uri=\"/api/jobs\"") && l.contains("method=\"GET\""));
+        assertThat(lines(scrape, "jdbc_statements_seconds_count{")).anyMatch(l -> l.contains("operation=\"select\""));
+        assertThat(lines(scrape, "geocode_cache_requests_total{")).anyMatch(l -> l.contains("result=\"miss\""));
+        assertThat(lines(scrape, "hibernate_")).isNotEmpty();
+        assertThat(lines(scrape, "stomp_channel_queued{")).anyMatch(l -> l.contains("channel=\"inbound\""));
+        assertThat(lines(scrape, "websocket_sessions{")).anyMatch(l -> l.contains("transport=\"websocket\""));
+        assertThat(lines(scrape, "geocoder_nominatim_requests_seconds_count{")).hasSize(3);
+    }
+
+    @Test
+    void statementOperationFromSql() {
+        assertThat(StatementMetricsDataSource.operation("  SELECT * from jobs")).isEqualTo("select");
+        assertThat(StatementMetricsDataSource.operation("insert into jobs values (?)")).isEqualTo("insert");
+        assertThat(StatementMetricsDataSource.operation("merge into worker_stats")).isEqualTo("other");
+        assertThat(StatementMetricsDataSource.operation(null)).isEqualTo("other");
+    }
+
+    private static List<String> lines(String scrape, String prefix) {
+        return scrape.lines().filter(l -> l.startsWith(prefix)).toList();
+    }
+}
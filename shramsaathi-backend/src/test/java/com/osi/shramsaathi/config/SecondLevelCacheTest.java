@@ -0,0 +1,122 @@
+package com.osi.shramsaathi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.osi.shramsaathi.dto.JobRequest;
+import com.osi.shramsaathi.exception.ResourceNotFoundException;
+import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.model.User;
+import com.osi.shramsaathi.repository.JobRepository;
+import com.osi.shramsaathi.repository.UserRepository;
+import com.osi.shramsaathi.service.JobService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheTest {
+
+    @Autowired JobService jobService;
+    @Autowired JobRepository jobRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedJobReadsComeFromTheCache() {
+        long id = jobService.createJob(request("Cached", "Mason")).getId();
+        jobService.getJobById(id);
+
+        statistics.clear();
+        assertThat(jobService.getJobById(id).getTitle()).isEqualTo("Cached");
+        assertThat(jobService.getJobById(id).getTitle()).isEqualTo("Cached");
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(region(SecondLevelCacheConfig.JOB_REGION).getHitCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", SecondLevelCacheConfig.JOB_REGION).tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void noStaleReadAfterUpdateOrDelete() {
+        long id = jobService.createJob(request("Before", "Mason")).getId();
+        assertThat(jobService.getJobById(id).getTitle()).isEqualTo("Before");
+
+        jobService.updateJob(id, request("After", "Mason"));
+        assertThat(jobService.getJobById(id).getTitle()).isEqualTo("After");
+
+        jobService.deleteJob(id);
+        assertThatThrownBy(() -> jobService.getJobById(id)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void readerDuringAnUncommittedUpdateSeesTheCommittedRow() {
+        long id = jobService.createJob(request("Committed", "Painter")).getId();
+        jobService.getJobById(id);
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            Job job = jobRepository.findById(id).orElseThrow();
+            job.setTitle("In flight");
+            jobRepository.saveAndFlush(job);
+            // another thread, another transaction: neither the cache nor the DB may hand it the in-flight title
+            assertThat(CompletableFuture.supplyAsync(() -> jobService.getJobById(id).getTitle()).join())
+                    .isEqualTo("Committed");
+        });
+
+        assertThat(jobService.getJobById(id).getTitle()).isEqualTo("In flight");
+    }
+
+    @Test
+    void loginLookupUsesTheQueryCacheUntilTheTableChanges() {
+        User user = userRepository.save(User.builder().name("cache-login").phone("9000000001").address("Street")
+                .workType("Mason").district("Hyderabad").mandal("Serilingampally").pincode(500032)
+                .password("x").build());
+        userRepository.findByName("cache-login");
+
+        statistics.clear();
+        userRepository.findByName("cache-login");
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        user.setPassword("changed");
+        userRepository.save(user);
+        assertThat(userRepository.findByName("cache-login").orElseThrow().getPassword()).isEqualTo("changed");
+
+        userRepository.delete(user);
+        assertThat(userRepository.findByName("cache-login")).isEmpty();
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return statistics.getDomainDataRegionStatistics(name);
+    }
+
+    private static JobRequest request(String title, String skill) {
+        JobRequest request = new JobRequest();
+        request.setOwnerId(1L);
+        request.setTitle(title);
+        request.setSkillNeeded(skill);
+        request.setLocation("Hyderabad");
+        return request;
+    }
+}
@@ -0,0 +1,71 @@
+package com.osi.shramsaathi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.model.Owner;
+import com.osi.shramsaathi.repository.OwnerRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired OwnerRepository ownerRepository;
+    @Autowired ObjectMapper objectMapper;
+
+    private Owner owner;
+
+    @BeforeEach
+    void setUp() {
+        ownerRepository.deleteAll();
+        owner = ownerRepository.save(Owner.builder()
+                .name("lakshmi").phone("9000000001").address("Kukatpally").businessName("LB Builders")
+                .district("Hyderabad").mandal("Kukatpally").pincode(500072)
+                .password(new BCryptPasswordEncoder().encode("pa55word")).registered(true)
+                .build());
+    }
+
+    private MvcResult login(String password) throws Exception {
+        MvcResult started = mvc.perform(post("/api/auth/login/owner").param("name", "lakshmi").param("password", password))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started)).andReturn();
+    }
+
+    @Test
+    void bearerTokenFromLoginAuthenticatesLaterRequests() throws Exception {
+        MvcResult result = login("pa55word");
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        String token = body.get("token").asText();
+
+        mvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.role").value("OWNER"))
+                .andExpect(jsonPath("$.id").value(owner.getId()));
+        mvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token + "x"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/auth/me")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void wrongPasswordGetsNoToken() throws Exception {
+        assertThat(login("nope").getResponse().getStatus()).isEqualTo(401);
+    }
+}
@@ -0,0 +1,133 @@
+package com.osi.shramsaathi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.service.JobIdAllocator;
+
+// ?after=&limit= keyset pages and the NDJSON export of jobs, users and owners, against just over one
+// maximum page (1000) of rows
+@SpringBootTest
+@AutoConfigureMockMvc
+class CursorPaginationTest {
+
+    private static final int ROWS = 1003;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired JobIdAllocator jobIds;
+
+    @Test
+    void jobs() throws Exception {
+        long[] ids = jobIds.next(ROWS);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) rows.add(new Object[] {ids[i], 41L, "Paged job " + i});
+        jdbcTemplate.batchUpdate("insert into jobs (id, owner_id, title, status_code, geocode_attempts, created_at) "
+                + "values (?, ?, ?, 0, 0, current_timestamp)", rows);
+        walk("/api/jobs", LongStream.of(ids).boxed().toList());
+    }
+
+    @Test
+    void users() throws Exception {
+        long before = maxId("users");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) rows.add(new Object[] {"Paged worker " + i, "7" + (100_000_000 + i)});
+        jdbcTemplate.batchUpdate("insert into users (name, phone, address, work_type, district, mandal, pincode, "
+                + "registered, password) values (?, ?, 'H.No 1', 'Mason', 'Rangareddy', 'Serilingampally', 500032, "
+                + "true, 'x')", rows);
+        walk("/api/users", idsAfter("users", before));
+    }
+
+    @Test
+    void owners() throws Exception {
+        long before = maxId("owners");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) rows.add(new Object[] {"Paged owner " + i, "6" + (100_000_000 + i)});
+        jdbcTemplate.batchUpdate("insert into owners (name, phone, address, business_name, district, mandal, pincode, "
+                + "registered, password) values (?, ?, 'Plot 1', 'Builders', 'Hyderabad', 'Shaikpet', 500008, true, 'x')",
+                rows);
+        walk("/api/owners", idsAfter("owners", before));
+    }
+
+    // ids: the seeded rows in id order; the listing may hold other tests' rows before them
+    private void walk(String uri, List<Long> ids) throws Exception {
+        long start = ids.get(0) - 1;
+        LongFunction<String> from = after -> uri + "?after=" + after;
+
+        // page boundaries: each page starts right after the previous nextAfter, no gaps or overlap
+        JsonNode first = read(from.apply(start) + "&limit=2");
+        assertThat(idsOf(first)).containsExactly(ids.get(0), ids.get(1));
+        assertThat(first.get("nextAfter").asLong()).isEqualTo(ids.get(1));
+        JsonNode second = read(from.apply(first.get("nextAfter").asLong()) + "&limit=2");
+        assertThat(idsOf(second)).containsExactly(ids.get(2), ids.get(3));
+
+        // the last page comes back short, with no cursor
+        JsonNode last = read(from.apply(ids.get(ROWS - 3)) + "&limit=5");
+        assertThat(idsOf(last)).containsExactly(ids.get(ROWS - 2), ids.get(ROWS - 1));
+        assertThat(last.get("nextAfter").isNull()).isTrue();
+        JsonNode past = read(from.apply(ids.get(ROWS - 1)) + "&limit=5");
+        assertThat(past.get("items")).isEmpty();
+        assertThat(past.get("nextAfter").isNull()).isTrue();
+
+        // limits are clamped to 1..MAX_PAGE_SIZE
+        assertThat(idsOf(read(from.apply(start) + "&limit=0"))).containsExactly(ids.get(0));
+        assertThat(idsOf(read(from.apply(start) + "&limit=-5"))).containsExactly(ids.get(0));
+        JsonNode clamped = read(from.apply(start) + "&limit=50000");
+        assertThat(idsOf(clamped)).hasSize(MAX_PAGE_SIZE).startsWith(ids.get(0));
+        assertThat(clamped.get("nextAfter").asLong()).isEqualTo(ids.get(MAX_PAGE_SIZE - 1));
+
+        // NDJSON export: one object per line, every seeded row in id order
+        MvcResult started = mvc.perform(get(uri).accept(MediaType.APPLICATION_NDJSON)).andReturn();
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        List<Long> exported = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            long id = objectMapper.readTree(line).get("id").asLong();
+            if (id >= ids.get(0)) exported.add(id);
+        }
+        assertThat(exported).isEqualTo(ids);
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private List<Long> idsAfter(String table, long after) {
+        return jdbcTemplate.queryForList("select id from " + table + " where id > ? order by id", Long.class, after);
+    }
+
+    private JsonNode read(String uri) throws Exception {
+        return objectMapper.readTree(mvc.perform(get(uri)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static List<Long> idsOf(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode item : page.get("items")) ids.add(item.get("id").asLong());
+        return ids;
+    }
+}
@@ -0,0 +1,97 @@
+package com.osi.shramsaathi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.model.JobApplication;
+import com.osi.shramsaathi.repository.JobApplicationRepository;
+import com.osi.shramsaathi.repository.JobRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Regression guard for the old N+1: the worker view must cost the same number of statements for 1 or 30 applications
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class JobApplicationControllerQueryCountTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired JobRepository jobRepository;
+    @Autowired JobApplicationRepository appRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        appRepository.deleteAll();
+        jobRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void workerApplicationsUseConstantStatementCount() throws Exception {
+        seedApplications(101L, 1);
+        seedApplications(202L, 30);
+
+        long few = statementsFor(101L, 1);
+        long many = statementsFor(202L, 30);
+
+        assertThat(few).isEqualTo(1);
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void applicationForDeletedJobStillListed() throws Exception {
+        JobApplication app = application(999_999L, 303L);
+        appRepository.save(app);
+
+        mvc.perform(get("/api/applications/worker/303"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].jobTitle").value("Job not found"))
+                .andExpect(jsonPath("$[0].location").value(nullValue()))
+                .andExpect(jsonPath("$[0].pay").value(nullValue()));
+    }
+
+    private long statementsFor(long workerId, int expectedRows) throws Exception {
+        statistics.clear();
+        mvc.perform(get("/api/applications/worker/" + workerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedRows))
+                .andExpect(jsonPath("$[0].jobTitle").value("Job for " + workerId));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedApplications(long workerId, int count) {
+        for (int i = 0; i < count; i++) {
+            Job job = new Job();
+            job.setTitle("Job for " + workerId);
+            job.setLocation("Hyderabad");
+            job.setPay(800.0);
+            job.setDuration("3");
+            job = jobRepository.save(job);
+            appRepository.save(application(job.getId(), workerId));
+        }
+    }
+
+    private static JobApplication application(long jobId, long workerId) {
+        JobApplication app = new JobApplication();
+        app.setJobId(jobId);
+        app.setWorkerId(workerId);
+        app.setWorkerName("Ravi");
+        app.setWorkerSkill("Mason");
+        return app;
+    }
+}
@@ -0,0 +1,108 @@
+package com.osi.shramsaathi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.dto.JobImportReport;
+import com.osi.shramsaathi.dto.JobRequest;
+import com.osi.shramsaathi.dto.JobResponse;
+import com.osi.shramsaathi.model.GeocodeStatus;
+import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.repository.JobRepository;
+import com.osi.shramsaathi.service.JobService;
+
+// Small batches so an upload spans several of them
+@SpringBootTest(properties = "jobs.import.batch-size=2")
+@AutoConfigureMockMvc
+class JobImportControllerTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JobService jobService;
+    @Autowired JobRepository jobRepository;
+
+    @Test
+    void csvRowsAreInsertedIndexedAndReportedPerLine() throws Exception {
+        long before = jobService.countJobs();
+        String csv = String.join("\n",
+                "owner_id,title,skill_needed,location,pay,duration,pincode,area,colony,state,latitude,longitude",
+                "7,\"Wall, plastering\",Mason,Hyderabad,900,3 days,500032,Gachibowli,Indira Nagar,Telangana,17.44,78.35",
+                "7,Wiring,Electrician,Hyderabad,800,1 day,500032,,,Telangana,,",
+                "7,,Plumber,Hyderabad,700,,,,,,,",
+                "7,Tiling,Tile fitter,Hyderabad,lots,,,,,,,",
+                "",
+                "8,Roof sheet,Welder,Warangal,,,,,,,17.97,79.6");
+
+        JobImportReport report = report(mvc.perform(post("/api/jobs/import")
+                        .contentType("text/csv").content(csv))
+                .andExpect(status().isOk()));
+
+        assertThat(report.getReceived()).isEqualTo(5);
+        assertThat(report.getCreated()).isEqualTo(3);
+        assertThat(report.getRejected()).isEqualTo(2);
+        List<JobImportReport.Row> rows = report.getRows();
+        assertThat(rows).extracting(JobImportReport.Row::line).containsExactly(2, 3, 4, 5, 7);
+        assertThat(rows.get(2).error()).contains("title is required");
+        assertThat(rows.get(3).error()).contains("pay: not a number");
+        assertThat(rows).filteredOn(r -> r.error() == null).allSatisfy(r -> assertThat(r.id()).isNotNull());
+
+        Job wall = jobRepository.findById(rows.get(0).id()).orElseThrow();
+        assertThat(wall.getTitle()).isEqualTo("Wall, plastering");
+        assertThat(wall.getGeocodeStatus()).isEqualTo(GeocodeStatus.RESOLVED);
+        // no coordinates: left for the background geocoder
+        assertThat(jobRepository.findById(rows.get(1).id()).orElseThrow().getGeocodeStatus()).isEqualTo(GeocodeStatus.PENDING);
+
+        assertThat(jobService.countJobs()).isEqualTo(before + 3);
+        assertThat(jobService.findNearby(17.44, 78.35, 1, 10, null, null)).extracting(JobResponse::getId).contains(wall.getId());
+        assertThat(jobService.searchBySkill("Welder", 10)).extracting(JobResponse::getId).contains(rows.get(4).id());
+    }
+
+    @Test
+    void ndjsonImportSharesTheIdSequenceWithSingleCreates() throws Exception {
+        JobRequest single = new JobRequest();
+        single.setOwnerId(9L);
+        single.setTitle("Single");
+        single.setSkillNeeded("Painter");
+        long singleId = jobService.createJob(single).getId();
+
+        String ndjson = String.join("\n",
+                "{\"ownerId\":9,\"title\":\"Gate\",\"skillNeeded\":\"Welder\",\"latitude\":17.4}",
+                "{\"ownerId\":9,\"title\":\"Door\",\"skillNeeded\":\"Carpenter\"}",
+                "{not json",
+                "{\"ownerId\":9,\"title\":\"Shelf\",\"skillNeeded\":\"Carpenter\",\"pay\":300}");
+
+        JobImportReport report = report(mvc.perform(post("/api/jobs/import")
+                        .contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+                .andExpect(status().isOk()));
+
+        assertThat(report.getCreated()).isEqualTo(2);
+        assertThat(report.getRows().get(0).error()).contains("latitude and longitude");
+        assertThat(report.getRows().get(2).error()).startsWith("unreadable JSON");
+        long singleAfter = jobService.createJob(single).getId();
+        assertThat(report.getRows()).extracting(JobImportReport.Row::id).doesNotContain(singleId, singleAfter);
+    }
+
+    @Test
+    void unknownCsvColumnIsRejectedUpFront() throws Exception {
+        mvc.perform(post("/api/jobs/import").contentType("text/csv").content("owner_id,title,salary\n1,Job,100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$").value("Unknown CSV column: salary"));
+    }
+
+    private JobImportReport report(ResultActions result) throws Exception {
+        return objectMapper.readValue(result.andReturn().getResponse().getContentAsByteArray(), JobImportReport.class);
+    }
+}
@@ -0,0 +1,139 @@
+package com.osi.shramsaathi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.dto.JobRequest;
+import com.osi.shramsaathi.service.JobService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class JobListConditionalGetTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired JobService jobService;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void unchangedListsAreNotModifiedWithoutAQuery() throws Exception {
+        long jobId = jobService.createJob(request(41L, "Plaster")).getId();
+        String allTag = etagOf(mvc.perform(get("/api/jobs")).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache")).andReturn().getResponse());
+        String ownerTag = etagOf(mvc.perform(get("/api/jobs/owner/41")).andExpect(status().isOk()).andReturn().getResponse());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mvc.perform(get("/api/jobs").header(HttpHeaders.IF_NONE_MATCH, allTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, allTag));
+        mvc.perform(get("/api/jobs/owner/41").header(HttpHeaders.IF_NONE_MATCH, ownerTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        jobService.createJob(request(42L, "Paint"));
+        String changed = etagOf(mvc.perform(get("/api/jobs").header(HttpHeaders.IF_NONE_MATCH, allTag))
+                .andExpect(status().isOk()).andReturn().getResponse());
+        assertThat(changed).isNotEqualTo(allTag);
+
+        jobService.deleteJob(jobId);
+        mvc.perform(get("/api/jobs/owner/41").header(HttpHeaders.IF_NONE_MATCH, ownerTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void largeJsonIsGzippedAndStillRevalidates() throws Exception {
+        for (int i = 0; i < 20; i++) jobService.createJob(request(77L, "Tiling " + i));
+        double savedBefore = meterRegistry.get("http.server.compression.saved").counter().count();
+
+        MockHttpServletResponse response = mvc.perform(get("/api/jobs/owner/77").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse();
+        byte[] body = response.getContentAsByteArray();
+        JsonNode jobs = objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(body)));
+        assertThat(jobs.size()).isEqualTo(20);
+        // compressed as it is written, so sent chunked rather than with a length up front
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(meterRegistry.get("http.server.compression.saved").counter().count() - savedBefore)
+                .isGreaterThan(0);
+
+        // gzipped representation carries the tag weak; If-None-Match compares weakly
+        String tag = etagOf(response);
+        assertThat(tag).startsWith("W/\"");
+        mvc.perform(get("/api/jobs/owner/77").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+
+        // below the size threshold: sent as is
+        mvc.perform(get("/api/jobs/owner/999999").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        // client without gzip
+        mvc.perform(get("/api/jobs/owner/77"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void listBodiesAreAssembledFromCachedJsonAndFollowUpdates() throws Exception {
+        long jobId = jobService.createJob(request(55L, "Roofing")).getId();
+        jobService.createJob(request(55L, "Gutters"));
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = mvc.perform(get("/api/jobs/owner/55"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/json"))
+                    .andReturn().getResponse();
+            assertThat(response.getContentAsString())
+                    .isEqualTo(objectMapper.writeValueAsString(jobService.getJobsByOwner(55L)));
+            assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+        }
+
+        jobService.updateJob(jobId, request(55L, "Roofing and sheeting"));
+        assertThat(mvc.perform(get("/api/jobs/owner/55")).andReturn().getResponse().getContentAsString())
+                .contains("Roofing and sheeting");
+        jobService.deleteJob(jobId);
+        assertThat(objectMapper.readTree(mvc.perform(get("/api/jobs/owner/55")).andReturn().getResponse().getContentAsString()))
+                .hasSize(1);
+    }
+
+    private static String etagOf(MockHttpServletResponse response) {
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+
+    private static JobRequest request(long ownerId, String title) {
+        JobRequest request = new JobRequest();
+        request.setOwnerId(ownerId);
+        request.setTitle(title);
+        request.setSkillNeeded("Mason");
+        request.setLocation("Hyderabad");
+        request.setLatitude(17.44);
+        request.setLongitude(78.35);
+        return request;
+    }
+}
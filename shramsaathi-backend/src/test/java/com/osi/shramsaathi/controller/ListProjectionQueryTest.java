@@ -0,0 +1,100 @@
+package com.osi.shramsaathi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.model.Owner;
+import com.osi.shramsaathi.model.User;
+import com.osi.shramsaathi.repository.JobRepository;
+import com.osi.shramsaathi.repository.OwnerRepository;
+import com.osi.shramsaathi.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// List endpoints and NDJSON exports read DTO projections: one statement each, no entity loaded, no password
+// column in sight
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ListProjectionQueryTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired UserRepository userRepository;
+    @Autowired OwnerRepository ownerRepository;
+    @Autowired JobRepository jobRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void listsAndPagesLoadNoEntities() throws Exception {
+        User worker = userRepository.save(User.builder().name("Projection worker").phone("9000012345").address("H.No 1")
+                .workType("Mason").district("Rangareddy").mandal("Serilingampally").pincode(500032)
+                .age(30).experienceYears(4).password("secret-hash").build());
+        Owner owner = ownerRepository.save(Owner.builder().name("Projection owner").phone("8000012345").address("Plot 1")
+                .businessName("Builders").district("Hyderabad").mandal("Shaikpet").pincode(500008)
+                .password("secret-hash").build());
+        Job job = new Job();
+        job.setOwnerId(owner.getId());
+        job.setTitle("Projection job");
+        job = jobRepository.save(job);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JsonNode users = read("/api/users");
+        JsonNode owners = read("/api/owners");
+        JsonNode jobs = read("/api/jobs/owner/" + owner.getId());
+        JsonNode page = read("/api/jobs?after=" + (job.getId() - 1) + "&limit=1");
+        JsonNode userPage = read("/api/users?after=" + (worker.getId() - 1) + "&limit=1");
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+
+        assertThat(find(users, worker.getId()).get("experienceYears").asInt()).isEqualTo(4);
+        assertThat(find(owners, owner.getId()).get("businessName").asText()).isEqualTo("Builders");
+        assertThat(jobs.get(0).get("status").asText()).isEqualTo("open");
+        assertThat(page.get("items").get(0).get("title").asText()).isEqualTo("Projection job");
+        assertThat(page.get("nextAfter").asLong()).isEqualTo(job.getId());
+        assertThat(userPage.get("items").get(0).get("name").asText()).isEqualTo("Projection worker");
+        assertThat(users.toString() + owners).doesNotContain("password").doesNotContain("secret-hash");
+
+        // the NDJSON exports stream the same projections
+        statistics.clear();
+        String exported = export("/api/users") + export("/api/owners") + export("/api/jobs");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(exported).contains("Projection worker", "Projection owner", "Projection job")
+                .doesNotContain("password").doesNotContain("secret-hash");
+    }
+
+    private String export(String uri) throws Exception {
+        MvcResult started = mvc.perform(get(uri).accept(MediaType.APPLICATION_NDJSON)).andReturn();
+        return mvc.perform(asyncDispatch(started)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private JsonNode read(String uri) throws Exception {
+        return objectMapper.readTree(mvc.perform(get(uri)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static JsonNode find(JsonNode list, Long id) {
+        for (JsonNode node : list) {
+            if (node.get("id").asLong() == id) return node;
+        }
+        throw new AssertionError("id " + id + " not listed");
+    }
+}
@@ -0,0 +1,92 @@
+package com.osi.shramsaathi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.dto.JobRequest;
+import com.osi.shramsaathi.service.JobService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Latest open jobs come from memory; status transitions move jobs out of (and back into) the feed
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class OpenJobsFeedTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired JobService jobService;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void openJobsAreServedNewestFirstWithoutAQuery() throws Exception {
+        long older = jobService.createJob(request("Shuttering")).getId();
+        long newer = jobService.createJob(request("Bar bending")).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Long> listed = openIds();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(listed).containsSubsequence(newer, older);
+
+        JsonNode page = read("/api/jobs/open?limit=1");
+        assertThat(page.get("items")).hasSize(1);
+        assertThat(page.get("items").get(0).get("status").asText()).isEqualTo("open");
+    }
+
+    @Test
+    void statusTransitionsUpdateTheFeedAndTheStoredCode() throws Exception {
+        long id = jobService.createJob(request("Waterproofing")).getId();
+
+        mvc.perform(put("/api/jobs/" + id + "/status").param("status", "Filled"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("filled"));
+        assertThat(openIds()).doesNotContain(id);
+        assertThat(jdbcTemplate.queryForObject("select status_code from jobs where id = ?", Integer.class, id)).isEqualTo(1);
+        assertThat(read("/api/jobs/owner/58").get(0).get("status").asText()).isEqualTo("filled");
+
+        mvc.perform(put("/api/jobs/" + id + "/status").param("status", "open")).andExpect(status().isOk());
+        assertThat(openIds()).contains(id);
+
+        mvc.perform(put("/api/jobs/" + id + "/status").param("status", "active")).andExpect(status().isBadRequest());
+        mvc.perform(put("/api/jobs/" + Long.MAX_VALUE + "/status").param("status", "closed")).andExpect(status().isNotFound());
+    }
+
+    private List<Long> openIds() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode job : read("/api/jobs/open?limit=1000").get("items")) ids.add(job.get("id").asLong());
+        return ids;
+    }
+
+    private JsonNode read(String uri) throws Exception {
+        return objectMapper.readTree(mvc.perform(get(uri)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static JobRequest request(String title) {
+        JobRequest request = new JobRequest();
+        request.setOwnerId(58L);
+        request.setTitle(title);
+        request.setSkillNeeded("Mason");
+        request.setLocation("Hyderabad");
+        return request;
+    }
+}
@@ -0,0 +1,79 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.osi.shramsaathi.dto.LoginResponse;
+import com.osi.shramsaathi.model.User;
+import com.osi.shramsaathi.repository.OwnerRepository;
+import com.osi.shramsaathi.repository.UserRepository;
+
+class AuthServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SessionTokenService tokens =
+            new SessionTokenService("0123456789abcdef0123456789abcdef", Duration.ofHours(1));
+    private AuthService authService;
+
+    private AuthService authService(int threads, int queue) {
+        authService = new AuthService(threads, queue);
+        ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authService, "ownerRepository", mock(OwnerRepository.class));
+        ReflectionTestUtils.setField(authService, "tokenService", tokens);
+        return authService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (authService != null) authService.shutdown();
+    }
+
+    @Test
+    void loginIssuesATokenTheFilterCanVerifyWithoutTheDatabase() throws Exception {
+        User user = User.builder().id(5L).name("ravi").password(new BCryptPasswordEncoder().encode("secret1")).build();
+        when(userRepository.findByName("ravi")).thenReturn(Optional.of(user));
+        AuthService auth = authService(2, 4);
+
+        LoginResponse ok = auth.loginUser("ravi", "secret1").get(10, TimeUnit.SECONDS);
+        assertThat(ok.getId()).isEqualTo(5L);
+        assertThat(ok.getRole()).isEqualTo("WORKER");
+        assertThat(tokens.verify(ok.getToken())).isEqualTo(
+                new SessionTokenService.Session(SessionTokenService.Role.WORKER, 5L, ok.getExpiresAt()));
+
+        assertThat(auth.loginUser("ravi", "wrong").get(10, TimeUnit.SECONDS)).isNull();
+        assertThat(auth.loginUser("nobody", "secret1").get(10, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void loginStormBeyondPoolAndQueueIsRejectedInsteadOfQueuedOnRequestThreads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByName(anyString())).thenAnswer(inv -> {
+            release.await(10, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        AuthService auth = authService(1, 1);
+
+        CompletableFuture<LoginResponse> running = auth.loginUser("a", "x");
+        CompletableFuture<LoginResponse> queued = auth.loginUser("b", "x");
+        assertThatThrownBy(() -> auth.loginUser("c", "x")).isInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isNull();
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isNull();
+    }
+}
@@ -0,0 +1,194 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.controller.ChatWebSocketController;
+import com.osi.shramsaathi.model.ChatMessage;
+import com.osi.shramsaathi.repository.ChatRepository;
+
+@SpringBootTest
+class ChatIngestionServiceTest {
+
+    @Autowired ChatIngestionService ingestion;
+    @Autowired ChatRepository chatRepo;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ChatUnreadCounter unreadCounter;
+    @Autowired ChatMessageIdAllocator idAllocator;
+    @MockBean SimpMessagingTemplate messagingTemplate;
+
+    @TempDir Path spillDir;
+
+    @BeforeEach
+    void clean() {
+        chatRepo.deleteAll();
+    }
+
+    private static ChatMessage message(long applicationId, String text, String clientId) {
+        ChatMessage m = new ChatMessage();
+        m.setApplicationId(applicationId);
+        m.setSenderId(1L);
+        m.setReceiverId(2L);
+        m.setMessage(text);
+        m.setClientMessageId(clientId);
+        return m;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void sameMessageOverWebSocketAndRestIsBroadcastAndStoredOnce() throws InterruptedException {
+        ChatMessage ws = ingestion.accept(message(100L, "namaste", "c-1"));
+        ChatMessage rest = ingestion.accept(message(100L, "namaste", "c-1"));
+        // no client id: a repeated text is a repeated message, not a duplicate
+        ingestion.accept(message(100L, "ok", null));
+        ingestion.accept(message(100L, "ok", null));
+
+        assertThat(rest).isSameAs(ws);
+        // broadcast with the id it is stored under
+        assertThat(ws.getId()).isNotNull();
+        verify(messagingTemplate).convertAndSend(eq("/topic/chat/100"), eq(ws));
+        verify(messagingTemplate, times(3)).convertAndSend(eq("/topic/chat/100"), any(Object.class));
+        await(() -> chatRepo.findByApplicationIdOrderBySentAtAsc(100L).size() == 3);
+    }
+
+    @Test
+    void withoutClientIdRestIsTheOnlyPathThatCounts() throws InterruptedException {
+        // older clients send every message over the socket and POST it as well
+        ChatWebSocketController socket = new ChatWebSocketController(ingestion);
+        socket.handleChatMessage(message(101L, "haan", null));
+        ingestion.accept(message(101L, "haan", null));
+        socket.handleChatMessage(message(101L, "haan", "c-2"));
+
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/chat/101"), any(Object.class));
+        await(() -> chatRepo.findByApplicationIdOrderBySentAtAsc(101L).size() == 2);
+    }
+
+    @Test
+    void burstIsWrittenInBatches() throws InterruptedException {
+        long batchesBefore = ingestion.stats().get("batches");
+        for (int i = 0; i < 500; i++) ingestion.accept(message(200L, "msg " + i, "b-" + i));
+
+        await(() -> chatRepo.findByApplicationIdOrderBySentAtAsc(200L).size() == 500);
+        assertThat(ingestion.stats().get("batches") - batchesBefore).isLessThan(50);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedInsertsSpillToDiskAndAreReplayed() throws Exception {
+        JdbcTemplate failing = mock(JdbcTemplate.class);
+        when(failing.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        ChatIngestionService down = new ChatIngestionService(failing, transactionManager, idAllocator, unreadCounter, messagingTemplate,
+                new ObjectMapper().findAndRegisterModules(), 100, 10, 5, 10_000, spillDir.toString());
+        down.start();
+        List<Long> accepted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) accepted.add(down.accept(message(300L, "offline " + i, "s-" + i)).getId());
+        down.shutdown();
+        // spilled, still listed for readers
+        assertThat(down.unpersisted(300L)).extracting(ChatMessage::getId).containsExactlyInAnyOrderElementsOf(accepted);
+
+        Path spill = spillDir.resolve("chat-messages.ndjson");
+        Path replaying = spillDir.resolve("chat-messages.replaying.ndjson");
+        // the failing writer may have moved the file aside for a replay attempt
+        assertThat(Files.readAllLines(Files.exists(spill) ? spill : replaying)).hasSize(3);
+
+        // next start against a working database picks the spill file up
+        ChatIngestionService up = new ChatIngestionService(jdbcTemplate, transactionManager, idAllocator, unreadCounter, messagingTemplate,
+                new ObjectMapper().findAndRegisterModules(), 100, 10, 5, 10_000, spillDir.toString());
+        up.start();
+        try {
+            await(() -> chatRepo.findByApplicationIdOrderBySentAtAsc(300L).size() == 3);
+            await(() -> !Files.exists(spill) && !Files.exists(replaying));
+            assertThat(chatRepo.findByApplicationIdOrderBySentAtAsc(300L))
+                    .extracting(ChatMessage::getClientMessageId).containsExactlyInAnyOrder("s-0", "s-1", "s-2");
+            assertThat(chatRepo.findByApplicationIdOrderBySentAtAsc(300L))
+                    .extracting(ChatMessage::getId).containsExactlyInAnyOrderElementsOf(accepted);
+            assertThat(up.unpersisted(300L)).isEmpty();
+        } finally {
+            up.shutdown();
+        }
+    }
+
+    @Test
+    void clientMessageIdLongerThanItsColumnIsRejected() {
+        assertThatThrownBy(() -> ingestion.accept(message(400L, "hello", "x".repeat(ChatMessage.CLIENT_MESSAGE_ID_LENGTH + 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ingestion.unpersisted(400L)).isEmpty();
+    }
+
+    @Test
+    void rowsTheDatabaseRefusesOnReplayAreDeadLetteredAndDoNotBlockTheRest() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        ChatMessage stored = spilled(401L, "already stored", "r-0");
+        jdbcTemplate.update("insert into chat_messages (id, application_id, message, is_read) values (?, 401, 'already stored', false)",
+                stored.getId());
+        ChatMessage bad = spilled(401L, "bad", "x".repeat(ChatMessage.CLIENT_MESSAGE_ID_LENGTH + 1));
+        ChatMessage good = spilled(401L, "good", "r-2");
+        Path spill = spillDir.resolve("chat-messages.ndjson");
+        Files.writeString(spill, mapper.writeValueAsString(stored) + "\n" + mapper.writeValueAsString(bad) + "\n"
+                + mapper.writeValueAsString(good) + "\n");
+
+        // no transaction can be started: the file is kept as it was
+        PlatformTransactionManager noConnections = mock(PlatformTransactionManager.class);
+        when(noConnections.getTransaction(any())).thenThrow(new CannotCreateTransactionException("pool exhausted"));
+        ChatIngestionService starved = new ChatIngestionService(jdbcTemplate, noConnections, idAllocator, unreadCounter,
+                messagingTemplate, mapper, 100, 10, 5, 10_000, spillDir.toString());
+        starved.replaySpill();
+        assertThat(Files.readAllLines(spillDir.resolve("chat-messages.replaying.ndjson"))).hasSize(3);
+
+        ChatIngestionService up = new ChatIngestionService(jdbcTemplate, transactionManager, idAllocator, unreadCounter,
+                messagingTemplate, mapper, 100, 10, 5, 10_000, spillDir.toString());
+        up.replaySpill();
+        assertThat(chatRepo.findByApplicationIdOrderBySentAtAsc(401L))
+                .extracting(ChatMessage::getId).containsExactlyInAnyOrder(stored.getId(), good.getId());
+        assertThat(Files.readAllLines(spillDir.resolve("chat-messages.dead.ndjson")))
+                .singleElement().satisfies(line -> assertThat(line).contains("\"message\":\"bad\""));
+        assertThat(Files.exists(spillDir.resolve("chat-messages.replaying.ndjson"))).isFalse();
+        assertThat(up.stats().get("deadLettered")).isEqualTo(1);
+    }
+
+    private ChatMessage spilled(long applicationId, String text, String clientId) {
+        ChatMessage m = message(applicationId, text, clientId);
+        m.setId(idAllocator.next());
+        m.setSentAt(LocalDateTime.now());
+        return m;
+    }
+}
@@ -0,0 +1,226 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.osi.shramsaathi.exception.ResourceNotFoundException;
+import com.osi.shramsaathi.model.ChatMessage;
+import com.osi.shramsaathi.repository.ChatMessageRepository;
+
+@SpringBootTest
+class ChatServiceTest {
+
+    @Autowired ChatService chatService;
+    @Autowired ChatMessageRepository repo;
+    @Autowired ChatIngestionService ingestion;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ChatMessageIdAllocator idAllocator;
+    @Autowired ChatUnreadCounter unreadCounter;
+
+    @TempDir Path spillDir;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        repo.deleteAll();
+        jdbcTemplate.update("delete from chat_unread_counts");
+        ids.clear();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < 120; i++) {
+            // pairs share a timestamp so the id tie-break is exercised
+            ids.add(repo.save(message(500L, "m" + i, start.plusSeconds(i / 2))).getId());
+        }
+        repo.save(message(501L, "other chat", start));
+    }
+
+    private static ChatMessage message(long applicationId, String text, LocalDateTime at) {
+        ChatMessage m = new ChatMessage();
+        m.setApplicationId(applicationId);
+        m.setSenderId(1L);
+        m.setMessage(text);
+        m.setCreatedAt(at);
+        m.setSentAt(at);
+        return m;
+    }
+
+    private static List<String> texts(List<ChatMessage> page) {
+        return page.stream().map(ChatMessage::getMessage).toList();
+    }
+
+    @Test
+    void latestPageThenOlderPagesWalkBackWithoutGapsOrOverlap() {
+        List<ChatMessage> latest = chatService.getMessagesByApplicationId(500L, null, null, 50);
+        assertThat(texts(latest)).first().isEqualTo("m70");
+        assertThat(texts(latest)).last().isEqualTo("m119");
+
+        List<ChatMessage> older = chatService.getMessagesByApplicationId(500L, latest.get(0).getId(), null, 50);
+        assertThat(texts(older)).first().isEqualTo("m20");
+        assertThat(texts(older)).last().isEqualTo("m69");
+
+        List<ChatMessage> oldest = chatService.getMessagesByApplicationId(500L, older.get(0).getId(), null, 50);
+        assertThat(oldest).hasSize(20);
+        assertThat(texts(oldest)).first().isEqualTo("m0");
+    }
+
+    @Test
+    void afterCursorAndSinceDeltaReturnOnlyNewerMessages() {
+        List<ChatMessage> newer = chatService.getMessagesByApplicationId(500L, null, ids.get(100), 50);
+        assertThat(newer).hasSize(19);
+        assertThat(texts(newer)).first().isEqualTo("m101");
+
+        assertThat(texts(chatService.getMessagesSince(500L, ids.get(117), 1000))).containsExactly("m118", "m119");
+        assertThat(chatService.getMessagesSince(500L, ids.get(119), 1000)).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sinceAndAfterIncludeMessagesNotYetWritten() throws Exception {
+        JdbcTemplate failing = mock(JdbcTemplate.class);
+        when(failing.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        ChatIngestionService down = new ChatIngestionService(failing, transactionManager, idAllocator, unreadCounter,
+                mock(SimpMessagingTemplate.class), new ObjectMapper().findAndRegisterModules(), 100, 10, 5, 10_000,
+                spillDir.toString());
+        down.start();
+        ChatService reads = new ChatService(repo, down, unreadCounter);
+        try {
+            // a client that saw m119, then live broadcasts for two messages that are queued or spilled
+            ChatMessage first = down.accept(message(500L, "live 1", null));
+            ChatMessage second = down.accept(message(500L, "live 2", null));
+
+            assertThat(texts(reads.getMessagesSince(500L, ids.get(119), 1000))).containsExactly("live 1", "live 2");
+            assertThat(texts(reads.getMessagesSince(500L, first.getId(), 1000))).containsExactly("live 2");
+            assertThat(texts(reads.getMessagesByApplicationId(500L, null, ids.get(118), 50)))
+                    .containsExactly("m119", "live 1", "live 2");
+            assertThat(texts(reads.getMessagesByApplicationId(500L, null, first.getId(), 50))).containsExactly("live 2");
+            assertThat(texts(reads.getMessagesByApplicationId(500L, second.getId(), null, 2))).containsExactly("m119", "live 1");
+            assertThat(texts(reads.getMessagesByApplicationId(500L, null, null, 3))).containsExactly("m119", "live 1", "live 2");
+        } finally {
+            down.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readReceiptsForMessagesNotYetWrittenAreStoredAsRead() throws Exception {
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        JdbcTemplate flaky = spy(jdbcTemplate);
+        doAnswer(call -> {
+            if (databaseDown.get()) throw new DataAccessResourceFailureException("db down");
+            return call.callRealMethod();
+        }).when(flaky).batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        ChatIngestionService ingestion = new ChatIngestionService(flaky, transactionManager, idAllocator, unreadCounter,
+                mock(SimpMessagingTemplate.class), new ObjectMapper().findAndRegisterModules(), 100, 10, 5, 10_000,
+                spillDir.toString());
+        ingestion.start();
+        ChatService reads = new ChatService(repo, ingestion, unreadCounter);
+        try {
+            List<Long> sent = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                ChatMessage m = message(710L, "pending " + i, null);
+                m.setReceiverId(9L);
+                sent.add(ingestion.accept(m).getId());
+            }
+
+            // the receiver saw the first two live, before any was written; one of them on its own
+            // (built by hand, so no @Transactional proxy)
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.executeWithoutResult(status -> reads.markAsRead(sent.get(0)));
+            Integer first = tx.execute(status -> reads.markReadUpTo(710L, 9L, sent.get(1)));
+            Integer again = tx.execute(status -> reads.markReadUpTo(710L, 9L, sent.get(1)));
+            assertThat(first).isEqualTo(1);
+            assertThat(again).isZero();
+
+            // spilled meanwhile; the replayed copies are stored with the flags
+            databaseDown.set(false);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (repo.findByApplicationIdOrderByCreatedAtAsc(710L).size() < 3) {
+                assertThat(System.currentTimeMillis()).isLessThan(deadline);
+                Thread.sleep(10);
+            }
+            assertThat(repo.findAllById(sent)).extracting(ChatMessage::getId, ChatMessage::getRead)
+                    .containsExactlyInAnyOrder(tuple(sent.get(0), true), tuple(sent.get(1), true), tuple(sent.get(2), false));
+            assertThat(chatService.getUnreadCount(9L, 710L)).isEqualTo(1);
+        } finally {
+            ingestion.shutdown();
+        }
+    }
+
+    @Test
+    void cursorFromAnotherConversationIsRejected() {
+        Long foreign = repo.findByApplicationIdOrderByCreatedAtAsc(501L).get(0).getId();
+        assertThatThrownBy(() -> chatService.getMessagesByApplicationId(500L, foreign, null, 50))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void unreadCountersFollowSendsAndBulkReads() throws InterruptedException {
+        for (int i = 0; i < 30; i++) {
+            ChatMessage m = message(700L, "ping " + i, null);
+            m.setReceiverId(9L);
+            m.setClientMessageId("u-" + i);
+            ingestion.accept(m);
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (repo.findByApplicationIdOrderByCreatedAtAsc(700L).size() < 30) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        assertThat(chatService.getUnreadCount(9L, 700L)).isEqualTo(30);
+        assertThat(chatService.getUnreadCounts(9L)).containsEntry(700L, 30L);
+
+        List<ChatMessage> stored = repo.findByApplicationIdOrderByCreatedAtAsc(700L);
+        Long twentieth = stored.stream().map(ChatMessage::getId).sorted().toList().get(19);
+        assertThat(chatService.markReadUpTo(700L, 9L, twentieth)).isEqualTo(20);
+        // already read: nothing changes twice
+        assertThat(chatService.markReadUpTo(700L, 9L, twentieth)).isZero();
+        assertThat(chatService.getUnreadCount(9L, 700L)).isEqualTo(10);
+        // the sender has nothing unread here
+        assertThat(chatService.markReadUpTo(700L, 1L, Long.MAX_VALUE)).isZero();
+
+        chatService.markAsRead(stored.stream().map(ChatMessage::getId).max(Long::compare).orElseThrow());
+        assertThat(chatService.getUnreadCount(9L, 700L)).isEqualTo(9);
+    }
+
+    @Test
+    void counterIsSeededFromExistingMessages() {
+        // seed() rows have receiverId null; give three of them a receiver, as if stored before counters existed
+        repo.findByApplicationIdOrderByCreatedAtAsc(500L).stream().limit(3).forEach(m -> {
+            m.setReceiverId(77L);
+            repo.save(m);
+        });
+        assertThat(chatService.getUnreadCount(77L, 500L)).isEqualTo(3);
+    }
+}
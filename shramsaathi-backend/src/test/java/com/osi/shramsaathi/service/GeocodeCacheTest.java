@@ -0,0 +1,71 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.osi.shramsaathi.model.GeocodeCacheEntry;
+import com.osi.shramsaathi.repository.GeocodeCacheRepository;
+
+class GeocodeCacheTest {
+
+    private final GeocodeCacheRepository repository = mock(GeocodeCacheRepository.class);
+
+    private GeocodeCache cache(long maxSize) {
+        when(repository.findById(any())).thenReturn(Optional.empty());
+        return new GeocodeCache(repository, maxSize, Duration.ofDays(30), Duration.ofDays(1));
+    }
+
+    @Test
+    void keysIgnoreCaseWhitespaceAndPunctuation() {
+        assertThat(GeocodeAddress.cacheKey(" Gachibowli ", null, 500032, "TELANGANA", "Hyderabad,  India"))
+                .isEqualTo(GeocodeAddress.cacheKey("gachibowli", "", 500032, "telangana", "hyderabad india"))
+                .startsWith("500032|gachibowli|-|");
+    }
+
+    @Test
+    void cachesPositiveAndNegativeAnswersAndWritesThrough() {
+        GeocodeCache cache = cache(100);
+        assertThat(cache.get("k1")).isNull();
+
+        cache.putFound("k1", new double[] { 17.4, 78.5 });
+        cache.putNotFound("k2");
+
+        assertThat(cache.get("k1").coords()).containsExactly(17.4, 78.5);
+        assertThat(cache.get("k2").found()).isFalse();
+        verify(repository, times(2)).save(any(GeocodeCacheEntry.class));
+        assertThat(cache.stats()).containsEntry("hits", 2L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    void coldStartIsServedFromTheTableButExpiredRowsAreIgnored() {
+        GeocodeCache cache = cache(100);
+        when(repository.findById("fresh")).thenReturn(Optional.of(
+                new GeocodeCacheEntry("fresh", 17.4, 78.5, LocalDateTime.now().plusDays(1))));
+        when(repository.findById("stale")).thenReturn(Optional.of(
+                new GeocodeCacheEntry("stale", 17.4, 78.5, LocalDateTime.now().minusDays(1))));
+
+        assertThat(cache.get("fresh").coords()).containsExactly(17.4, 78.5);
+        assertThat(cache.get("stale")).isNull();
+        assertThat(cache.stats()).containsEntry("storeHits", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    void sizeBoundEvictsAndCounts() {
+        GeocodeCache cache = cache(10);
+        for (int i = 0; i < 50; i++) {
+            cache.putFound("k" + i, new double[] { 17, 78 });
+        }
+        assertThat(cache.stats().get("size")).isLessThanOrEqualTo(10L);
+        assertThat(cache.stats().get("evictions")).isGreaterThanOrEqualTo(40L);
+    }
+}
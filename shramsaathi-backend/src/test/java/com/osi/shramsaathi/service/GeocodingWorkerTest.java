@@ -0,0 +1,176 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.dto.EncodedJsonArray;
+import com.osi.shramsaathi.dto.JobRequest;
+import com.osi.shramsaathi.dto.JobResponse;
+import com.osi.shramsaathi.model.GeocodeStatus;
+import com.osi.shramsaathi.model.Job;
+import com.osi.shramsaathi.repository.JobRepository;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+// Job creation must not wait on the geocoder; the worker resolves coordinates against a stub Nominatim
+@SpringBootTest
+class GeocodingWorkerTest {
+
+    private static final HttpServer STUB;
+    private static final AtomicInteger CALLS = new AtomicInteger();
+    private static volatile int status = 200;
+
+    static {
+        try {
+            STUB = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        STUB.createContext("/search", exchange -> {
+            CALLS.incrementAndGet();
+            byte[] bytes = "[{\"lat\":\"17.385\",\"lon\":\"78.4867\"}]".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        STUB.start();
+    }
+
+    @DynamicPropertySource
+    static void geocoderProperties(DynamicPropertyRegistry registry) {
+        registry.add("geocoding.nominatim.url", () -> "http://127.0.0.1:" + STUB.getAddress().getPort());
+        registry.add("geocoding.nominatim.min-interval-ms", () -> "0");
+        registry.add("geocoding.worker.backoff-base-ms", () -> "0");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.stop(0);
+    }
+
+    @Autowired JobService jobService;
+    @Autowired GeocodingWorker worker;
+    @Autowired JobRepository jobRepository;
+    @Autowired JobSpatialIndex spatialIndex;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void reset() {
+        jobRepository.deleteAll();
+        spatialIndex.clear();
+        CALLS.set(0);
+        status = 200;
+    }
+
+    @Test
+    void createJobReturnsPendingAndWorkerResolvesInOneLookupPerAddress() throws IOException {
+        JobResponse first = jobService.createJob(request("Ameerpet"));
+        JobResponse second = jobService.createJob(request("Ameerpet"));
+        assertThat(first.getGeocodeStatus()).isEqualTo(GeocodeStatus.PENDING);
+        assertThat(CALLS.get()).isZero();
+        assertThat(listedStatus(first.getId())).isEqualTo("PENDING");
+
+        assertThat(worker.processBatch()).isEqualTo(2);
+        // the result evicts the job's cached list JSON
+        assertThat(listedStatus(first.getId())).isEqualTo("RESOLVED");
+
+        Job resolved = jobRepository.findById(first.getId()).orElseThrow();
+        assertThat(resolved.getGeocodeStatus()).isEqualTo(GeocodeStatus.RESOLVED);
+        assertThat(resolved.getLatitude()).isEqualTo(17.385);
+        assertThat(jobRepository.findById(second.getId()).orElseThrow().getLatitude()).isEqualTo(17.385);
+        assertThat(CALLS.get()).isEqualTo(1);
+        assertThat(spatialIndex.nearby(17.385, 78.4867, 1, 10, null, null)).hasSize(2);
+    }
+
+    @Test
+    void upstreamFailuresAreRetriedWithBackoffThenMarkedFailed() throws IOException {
+        status = 500;
+        JobResponse job = jobService.createJob(request("Kukatpally"));
+
+        worker.processBatch();
+        Job retrying = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(retrying.getGeocodeStatus()).isEqualTo(GeocodeStatus.PENDING);
+        assertThat(retrying.getGeocodeAttempts()).isEqualTo(1);
+
+        while (worker.processBatch() > 0) { }
+        assertThat(jobRepository.findById(job.getId()).orElseThrow().getGeocodeStatus()).isEqualTo(GeocodeStatus.FAILED);
+        assertThat(listedStatus(job.getId())).isEqualTo("FAILED");
+
+        // the backfill sweep re-queues it, and it resolves once the upstream recovers
+        status = 200;
+        worker.backfill();
+        assertThat(listedStatus(job.getId())).isEqualTo("PENDING");
+        worker.processBatch();
+        assertThat(jobRepository.findById(job.getId()).orElseThrow().getGeocodeStatus()).isEqualTo(GeocodeStatus.RESOLVED);
+    }
+
+    @Test
+    void staleResultIsDroppedWhenAddressChangesMidFlight() {
+        JobResponse job = jobService.createJob(request("Madhapur"));
+        Job seen = jobRepository.findById(job.getId()).orElseThrow();
+
+        jobService.updateJob(job.getId(), request("Kondapur"));
+        Job updated = worker.record(seen.getId(), seen.getGeocodeNextAttemptAt().minusSeconds(1),
+                1.0, 1.0, GeocodeStatus.RESOLVED, 0, null);
+
+        assertThat(updated).isNull();
+        assertThat(jobRepository.findById(job.getId()).orElseThrow().getGeocodeStatus()).isEqualTo(GeocodeStatus.PENDING);
+    }
+
+    @Test
+    void resultsReplaceOnlyTheirOwnCachedJob() {
+        // already has coordinates, so neither the batch nor the backfill writes it
+        JobRequest located = request("Miyapur");
+        located.setLatitude(17.49);
+        located.setLongitude(78.35);
+        long other = jobService.createJob(located).getId();
+        jobService.getJobById(other);
+        JobResponse job = jobService.createJob(request("Gachibowli"));
+        Cache cache = entityManagerFactory.getCache();
+        assertThat(cache.contains(Job.class, other)).isTrue();
+
+        worker.processBatch();
+        worker.backfill();
+        assertThat(cache.contains(Job.class, other)).isTrue();
+        assertThat(jobService.getJobById(job.getId()).getLatitude()).isEqualTo(17.385);
+    }
+
+    // geocodeStatus of the job as GET /api/jobs lists it
+    private String listedStatus(Long id) throws IOException {
+        EncodedJsonArray jobs = jobService.getAllJobsJson();
+        for (byte[] json : jobs.elements()) {
+            JsonNode job = objectMapper.readTree(json);
+            if (job.get("id").asLong() == id) return job.get("geocodeStatus").asText();
+        }
+        return null;
+    }
+
+    private static JobRequest request(String area) {
+        JobRequest r = new JobRequest();
+        r.setOwnerId(1L);
+        r.setTitle("Mason needed");
+        r.setSkillNeeded("Mason");
+        r.setArea(area);
+        r.setState("Telangana");
+        r.setLocation("Hyderabad");
+        return r;
+    }
+}
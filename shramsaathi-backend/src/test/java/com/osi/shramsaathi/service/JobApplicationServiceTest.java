@@ -0,0 +1,69 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.osi.shramsaathi.model.JobApplication;
+import com.osi.shramsaathi.model.WorkerStats;
+import com.osi.shramsaathi.repository.JobApplicationRepository;
+import com.osi.shramsaathi.repository.WorkerStatsRepository;
+
+@SpringBootTest
+class JobApplicationServiceTest {
+
+    @Autowired JobApplicationService service;
+    @Autowired JobApplicationRepository appRepo;
+    @Autowired WorkerStatsRepository statsRepo;
+
+    @BeforeEach
+    void clean() {
+        appRepo.deleteAll();
+        statsRepo.deleteAll();
+    }
+
+    @Test
+    void countersFollowApplicationsAndStatusChanges() {
+        JobApplication first = service.apply(application(1L, 10L));
+        service.apply(application(2L, 10L));
+        service.apply(application(3L, 10L));
+
+        service.updateStatus(first.getId(), "Accepted");
+        service.updateStatus(first.getId(), "accepted"); // same bucket, no double count
+        service.updateStatus(appRepo.findByJobIdAndWorkerId(2L, 10L).orElseThrow().getId(), "rejected");
+
+        WorkerStats stats = statsRepo.findById(10L).orElseThrow();
+        assertThat(stats.getApplied()).isEqualTo(3);
+        assertThat(stats.getAccepted()).isEqualTo(1);
+        assertThat(stats.getRejected()).isEqualTo(1);
+        assertThat(stats.getPending()).isEqualTo(1);
+    }
+
+    @Test
+    void workerWithoutStatsRowIsSeededFromExistingApplications() {
+        JobApplication legacy = application(1L, 20L);
+        legacy.setStatus("accepted");
+        appRepo.save(legacy);
+        appRepo.save(application(2L, 20L));
+
+        assertThat(service.getWorkerStats(20L).getApplied()).isEqualTo(2);
+
+        service.apply(application(3L, 20L));
+        WorkerStats stats = statsRepo.findById(20L).orElseThrow();
+        assertThat(stats.getApplied()).isEqualTo(3);
+        assertThat(stats.getAccepted()).isEqualTo(1);
+        assertThat(stats.getPending()).isEqualTo(2);
+    }
+
+    private static JobApplication application(Long jobId, Long workerId) {
+        JobApplication app = new JobApplication();
+        app.setJobId(jobId);
+        app.setWorkerId(workerId);
+        app.setWorkerName("Ravi");
+        app.setWorkerSkill("Mason");
+        return app;
+    }
+}
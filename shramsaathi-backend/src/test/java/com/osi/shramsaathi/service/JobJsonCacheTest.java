@@ -0,0 +1,85 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.osi.shramsaathi.dto.EncodedJsonArray;
+import com.osi.shramsaathi.model.GeocodeStatus;
+import com.osi.shramsaathi.model.Job;
+
+class JobJsonCacheTest {
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final JobJsonCache cache = new JobJsonCache(mapper, 1 << 20, 600_000);
+
+    @Test
+    void assembledArrayIsWhatJacksonWritesForTheList() throws Exception {
+        List<Job> jobs = List.of(job(1, "Mason"), job(2, "Plumber \"urgent\" ₹"));
+        String expected = mapper.writeValueAsString(jobs.stream().map(JobServiceImpl::map).toList());
+
+        EncodedJsonArray array = cache.encodeJobs(jobs, cache.snapshot());
+        assertThat(join(array)).isEqualTo(expected);
+        assertThat(array.contentLength()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(join(new EncodedJsonArray(List.of()))).isEqualTo("[]");
+
+        // second time round the same bytes come from the cache
+        assertThat(cache.encodeJobs(jobs, cache.snapshot()).elements().get(0)).isSameAs(array.elements().get(0));
+        assertThat(cache.stats()).containsEntry("hits", 2L).containsEntry("misses", 2L);
+    }
+
+    @Test
+    void evictDropsTheEntryAndRefusesBytesLoadedBeforeTheWrite() {
+        Job before = job(1, "Mason");
+        encode(before, cache.snapshot());
+
+        // a reader loads the job, then an update commits and evicts before the reader gets to cache it
+        JobJsonCache.Snapshot slowReader = cache.snapshot();
+        cache.evict(1L);
+        assertThat(cache.stats()).containsEntry("size", 0L);
+        assertThat(text(encode(before, slowReader))).contains("\"title\":\"Mason\"");
+        assertThat(cache.stats()).containsEntry("size", 0L);
+
+        Job after = job(1, "Senior mason");
+        assertThat(text(encode(after, cache.snapshot()))).contains("\"title\":\"Senior mason\"");
+        assertThat(text(encode(before, cache.snapshot()))).contains("\"title\":\"Senior mason\"");
+    }
+
+    private static Job job(long id, String title) {
+        Job job = new Job();
+        job.setId(id);
+        job.setOwnerId(7L);
+        job.setTitle(title);
+        job.setSkillNeeded("Mason");
+        job.setLocation("Hyderabad");
+        job.setPay(800.0);
+        job.setLatitude(17.44);
+        job.setLongitude(78.35);
+        job.setGeocodeStatus(GeocodeStatus.RESOLVED);
+        job.setCreatedAt(LocalDateTime.of(2024, 5, 1, 9, 30, 15, 123_456_000));
+        return job;
+    }
+
+    private byte[] encode(Job job, JobJsonCache.Snapshot snapshot) {
+        return cache.encodeJobs(List.of(job), snapshot).elements().get(0);
+    }
+
+    private static String text(byte[] json) {
+        return new String(json, StandardCharsets.UTF_8);
+    }
+
+    private static String join(EncodedJsonArray array) {
+        StringBuilder out = new StringBuilder("[");
+        for (byte[] element : array.elements()) {
+            if (out.length() > 1) out.append(',');
+            out.append(text(element));
+        }
+        return out.append(']').toString();
+    }
+}
@@ -0,0 +1,66 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class JobSpatialIndexTest {
+
+    // Hyderabad city centre
+    private static final double LAT = 17.3850;
+    private static final double LON = 78.4867;
+
+    @Test
+    void nearbyReturnsJobsInsideRadiusNearestFirst() {
+        JobSpatialIndex index = new JobSpatialIndex();
+        index.put(1L, 17.4400, 78.3489, "Plumber", "open");   // Gachibowli, ~15.7 km
+        index.put(2L, 17.3900, 78.4900, "Electrician", "open"); // ~0.6 km
+        index.put(3L, 17.4300, 78.4500, "Mason", "open");     // ~6.4 km
+        index.put(4L, 12.9716, 77.5946, "Plumber", "open");   // Bengaluru
+
+        List<JobSpatialIndex.Hit> hits = index.nearby(LAT, LON, 20, 10, null, null);
+
+        assertThat(hits).extracting(JobSpatialIndex.Hit::id).containsExactly(2L, 3L, 1L);
+        assertThat(hits.get(0).distanceKm()).isLessThan(1);
+    }
+
+    @Test
+    void nearbyAppliesLimitAndFilters() {
+        JobSpatialIndex index = new JobSpatialIndex();
+        index.put(1L, 17.3860, 78.4870, "Plumber", "open");
+        index.put(2L, 17.3870, 78.4870, "Senior plumber", "closed");
+        index.put(3L, 17.3880, 78.4870, "plumber", "open");
+        index.put(4L, 17.3890, 78.4870, "Painter", "open");
+
+        assertThat(index.nearby(LAT, LON, 5, 1, null, null))
+                .extracting(JobSpatialIndex.Hit::id).containsExactly(1L);
+        assertThat(index.nearby(LAT, LON, 5, 10, "PLUMB", "open"))
+                .extracting(JobSpatialIndex.Hit::id).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void putMovesAndRemoveDropsJob() {
+        JobSpatialIndex index = new JobSpatialIndex();
+        index.put(1L, LAT, LON, "Mason", "open");
+        index.put(1L, 12.9716, 77.5946, "Mason", "open");
+
+        assertThat(index.nearby(LAT, LON, 50, 10, null, null)).isEmpty();
+        assertThat(index.nearby(12.97, 77.59, 5, 10, null, null)).hasSize(1);
+
+        index.remove(1L);
+        assertThat(index.size()).isZero();
+        assertThat(index.nearby(12.97, 77.59, 5, 10, null, null)).isEmpty();
+    }
+
+    @Test
+    void queryAcrossCellBoundariesFindsAllNeighbours() {
+        JobSpatialIndex index = new JobSpatialIndex();
+        double edge = JobSpatialIndex.CELL_DEGREES * Math.round(107.1 / JobSpatialIndex.CELL_DEGREES); // cell boundary near 17.1 N
+        index.put(1L, edge - 0.0001 - 90, LON, "Mason", "open");
+        index.put(2L, edge + 0.0001 - 90, LON, "Mason", "open");
+
+        assertThat(index.nearby(edge - 90, LON, 1, 10, null, null)).hasSize(2);
+    }
+}
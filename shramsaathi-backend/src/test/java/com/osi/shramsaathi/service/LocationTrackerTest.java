@@ -0,0 +1,83 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.osi.shramsaathi.dto.LocationMessage;
+
+class LocationTrackerTest {
+
+    private final SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+
+    // one broadcast per worker per hour: only the first flush of each test can send
+    private LocationTracker tracker() {
+        return new LocationTracker(template, 1.0 / 3600, 10, 60_000);
+    }
+
+    private static LocationMessage fix(double lat, double lon, long ts) {
+        return new LocationMessage(7L, lat, lon, ts);
+    }
+
+    @Test
+    void onlyTheNewestFixIsBroadcastPerTick() {
+        LocationTracker tracker = tracker();
+        tracker.update("7", fix(17.3850, 78.4867, 1));
+        tracker.update("7", fix(17.3860, 78.4867, 2));
+        tracker.update("7", fix(17.3870, 78.4867, 3));
+
+        assertThat(tracker.flush()).isEqualTo(1);
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(template).convertAndSend(eq("/topic/location/7"), sent.capture());
+        assertThat(((LocationMessage) sent.getValue()).timestamp).isEqualTo(3L);
+        assertThat(tracker.stats()).containsEntry("superseded", 2L).containsEntry("sent", 1L);
+    }
+
+    @Test
+    void rateLimitHoldsLaterFixesAndKeepsLatestQueryable() {
+        LocationTracker tracker = tracker();
+        tracker.update("7", fix(17.3850, 78.4867, 1));
+        tracker.flush();
+        tracker.update("7", fix(17.4000, 78.4867, 2));
+
+        assertThat(tracker.flush()).isZero();
+        verify(template, times(1)).convertAndSend(anyString(), any(Object.class));
+        assertThat(tracker.latest("7").lat).isEqualTo(17.4000);
+    }
+
+    @Test
+    void jitterAndOutOfOrderFixesAreNotBroadcast() {
+        LocationTracker tracker = new LocationTracker(template, 1000, 10, 60_000);
+        tracker.update("7", fix(17.3850, 78.4867, 10));
+        tracker.flush();
+        // ~3 m away
+        tracker.update("7", fix(17.38503, 78.4867, 11));
+        // older than what we have
+        tracker.update("7", fix(17.5000, 78.4867, 5));
+
+        assertThat(tracker.flush()).isZero();
+        verify(template, times(1)).convertAndSend(anyString(), any(Object.class));
+        assertThat(tracker.latest("7").timestamp).isEqualTo(11L);
+        assertThat(tracker.stats()).containsEntry("jitter", 1L).containsEntry("outOfOrder", 1L);
+    }
+
+    @Test
+    void unknownWorkerHasNoPositionAndIdleWorkersArePurged() {
+        LocationTracker tracker = new LocationTracker(template, 2, 10, -1);
+        assertThat(tracker.latest("42")).isNull();
+
+        tracker.update("7", fix(17.3850, 78.4867, 1));
+        tracker.purgeIdle();
+        assertThat(tracker.latest("7")).isNull();
+        verify(template, never()).convertAndSend(anyString(), any(Object.class));
+    }
+}
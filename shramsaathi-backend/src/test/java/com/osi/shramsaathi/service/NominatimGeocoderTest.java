@@ -0,0 +1,97 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.osi.shramsaathi.exception.GeocodingException;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NominatimGeocoderTest {
+
+    private HttpServer server;
+    private final AtomicReference<String> lastQuery = new AtomicReference<>();
+    private volatile int status = 200;
+    private volatile String body = "[]";
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private NominatimGeocoder geocoder;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/search", exchange -> {
+            lastQuery.set(exchange.getRequestURI().getQuery());
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+        geocoder = new NominatimGeocoder("http://127.0.0.1:" + server.getAddress().getPort(), 2000, 0,
+                new StaticListableBeanFactory().getBeanProvider(Executor.class), meters);
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void returnsCoordinatesForMatchInIndia() {
+        body = "[{\"lat\":\"17.4400\",\"lon\":\"78.3489\",\"address\":{\"country_code\":\"in\"}}]";
+
+        double[] coords = geocoder.geocode("Gachibowli, 500032, Telangana, India");
+
+        assertThat(coords).containsExactly(17.44, 78.3489);
+        assertThat(lastQuery.get()).contains("format=json").contains("q=Gachibowli,+500032,+Telangana,+India");
+    }
+
+    @Test
+    void returnsNullWhenNoMatchOrOutsideIndia() {
+        assertThat(geocoder.geocode("nowhere")).isNull();
+
+        body = "[{\"lat\":\"51.5\",\"lon\":\"-0.12\",\"address\":{\"country_code\":\"gb\"}}]";
+        assertThat(geocoder.geocode("London")).isNull();
+    }
+
+    @Test
+    void upstreamErrorsAreRetryableFailures() {
+        status = 503;
+        assertThatThrownBy(() -> geocoder.geocode("Hyderabad")).isInstanceOf(GeocodingException.class);
+
+        status = 200;
+        body = "<html>not json</html>";
+        assertThatThrownBy(() -> geocoder.geocode("Hyderabad")).isInstanceOf(GeocodingException.class);
+    }
+
+    @Test
+    void callsAreTimedByOutcome() {
+        body = "[{\"lat\":\"17.4400\",\"lon\":\"78.3489\"}]";
+        geocoder.geocode("Gachibowli");
+        body = "[]";
+        geocoder.geocode("nowhere");
+        geocoder.geocode("nowhere else");
+        status = 500;
+        assertThatThrownBy(() -> geocoder.geocode("Hyderabad")).isInstanceOf(GeocodingException.class);
+
+        assertThat(calls("found")).isEqualTo(1);
+        assertThat(calls("not_found")).isEqualTo(2);
+        assertThat(calls("error")).isEqualTo(1);
+    }
+
+    private long calls(String outcome) {
+        return meters.get("geocoder.nominatim.requests").tag("outcome", outcome).timer().count();
+    }
+}
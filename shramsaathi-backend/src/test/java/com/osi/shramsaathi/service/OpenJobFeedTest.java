@@ -0,0 +1,88 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.osi.shramsaathi.dto.CursorPage;
+import com.osi.shramsaathi.dto.JobResponse;
+import com.osi.shramsaathi.model.GeocodeStatus;
+import com.osi.shramsaathi.model.JobStatus;
+
+class OpenJobFeedTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    private final OpenJobFeed feed = new OpenJobFeed();
+
+    @Test
+    void newestFirstWithIdBreakingTies() {
+        feed.put(job(1, 0, JobStatus.OPEN));
+        feed.put(job(2, 5, JobStatus.OPEN));
+        feed.put(job(3, 0, JobStatus.OPEN));
+        feed.put(job(4, 2, JobStatus.CLOSED));
+
+        assertThat(ids(feed.page(null, 10))).containsExactly(2L, 3L, 1L);
+        assertThat(feed.size()).isEqualTo(3);
+    }
+
+    @Test
+    void statusTransitionsMoveJobsInAndOut() {
+        feed.put(job(1, 0, JobStatus.OPEN));
+        feed.put(job(2, 1, JobStatus.OPEN));
+
+        feed.put(job(2, 1, JobStatus.FILLED));
+        assertThat(ids(feed.page(null, 10))).containsExactly(1L);
+
+        feed.put(job(2, 1, JobStatus.OPEN));
+        feed.remove(1L);
+        assertThat(ids(feed.page(null, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void cursorSurvivesItsJobLeaving() {
+        for (int i = 1; i <= 5; i++) feed.put(job(i, i, JobStatus.OPEN));
+
+        CursorPage<JobResponse> first = feed.page(null, 2);
+        assertThat(ids(first)).containsExactly(5L, 4L);
+        assertThat(first.getNextAfter()).isEqualTo(4L);
+
+        // the job the cursor points at closes before the next page is asked for
+        feed.put(job(4, 4, JobStatus.CLOSED));
+        CursorPage<JobResponse> second = feed.page(first.getNextAfter(), 2);
+        assertThat(ids(second)).containsExactly(3L, 2L);
+        assertThat(ids(feed.page(second.getNextAfter(), 2))).containsExactly(1L);
+        assertThat(feed.page(second.getNextAfter(), 2).getNextAfter()).isNull();
+
+        assertThat(feed.page(99L, 2).getItems()).isEmpty();
+    }
+
+    @Test
+    void updateReplacesTheEntryInsteadOfChangingIt() {
+        JobResponse listed = job(1, 0, JobStatus.OPEN);
+        feed.put(listed);
+        feed.update(1L, job -> {
+            job.setLatitude(17.44);
+            job.setGeocodeStatus(GeocodeStatus.RESOLVED);
+        });
+        feed.update(2L, job -> job.setTitle("not listed"));
+
+        JobResponse current = feed.page(null, 1).getItems().get(0);
+        assertThat(current).isNotSameAs(listed);
+        assertThat(current.getLatitude()).isEqualTo(17.44);
+        assertThat(listed.getGeocodeStatus()).isEqualTo(GeocodeStatus.PENDING);
+        assertThat(feed.size()).isEqualTo(1);
+    }
+
+    private static JobResponse job(long id, int minutes, JobStatus status) {
+        return new JobResponse(id, 7L, "Job " + id, "Mason", "Hyderabad", 800.0, "2 days", status,
+                T0.plusMinutes(minutes), 500032, null, null, null, null, null, GeocodeStatus.PENDING);
+    }
+
+    private static List<Long> ids(CursorPage<JobResponse> page) {
+        return page.getItems().stream().map(JobResponse::getId).toList();
+    }
+}
@@ -0,0 +1,122 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.osi.shramsaathi.exception.DuplicateRegistrationException;
+import com.osi.shramsaathi.model.Owner;
+import com.osi.shramsaathi.model.User;
+import com.osi.shramsaathi.repository.UserRepository;
+import com.osi.shramsaathi.service.SessionTokenService.Role;
+
+@SpringBootTest
+class PhoneRegistryTest {
+
+    @Autowired AuthService authService;
+    @Autowired PhoneRegistry phoneRegistry;
+    @Autowired UserRepository userRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    private static User worker(String phone) {
+        return User.builder().name("w" + phone).phone(phone).address("Ameerpet").workType("mason")
+                .district("Hyderabad").mandal("Ameerpet").pincode(500016).build();
+    }
+
+    private static Owner owner(String phone) {
+        return Owner.builder().name("o" + phone).phone(phone).address("Ameerpet").businessName("Build Co")
+                .district("Hyderabad").mandal("Ameerpet").pincode(500016).build();
+    }
+
+    private long accountsWith(String normalized) {
+        return jdbcTemplate.queryForObject("select count(*) from registered_phones where phone = ?", Long.class, normalized);
+    }
+
+    @Test
+    void normalizesIndianNumberFormats() {
+        assertThat(PhoneRegistry.normalize("+91 98480 22338")).isEqualTo("9848022338");
+        assertThat(PhoneRegistry.normalize("098480-22338")).isEqualTo("9848022338");
+        assertThat(PhoneRegistry.normalize("9848022338")).isEqualTo("9848022338");
+        assertThat(PhoneRegistry.normalize("040 2345 6789")).isEqualTo("4023456789");
+        assertThat(PhoneRegistry.normalize("12345")).isNull();
+        assertThat(PhoneRegistry.normalize(null)).isNull();
+    }
+
+    @Test
+    void simultaneousRegistrationsOfOnePhoneLetExactlyOneThrough() throws Exception {
+        // same number, written differently, half as worker and half as owner
+        String[] spellings = { "+91 97000 11111", "09700011111", "9700011111", "97000-11111" };
+        int attempts = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            String phone = spellings[i % spellings.length];
+            boolean asWorker = i % 2 == 0;
+            results.add(pool.submit(() -> {
+                start.await();
+                return asWorker ? authService.registerUser(worker(phone)) : authService.registerOwner(owner(phone));
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        int duplicates = 0;
+        for (Future<String> result : results) {
+            try {
+                assertThat(result.get(60, TimeUnit.SECONDS)).isNotBlank();
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(DuplicateRegistrationException.class);
+                duplicates++;
+            }
+        }
+        pool.shutdown();
+
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(duplicates).isEqualTo(attempts - 1);
+        assertThat(accountsWith("9700011111")).isEqualTo(1);
+        long workers = jdbcTemplate.queryForObject(
+                "select count(*) from users where phone in ('+91 97000 11111', '09700011111', '9700011111', '97000-11111')", Long.class);
+        long owners = jdbcTemplate.queryForObject(
+                "select count(*) from owners where phone in ('+91 97000 11111', '09700011111', '9700011111', '97000-11111')", Long.class);
+        assertThat(workers + owners).isEqualTo(1);
+    }
+
+    @Test
+    void bloomFilterSkipsTheProbeForNewPhonesOnly() {
+        authService.registerOwner(owner("9700022222"));
+
+        long probes = phoneRegistry.stats().get("probes");
+        assertThat(phoneRegistry.registeredAs("9700033333")).isNull();
+        assertThat(phoneRegistry.stats().get("probes")).isEqualTo(probes);
+
+        assertThat(phoneRegistry.registeredAs("9700022222")).isEqualTo(Role.OWNER);
+        assertThat(phoneRegistry.stats().get("probes")).isEqualTo(probes + 1);
+    }
+
+    @Test
+    void accountsCreatedBeforeTheRegistryAreBackfilledOnLoad() {
+        User legacy = worker("+91 97000 44444");
+        legacy.setPassword("x");
+        userRepository.save(legacy);
+        assertThat(accountsWith("9700044444")).isZero();
+
+        phoneRegistry.load();
+
+        assertThat(phoneRegistry.registeredAs("9700044444")).isEqualTo(Role.WORKER);
+        assertThat(accountsWith("9700044444")).isEqualTo(1);
+    }
+}
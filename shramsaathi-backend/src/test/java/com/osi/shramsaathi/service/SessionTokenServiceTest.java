@@ -0,0 +1,62 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class SessionTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static SessionTokenService at(Instant now, String secret) {
+        return new SessionTokenService(secret, Duration.ofHours(12), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void issuedTokenVerifiesToTheSameSession() {
+        SessionTokenService tokens = at(NOW, SECRET);
+        SessionTokenService.Session session = tokens.verify(tokens.issue(SessionTokenService.Role.OWNER, 42L));
+
+        assertThat(session).isNotNull();
+        assertThat(session.role()).isEqualTo(SessionTokenService.Role.OWNER);
+        assertThat(session.id()).isEqualTo(42L);
+        assertThat(session.expiresAt()).isEqualTo(NOW.plus(Duration.ofHours(12)));
+    }
+
+    @Test
+    void tamperedOrForeignTokensAreRejected() {
+        SessionTokenService tokens = at(NOW, SECRET);
+        String token = tokens.issue(SessionTokenService.Role.WORKER, 7L);
+        String[] parts = token.split("\\.");
+        // same signature, payload claiming another worker
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("W:8:" + NOW.plusSeconds(3600).getEpochSecond()).getBytes()) + "." + parts[1];
+
+        assertThat(tokens.verify(forged)).isNull();
+        assertThat(tokens.verify(parts[0] + "." + parts[1].substring(1))).isNull();
+        assertThat(tokens.verify("not-a-token")).isNull();
+        assertThat(tokens.verify(null)).isNull();
+        assertThat(at(NOW, SECRET.replace('0', 'x')).verify(token)).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = at(NOW, SECRET).issue(SessionTokenService.Role.WORKER, 7L);
+
+        assertThat(at(NOW.plus(Duration.ofHours(11)), SECRET).verify(token)).isNotNull();
+        assertThat(at(NOW.plus(Duration.ofHours(12)), SECRET).verify(token)).isNull();
+    }
+
+    @Test
+    void shortSecretIsRefused() {
+        assertThatThrownBy(() -> at(NOW, "too-short")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.osi.shramsaathi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SkillSearchIndexTest {
+
+    @Test
+    void transliterationVariantsFoldTogether() {
+        assertThat(SkillSearchIndex.fold("mestri")).isEqualTo(SkillSearchIndex.fold("mistri"));
+        assertThat(SkillSearchIndex.fold("mistry")).isEqualTo(SkillSearchIndex.fold("mistri"));
+        assertThat(SkillSearchIndex.fold("kooli")).isEqualTo(SkillSearchIndex.fold("kuli"));
+        assertThat(SkillSearchIndex.fold("bhadhai")).isEqualTo(SkillSearchIndex.fold("badhai"));
+    }
+
+    @Test
+    void searchMatchesTransliterationsAndSynonyms() {
+        SkillSearchIndex index = new SkillSearchIndex();
+        index.put(1L, "Mistri", "House construction");
+        index.put(2L, "Mason", "Compound wall");
+        index.put(3L, "Plumber", "Bathroom fitting");
+
+        assertThat(index.search("mestri", 10)).containsExactly(1L);
+        assertThat(index.search("MISTRY", 10)).containsExactly(1L);
+        // a mistri job is also a mason job
+        assertThat(index.search("mason", 10)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void searchRanksExactThenSubstringThenTypoAndSkillOverTitle() {
+        SkillSearchIndex index = new SkillSearchIndex();
+        index.put(1L, "Plumber", "Kitchen sink");
+        index.put(2L, "Painter", "Need plumber urgently");
+        index.put(3L, "Plumbing", "Pipe work");
+        index.put(4L, "Electrician", "Wiring");
+
+        // an exact title hit outranks a fuzzy skill hit
+        assertThat(index.search("plumber", 10)).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("plumb", 10)).startsWith(1L, 3L).contains(2L).doesNotContain(4L);
+        assertThat(index.search("plumbr", 10)).startsWith(1L);
+        assertThat(index.search("elctrician", 10)).containsExactly(4L);
+        assertThat(index.search("plumber", 1)).containsExactly(1L);
+    }
+
+    @Test
+    void multiWordQueriesPreferJobsMatchingEveryWord() {
+        SkillSearchIndex index = new SkillSearchIndex();
+        index.put(1L, "Painter", "Wall painting");
+        index.put(2L, "Painter", "Door polish");
+        index.put(3L, "Mason", "Wall plastering");
+
+        assertThat(index.search("painter wall", 10)).startsWith(1L).contains(2L, 3L);
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsJob() {
+        SkillSearchIndex index = new SkillSearchIndex();
+        index.put(1L, "Carpenter", "Cupboard");
+        index.put(1L, "Welder", "Gate");
+
+        assertThat(index.search("carpenter", 10)).isEmpty();
+        assertThat(index.search("welder", 10)).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("welder", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+}